@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.logging.AsyncLogging;
+import org.springframework.boot.logging.AsyncLoggingStatistics;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link PublicMetrics} implementation that provides statistics for the queue used
+ * when {@link AsyncLogging asynchronous logging} is enabled.
+ *
+ * @author agent
+ * @since 1.4.0
+ */
+public class LoggingPublicMetrics implements PublicMetrics {
+
+	private final LoggingSystem loggingSystem;
+
+	public LoggingPublicMetrics(LoggingSystem loggingSystem) {
+		Assert.notNull(loggingSystem, "LoggingSystem must not be null");
+		this.loggingSystem = loggingSystem;
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		AsyncLoggingStatistics statistics = this.loggingSystem.getAsyncStatistics();
+		if (statistics == null) {
+			return Collections.emptySet();
+		}
+		List<Metric<?>> metrics = new ArrayList<Metric<?>>(3);
+		metrics.add(new Metric<Integer>("logging.async.queue.capacity",
+				statistics.getCapacity()));
+		metrics.add(new Metric<Integer>("logging.async.queue.depth",
+				statistics.getDepth()));
+		metrics.add(new Metric<Long>("logging.async.discarded",
+				statistics.getDiscarded()));
+		return metrics;
+	}
+
+}
@@ -32,6 +32,7 @@ import org.junit.Test;
 
 import org.springframework.boot.actuate.endpoint.CachePublicMetrics;
 import org.springframework.boot.actuate.endpoint.DataSourcePublicMetrics;
+import org.springframework.boot.actuate.endpoint.LoggingPublicMetrics;
 import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.endpoint.RichGaugeReaderPublicMetrics;
@@ -46,6 +47,7 @@ import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetada
 import org.springframework.boot.context.embedded.AnnotationConfigEmbeddedWebApplicationContext;
 import org.springframework.boot.context.embedded.MockEmbeddedServletContainerFactory;
 import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainerFactory;
+import org.springframework.boot.logging.LoggingSystem;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -119,6 +121,18 @@ public class PublicMetricsAutoConfigurationTests {
 		context.close();
 	}
 
+	@Test
+	public void noLoggingSystem() {
+		load();
+		assertThat(this.context.getBeansOfType(LoggingPublicMetrics.class)).isEmpty();
+	}
+
+	@Test
+	public void loggingSystem() {
+		load(LoggingSystemConfig.class);
+		assertThat(this.context.getBeansOfType(LoggingPublicMetrics.class)).hasSize(1);
+	}
+
 	@Test
 	public void noDataSource() {
 		load();
@@ -261,6 +275,16 @@ public class PublicMetricsAutoConfigurationTests {
 		this.context = context;
 	}
 
+	@Configuration
+	static class LoggingSystemConfig {
+
+		@Bean
+		public LoggingSystem loggingSystem() {
+			return mock(LoggingSystem.class);
+		}
+
+	}
+
 	@Configuration
 	static class MultipleDataSourcesConfig {
 
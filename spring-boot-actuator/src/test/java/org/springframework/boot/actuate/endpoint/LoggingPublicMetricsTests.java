@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.logging.AsyncLoggingStatistics;
+import org.springframework.boot.logging.LoggingSystem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link LoggingPublicMetrics}.
+ *
+ * @author agent
+ */
+public class LoggingPublicMetricsTests {
+
+	private final LoggingSystem loggingSystem = mock(LoggingSystem.class);
+
+	@Test
+	public void asyncMetrics() throws Exception {
+		given(this.loggingSystem.getAsyncStatistics())
+				.willReturn(new AsyncLoggingStatistics(1024, 12, 3));
+		Map<String, Number> metrics = getMetrics();
+		assertThat(metrics).hasSize(3);
+		assertThat(metrics.get("logging.async.queue.capacity")).isEqualTo(1024);
+		assertThat(metrics.get("logging.async.queue.depth")).isEqualTo(12);
+		assertThat(metrics.get("logging.async.discarded")).isEqualTo(3L);
+	}
+
+	@Test
+	public void noMetricsWhenNotAsync() throws Exception {
+		assertThat(getMetrics()).isEmpty();
+	}
+
+	private Map<String, Number> getMetrics() {
+		Map<String, Number> metrics = new HashMap<String, Number>();
+		for (Metric<?> metric : new LoggingPublicMetrics(this.loggingSystem).metrics()) {
+			metrics.put(metric.getName(), metric.getValue());
+		}
+		return metrics;
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.startup.StartupTimeline;
+import org.springframework.boot.startup.StartupTimeline.Step;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupTimelineEndpoint}.
+ *
+ * @author agent
+ */
+public class StartupTimelineEndpointTests
+		extends AbstractEndpointTests<StartupTimelineEndpoint> {
+
+	public StartupTimelineEndpointTests() {
+		super(Config.class, StartupTimelineEndpoint.class, "startup", true,
+				"endpoints.startup");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void invoke() throws Exception {
+		Map<String, Object> result = getEndpointBean().invoke();
+		assertThat(result).containsKeys("startTime", "droppedSteps");
+		List<Step> steps = (List<Step>) result.get("steps");
+		assertThat(steps).extracting("name").containsExactly("test");
+	}
+
+	@Configuration
+	@EnableConfigurationProperties
+	public static class Config {
+
+		@Bean
+		public StartupTimelineEndpoint endpoint() {
+			StartupTimeline timeline = StartupTimeline.startRecording();
+			timeline.end(timeline.start("test"));
+			StartupTimeline.stopRecording(timeline);
+			return new StartupTimelineEndpoint(timeline);
+		}
+
+	}
+
+}
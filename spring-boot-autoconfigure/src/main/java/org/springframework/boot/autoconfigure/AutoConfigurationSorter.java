@@ -36,7 +36,9 @@ import org.springframework.util.Assert;
 /**
  * Sort {@link EnableAutoConfiguration auto-configuration} classes into priority order by
  * reading {@link Ordered}, {@link AutoConfigureBefore} and {@link AutoConfigureAfter}
- * annotations (without loading classes).
+ * annotations (without loading classes). Values are read from the
+ * {@link AutoConfigurationMetadata} when a class was processed by the annotation
+ * processor, otherwise from the class file.
  *
  * @author Phillip Webb
  */
@@ -44,15 +46,19 @@ class AutoConfigurationSorter {
 
 	private final MetadataReaderFactory metadataReaderFactory;
 
-	AutoConfigurationSorter(MetadataReaderFactory metadataReaderFactory) {
+	private final AutoConfigurationMetadata autoConfigurationMetadata;
+
+	AutoConfigurationSorter(MetadataReaderFactory metadataReaderFactory,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
 		Assert.notNull(metadataReaderFactory, "MetadataReaderFactory must not be null");
 		this.metadataReaderFactory = metadataReaderFactory;
+		this.autoConfigurationMetadata = autoConfigurationMetadata;
 	}
 
 	public List<String> getInPriorityOrder(Collection<String> classNames)
 			throws IOException {
 		final AutoConfigurationClasses classes = new AutoConfigurationClasses(
-				this.metadataReaderFactory, classNames);
+				this.metadataReaderFactory, this.autoConfigurationMetadata, classNames);
 		List<String> orderedClassNames = new ArrayList<String>(classNames);
 		// Initially sort alphabetically
 		Collections.sort(orderedClassNames);
@@ -104,11 +110,11 @@ class AutoConfigurationSorter {
 		private final Map<String, AutoConfigurationClass> classes = new HashMap<String, AutoConfigurationClass>();
 
 		AutoConfigurationClasses(MetadataReaderFactory metadataReaderFactory,
-				Collection<String> classNames) throws IOException {
+				AutoConfigurationMetadata autoConfigurationMetadata,
+				Collection<String> classNames) {
 			for (String className : classNames) {
-				MetadataReader metadataReader = metadataReaderFactory
-						.getMetadataReader(className);
-				this.classes.put(className, new AutoConfigurationClass(metadataReader));
+				this.classes.put(className, new AutoConfigurationClass(className,
+						metadataReaderFactory, autoConfigurationMetadata));
 			}
 		}
 
@@ -131,29 +137,64 @@ class AutoConfigurationSorter {
 
 	private static class AutoConfigurationClass {
 
-		private final AnnotationMetadata metadata;
+		private final String className;
+
+		private final MetadataReaderFactory metadataReaderFactory;
+
+		private final AutoConfigurationMetadata autoConfigurationMetadata;
+
+		private AnnotationMetadata annotationMetadata;
 
-		AutoConfigurationClass(MetadataReader metadataReader) {
-			this.metadata = metadataReader.getAnnotationMetadata();
+		private Set<String> before;
+
+		private Set<String> after;
+
+		AutoConfigurationClass(String className,
+				MetadataReaderFactory metadataReaderFactory,
+				AutoConfigurationMetadata autoConfigurationMetadata) {
+			this.className = className;
+			this.metadataReaderFactory = metadataReaderFactory;
+			this.autoConfigurationMetadata = autoConfigurationMetadata;
 		}
 
 		public int getOrder() {
-			Map<String, Object> orderedAnnotation = this.metadata
+			if (wasProcessed()) {
+				return this.autoConfigurationMetadata.getInteger(this.className,
+						"AutoConfigureOrder", Ordered.LOWEST_PRECEDENCE);
+			}
+			Map<String, Object> orderedAnnotation = getAnnotationMetadata()
 					.getAnnotationAttributes(AutoConfigureOrder.class.getName());
 			return (orderedAnnotation == null ? Ordered.LOWEST_PRECEDENCE
 					: (Integer) orderedAnnotation.get("value"));
 		}
 
 		public Set<String> getBefore() {
-			return getAnnotationValue(AutoConfigureBefore.class);
+			if (this.before == null) {
+				this.before = (wasProcessed()
+						? this.autoConfigurationMetadata.getSet(this.className,
+								"AutoConfigureBefore", Collections.<String>emptySet())
+						: getAnnotationValue(AutoConfigureBefore.class));
+			}
+			return this.before;
 		}
 
 		public Set<String> getAfter() {
-			return getAnnotationValue(AutoConfigureAfter.class);
+			if (this.after == null) {
+				this.after = (wasProcessed()
+						? this.autoConfigurationMetadata.getSet(this.className,
+								"AutoConfigureAfter", Collections.<String>emptySet())
+						: getAnnotationValue(AutoConfigureAfter.class));
+			}
+			return this.after;
+		}
+
+		private boolean wasProcessed() {
+			return (this.autoConfigurationMetadata != null
+					&& this.autoConfigurationMetadata.wasProcessed(this.className));
 		}
 
 		private Set<String> getAnnotationValue(Class<?> annotation) {
-			Map<String, Object> attributes = this.metadata
+			Map<String, Object> attributes = getAnnotationMetadata()
 					.getAnnotationAttributes(annotation.getName(), true);
 			if (attributes == null) {
 				return Collections.emptySet();
@@ -164,6 +205,21 @@ class AutoConfigurationSorter {
 			return value;
 		}
 
+		private AnnotationMetadata getAnnotationMetadata() {
+			if (this.annotationMetadata == null) {
+				try {
+					MetadataReader metadataReader = this.metadataReaderFactory
+							.getMetadataReader(this.className);
+					this.annotationMetadata = metadataReader.getAnnotationMetadata();
+				}
+				catch (IOException ex) {
+					throw new IllegalStateException(
+							"Unable to read meta-data for class " + this.className, ex);
+				}
+			}
+			return this.annotationMetadata;
+		}
+
 	}
 
 }
@@ -16,21 +16,48 @@
 
 package org.springframework.boot.autoconfigure;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.validation.Validation;
 
 import org.apache.catalina.mbeans.MBeanFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
 import org.springframework.boot.logging.LoggingApplicationListener;
+import org.springframework.boot.startup.StartupTimeline;
 import org.springframework.context.ApplicationListener;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.support.AllEncompassingFormHttpMessageConverter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
 
 /**
- * {@link ApplicationListener} to trigger early initialization in a background thread of
- * time consuming tasks.
+ * {@link ApplicationListener} to trigger early initialization in the background of
+ * time consuming tasks. In addition to a set of built-in tasks, any {@link Preinitializer
+ * Preinitializers} registered in {@code META-INF/spring.factories} are run. Tasks are
+ * run concurrently on a small pool of daemon threads, honoring any
+ * {@link PreinitializeAfter @PreinitializeAfter} hints.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -40,30 +67,21 @@ import org.springframework.http.converter.support.AllEncompassingFormHttpMessage
 public class BackgroundPreinitializer
 		implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
 
+	private static final Log logger = LogFactory.getLog(BackgroundPreinitializer.class);
+
 	@Override
 	public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+		final ClassLoader classLoader = event.getSpringApplication().getClassLoader();
 		try {
 			Thread thread = new Thread(new Runnable() {
 
 				@Override
 				public void run() {
-					runSafely(new MessageConverterInitializer());
-					runSafely(new MBeanFactoryInitializer());
-					runSafely(new ValidationInitializer());
-					runSafely(new JacksonInitializer());
-					runSafely(new ConversionServiceInitializer());
-				}
-
-				public void runSafely(Runnable runnable) {
-					try {
-						runnable.run();
-					}
-					catch (Throwable ex) {
-						// Ignore
-					}
+					new Preinitialization(getPreinitializers(classLoader)).run();
 				}
 
 			}, "background-preinit");
+			thread.setDaemon(true);
 			thread.start();
 		}
 		catch (Exception ex) {
@@ -73,13 +91,189 @@ public class BackgroundPreinitializer
 		}
 	}
 
+	private List<Preinitializer> getPreinitializers(ClassLoader classLoader) {
+		List<Preinitializer> preinitializers = new ArrayList<Preinitializer>();
+		preinitializers.add(new MessageConverterInitializer());
+		preinitializers.add(new MBeanFactoryInitializer());
+		preinitializers.add(new ValidationInitializer());
+		preinitializers.add(new JacksonInitializer());
+		preinitializers.add(new ConversionServiceInitializer());
+		for (String name : SpringFactoriesLoader.loadFactoryNames(Preinitializer.class,
+				classLoader)) {
+			try {
+				Class<?> type = ClassUtils.forName(name, classLoader);
+				preinitializers.add((Preinitializer) BeanUtils.instantiateClass(type));
+			}
+			catch (Throwable ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Unable to create preinitializer " + name, ex);
+				}
+			}
+		}
+		return preinitializers;
+	}
+
 	/**
-	 * Early initializer for Spring MessageConverters.
+	 * Runs a collection of {@link Preinitializer Preinitializers} on a thread pool sized
+	 * to the available processors. Each preinitializer is submitted once all of the
+	 * preinitializers that it should run after have completed.
 	 */
-	private static class MessageConverterInitializer implements Runnable {
+	static class Preinitialization {
+
+		private final StartupTimeline timeline = StartupTimeline.get();
+
+		private final Map<Class<?>, Task> tasks = new LinkedHashMap<Class<?>, Task>();
+
+		private final CountDownLatch latch;
+
+		private ExecutorService executor;
+
+		Preinitialization(Collection<? extends Preinitializer> preinitializers) {
+			for (Preinitializer preinitializer : preinitializers) {
+				this.tasks.put(preinitializer.getClass(), new Task(preinitializer));
+			}
+			for (Task task : this.tasks.values()) {
+				for (Class<?> after : getAfter(task.preinitializer.getClass())) {
+					Task dependency = this.tasks.get(after);
+					if (dependency != null && dependency != task) {
+						dependency.dependents.add(task);
+						task.pending.incrementAndGet();
+					}
+				}
+			}
+			this.latch = new CountDownLatch(this.tasks.size());
+		}
+
+		private Class<?>[] getAfter(Class<?> type) {
+			PreinitializeAfter after = AnnotationUtils.findAnnotation(type,
+					PreinitializeAfter.class);
+			return (after == null ? new Class<?>[0] : after.value());
+		}
 
-		@Override
 		public void run() {
+			if (this.tasks.isEmpty()) {
+				return;
+			}
+			int threads = Math.min(Runtime.getRuntime().availableProcessors(),
+					this.tasks.size());
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+					"background-preinit-");
+			threadFactory.setDaemon(true);
+			this.executor = Executors.newFixedThreadPool(threads, threadFactory);
+			try {
+				for (Task task : getInitialTasks()) {
+					this.executor.execute(task);
+				}
+				this.latch.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			finally {
+				this.executor.shutdown();
+			}
+		}
+
+		/**
+		 * Return the tasks that can be submitted immediately. Tasks that can never
+		 * become ready because their hints form a cycle are included, with their hints
+		 * ignored.
+		 * @return the initial tasks
+		 */
+		private List<Task> getInitialTasks() {
+			Map<Task, Integer> pending = new HashMap<Task, Integer>();
+			Queue<Task> ready = new LinkedList<Task>();
+			List<Task> initial = new ArrayList<Task>();
+			for (Task task : this.tasks.values()) {
+				pending.put(task, task.pending.get());
+				if (task.pending.get() == 0) {
+					ready.add(task);
+					initial.add(task);
+				}
+			}
+			Set<Task> resolved = new HashSet<Task>();
+			while (!ready.isEmpty()) {
+				Task task = ready.poll();
+				resolved.add(task);
+				for (Task dependent : task.dependents) {
+					int remaining = pending.get(dependent) - 1;
+					pending.put(dependent, remaining);
+					if (remaining == 0) {
+						ready.add(dependent);
+					}
+				}
+			}
+			for (Task task : this.tasks.values()) {
+				if (!resolved.contains(task)) {
+					task.pending.set(0);
+					initial.add(task);
+				}
+			}
+			return initial;
+		}
+
+		private void preinitialize(Preinitializer preinitializer) {
+			String name = ClassUtils.getShortName(preinitializer.getClass());
+			int step = this.timeline.start("preinitialize:" + name);
+			long startTime = System.nanoTime();
+			try {
+				preinitializer.preinitialize();
+			}
+			catch (Throwable ex) {
+				// Ignore
+			}
+			finally {
+				this.timeline.end(step);
+				if (logger.isDebugEnabled()) {
+					logger.debug("Preinitialized " + name + " in " + TimeUnit.NANOSECONDS
+							.toMillis(System.nanoTime() - startTime) + "ms");
+				}
+			}
+		}
+
+		/**
+		 * A single preinitializer along with the tasks that are waiting for it.
+		 */
+		private final class Task implements Runnable {
+
+			private final Preinitializer preinitializer;
+
+			private final List<Task> dependents = new ArrayList<Task>();
+
+			private final AtomicInteger pending = new AtomicInteger();
+
+			Task(Preinitializer preinitializer) {
+				this.preinitializer = preinitializer;
+			}
+
+			@Override
+			public void run() {
+				try {
+					preinitialize(this.preinitializer);
+				}
+				finally {
+					for (Task dependent : this.dependents) {
+						if (dependent.pending.decrementAndGet() == 0) {
+							Preinitialization.this.executor.execute(dependent);
+						}
+					}
+					Preinitialization.this.latch.countDown();
+				}
+			}
+
+		}
+
+	}
+
+	/**
+	 * Early initializer for Spring MessageConverters. Run after Jackson so that the
+	 * converters do not contend for the same class initialization.
+	 */
+	@PreinitializeAfter(JacksonInitializer.class)
+	private static class MessageConverterInitializer implements Preinitializer {
+
+		@Override
+		public void preinitialize() {
 			new AllEncompassingFormHttpMessageConverter();
 		}
 
@@ -88,10 +282,10 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer to load Tomcat MBean XML.
 	 */
-	private static class MBeanFactoryInitializer implements Runnable {
+	private static class MBeanFactoryInitializer implements Preinitializer {
 
 		@Override
-		public void run() {
+		public void preinitialize() {
 			new MBeanFactory();
 		}
 
@@ -100,10 +294,10 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer for javax.validation.
 	 */
-	private static class ValidationInitializer implements Runnable {
+	private static class ValidationInitializer implements Preinitializer {
 
 		@Override
-		public void run() {
+		public void preinitialize() {
 			Validation.byDefaultProvider().configure();
 		}
 
@@ -112,10 +306,10 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer for Jackson.
 	 */
-	private static class JacksonInitializer implements Runnable {
+	private static class JacksonInitializer implements Preinitializer {
 
 		@Override
-		public void run() {
+		public void preinitialize() {
 			Jackson2ObjectMapperBuilder.json().build();
 		}
 
@@ -124,10 +318,10 @@ public class BackgroundPreinitializer
 	/**
 	 * Early initializer for Spring's ConversionService.
 	 */
-	private static class ConversionServiceInitializer implements Runnable {
+	private static class ConversionServiceInitializer implements Preinitializer {
 
 		@Override
-		public void run() {
+		public void preinitialize() {
 			new DefaultFormattingConversionService();
 		}
 
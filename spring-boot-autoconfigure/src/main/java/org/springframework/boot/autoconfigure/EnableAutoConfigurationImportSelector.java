@@ -20,11 +20,17 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.Aware;
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
@@ -34,6 +40,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionEvaluationRepor
 import org.springframework.boot.bind.PropertySourcesPropertyValues;
 import org.springframework.boot.bind.RelaxedDataBinder;
 import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.boot.startup.StartupTimeline;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.DeferredImportSelector;
@@ -48,6 +55,8 @@ import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
 
 /**
  * {@link DeferredImportSelector} to handle {@link EnableAutoConfiguration
@@ -66,6 +75,11 @@ public class EnableAutoConfigurationImportSelector
 
 	private static final String[] NO_IMPORTS = {};
 
+	private static final Log logger = LogFactory
+			.getLog(EnableAutoConfigurationImportSelector.class);
+
+	private static final Map<SortKey, List<String>> sortCache = new ConcurrentReferenceHashMap<SortKey, List<String>>();
+
 	private ConfigurableListableBeanFactory beanFactory;
 
 	private Environment environment;
@@ -79,20 +93,28 @@ public class EnableAutoConfigurationImportSelector
 		if (!isEnabled(metadata)) {
 			return NO_IMPORTS;
 		}
+		StartupTimeline timeline = StartupTimeline.get();
+		int step = timeline.start("auto-configuration.select-imports");
 		try {
+			AutoConfigurationMetadata autoConfigurationMetadata = AutoConfigurationMetadataLoader
+					.loadMetadata(this.beanClassLoader);
 			AnnotationAttributes attributes = getAttributes(metadata);
 			List<String> configurations = getCandidateConfigurations(metadata,
 					attributes);
 			configurations = removeDuplicates(configurations);
 			Set<String> exclusions = getExclusions(metadata, attributes);
 			configurations.removeAll(exclusions);
-			configurations = sort(configurations);
+			configurations = filter(configurations, autoConfigurationMetadata);
+			configurations = sort(configurations, autoConfigurationMetadata);
 			recordWithConditionEvaluationReport(configurations, exclusions);
 			return configurations.toArray(new String[configurations.size()]);
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException(ex);
 		}
+		finally {
+			timeline.end(step);
+		}
 	}
 
 	protected boolean isEnabled(AnnotationMetadata metadata) {
@@ -188,10 +210,88 @@ public class EnableAutoConfigurationImportSelector
 		return (Arrays.asList(exclude == null ? new String[0] : exclude));
 	}
 
-	private List<String> sort(List<String> configurations) throws IOException {
-		configurations = new AutoConfigurationSorter(getMetadataReaderFactory())
-				.getInPriorityOrder(configurations);
-		return configurations;
+	private List<String> filter(List<String> configurations,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		StartupTimeline timeline = StartupTimeline.get();
+		int step = timeline.start("auto-configuration.filter");
+		try {
+			String[] candidates = configurations
+					.toArray(new String[configurations.size()]);
+			boolean[] skip = new boolean[candidates.length];
+			boolean skipped = false;
+			for (AutoConfigurationImportFilter filter : getAutoConfigurationImportFilters()) {
+				invokeAwareMethods(filter);
+				boolean[] match = filter.match(candidates, autoConfigurationMetadata);
+				for (int i = 0; i < match.length; i++) {
+					if (!match[i]) {
+						skip[i] = true;
+						skipped = true;
+					}
+				}
+			}
+			if (!skipped) {
+				return configurations;
+			}
+			List<String> result = new ArrayList<String>(candidates.length);
+			for (int i = 0; i < candidates.length; i++) {
+				if (!skip[i]) {
+					result.add(candidates[i]);
+				}
+			}
+			if (logger.isTraceEnabled()) {
+				int numberFiltered = configurations.size() - result.size();
+				logger.trace("Filtered " + numberFiltered + " auto configuration class"
+						+ (numberFiltered == 1 ? "" : "es"));
+			}
+			return result;
+		}
+		finally {
+			timeline.end(step);
+		}
+	}
+
+	/**
+	 * Return the {@link AutoConfigurationImportFilter filters} that are applied to the
+	 * candidate configurations before they are sorted. By default this method loads
+	 * filters using {@link SpringFactoriesLoader}.
+	 * @return the filters to apply
+	 */
+	protected List<AutoConfigurationImportFilter> getAutoConfigurationImportFilters() {
+		return SpringFactoriesLoader.loadFactories(AutoConfigurationImportFilter.class,
+				this.beanClassLoader);
+	}
+
+	private void invokeAwareMethods(Object instance) {
+		if (instance instanceof Aware) {
+			if (instance instanceof BeanClassLoaderAware) {
+				((BeanClassLoaderAware) instance)
+						.setBeanClassLoader(this.beanClassLoader);
+			}
+			if (instance instanceof BeanFactoryAware) {
+				((BeanFactoryAware) instance).setBeanFactory(this.beanFactory);
+			}
+			if (instance instanceof EnvironmentAware) {
+				((EnvironmentAware) instance).setEnvironment(this.environment);
+			}
+			if (instance instanceof ResourceLoaderAware) {
+				((ResourceLoaderAware) instance).setResourceLoader(this.resourceLoader);
+			}
+		}
+	}
+
+	private List<String> sort(List<String> configurations,
+			AutoConfigurationMetadata autoConfigurationMetadata) throws IOException {
+		// The order only depends on the candidates and the classes that declare them
+		// so it can be shared by every context that uses the same class loader
+		SortKey key = new SortKey(this.beanClassLoader, configurations);
+		List<String> sorted = sortCache.get(key);
+		if (sorted == null) {
+			sorted = Collections.unmodifiableList(new AutoConfigurationSorter(
+					getMetadataReaderFactory(), autoConfigurationMetadata)
+							.getInPriorityOrder(configurations));
+			sortCache.put(key, sorted);
+		}
+		return new ArrayList<String>(sorted);
 	}
 
 	private MetadataReaderFactory getMetadataReaderFactory() {
@@ -264,6 +364,41 @@ public class EnableAutoConfigurationImportSelector
 		return Ordered.LOWEST_PRECEDENCE - 1;
 	}
 
+	/**
+	 * Key used to cache the priority order of a list of candidate configurations.
+	 */
+	private static final class SortKey {
+
+		private final ClassLoader classLoader;
+
+		private final List<String> configurations;
+
+		SortKey(ClassLoader classLoader, List<String> configurations) {
+			this.classLoader = classLoader;
+			this.configurations = new ArrayList<String>(configurations);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			SortKey other = (SortKey) obj;
+			return ObjectUtils.nullSafeEquals(this.classLoader, other.classLoader)
+					&& this.configurations.equals(other.configurations);
+		}
+
+		@Override
+		public int hashCode() {
+			return ObjectUtils.nullSafeHashCode(this.classLoader) * 31
+					+ this.configurations.hashCode();
+		}
+
+	}
+
 	/**
 	 * Bindable object used to get excludes.
 	 */
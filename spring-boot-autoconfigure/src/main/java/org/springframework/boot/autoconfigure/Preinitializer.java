@@ -0,0 +1,40 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+/**
+ * Strategy interface used to warm up time consuming infrastructure early, in the
+ * background, while the application context is being prepared. Implementations should
+ * be registered in {@code META-INF/spring.factories} and must have a default
+ * constructor. Any failure (including a missing class) is silently ignored.
+ * <p>
+ * Implementations are run concurrently by the {@link BackgroundPreinitializer}. Use
+ * {@link PreinitializeAfter @PreinitializeAfter} if a preinitializer benefits from
+ * others having completed first.
+ *
+ * @author agent
+ * @since 1.4.0
+ * @see PreinitializeAfter
+ */
+public interface Preinitializer {
+
+	/**
+	 * Perform the early initialization.
+	 */
+	void preinitialize();
+
+}
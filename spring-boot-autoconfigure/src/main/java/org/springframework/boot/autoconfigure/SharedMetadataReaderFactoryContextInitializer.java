@@ -16,6 +16,8 @@
 
 package org.springframework.boot.autoconfigure;
 
+import java.io.File;
+
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.FactoryBean;
@@ -26,15 +28,19 @@ import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
 import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.ApplicationTemp;
 import org.springframework.boot.type.classreading.ConcurrentReferenceCachingMetadataReaderFactory;
+import org.springframework.boot.type.classreading.PersistentCachingMetadataReaderFactory;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.AnnotationConfigUtils;
 import org.springframework.context.annotation.ConfigurationClassPostProcessor;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.Ordered;
 import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 
@@ -52,6 +58,11 @@ class SharedMetadataReaderFactoryContextInitializer
 	public static final String BEAN_NAME = "org.springframework.boot.autoconfigure."
 			+ "internalCachingMetadataReaderFactory";
 
+	/**
+	 * The name of the property used to enable the persistent class meta-data cache.
+	 */
+	public static final String CACHE_PROPERTY = "spring.classreading.cache";
+
 	@Override
 	public void initialize(ConfigurableApplicationContext applicationContext) {
 		applicationContext.addBeanFactoryPostProcessor(
@@ -105,26 +116,52 @@ class SharedMetadataReaderFactoryContextInitializer
 	}
 
 	/**
-	 * {@link FactoryBean} to create the shared {@link MetadataReaderFactory}.
+	 * {@link FactoryBean} to create the shared {@link MetadataReaderFactory}. When the
+	 * {@link #CACHE_PROPERTY} is {@code true} a
+	 * {@link PersistentCachingMetadataReaderFactory} is used and its entries are saved
+	 * once the context has been refreshed.
 	 */
 	static class SharedMetadataReaderFactoryBean
 			implements FactoryBean<ConcurrentReferenceCachingMetadataReaderFactory>,
-			BeanClassLoaderAware, ApplicationListener<ContextRefreshedEvent> {
+			BeanClassLoaderAware, EnvironmentAware,
+			ApplicationListener<ContextRefreshedEvent> {
+
+		private ClassLoader classLoader;
+
+		private Environment environment;
 
 		private ConcurrentReferenceCachingMetadataReaderFactory metadataReaderFactory;
 
 		@Override
 		public void setBeanClassLoader(ClassLoader classLoader) {
-			this.metadataReaderFactory = new ConcurrentReferenceCachingMetadataReaderFactory(
-					classLoader);
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		public void setEnvironment(Environment environment) {
+			this.environment = environment;
 		}
 
 		@Override
 		public ConcurrentReferenceCachingMetadataReaderFactory getObject()
 				throws Exception {
+			if (this.metadataReaderFactory == null) {
+				this.metadataReaderFactory = createMetadataReaderFactory();
+			}
 			return this.metadataReaderFactory;
 		}
 
+		private ConcurrentReferenceCachingMetadataReaderFactory createMetadataReaderFactory() {
+			if (this.environment != null && this.environment
+					.getProperty(CACHE_PROPERTY, Boolean.class, Boolean.FALSE)) {
+				File directory = new File(new ApplicationTemp().getDir(),
+						"metadata-cache");
+				File file = new File(directory, "metadata-readers.bin");
+				return new PersistentCachingMetadataReaderFactory(this.classLoader, file);
+			}
+			return new ConcurrentReferenceCachingMetadataReaderFactory(this.classLoader);
+		}
+
 		@Override
 		public Class<?> getObjectType() {
 			return CachingMetadataReaderFactory.class;
@@ -137,7 +174,13 @@ class SharedMetadataReaderFactoryContextInitializer
 
 		@Override
 		public void onApplicationEvent(ContextRefreshedEvent event) {
-			this.metadataReaderFactory.clearCache();
+			if (this.metadataReaderFactory instanceof PersistentCachingMetadataReaderFactory) {
+				((PersistentCachingMetadataReaderFactory) this.metadataReaderFactory)
+						.save();
+			}
+			if (this.metadataReaderFactory != null) {
+				this.metadataReaderFactory.clearCache();
+			}
 		}
 
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -224,7 +225,9 @@ abstract class BeanTypeRegistry {
 
 	/**
 	 * {@link BeanTypeRegistry} optimized for {@link DefaultListableBeanFactory}
-	 * implementations that allow eager class loading.
+	 * implementations that allow eager class loading. Bean types are indexed against all
+	 * of their superclasses and interfaces as definitions are added so that a lookup is
+	 * a single map access.
 	 */
 	static class OptimizedBeanTypeRegistry extends BeanTypeRegistry
 			implements SmartInitializingSingleton {
@@ -235,6 +238,10 @@ abstract class BeanTypeRegistry {
 
 		private final Map<String, Class<?>> beanTypes = new HashMap<String, Class<?>>();
 
+		private final Map<Class<?>, Set<String>> namesByType = new HashMap<Class<?>, Set<String>>();
+
+		private final Map<String, Class<?>> unindexedBeanTypes = new LinkedHashMap<String, Class<?>>();
+
 		private int lastBeanDefinitionCount = 0;
 
 		OptimizedBeanTypeRegistry(DefaultListableBeanFactory beanFactory) {
@@ -245,11 +252,27 @@ abstract class BeanTypeRegistry {
 		public void afterSingletonsInstantiated() {
 			// We're done at this point, free up some memory
 			this.beanTypes.clear();
+			this.namesByType.clear();
+			this.unindexedBeanTypes.clear();
 			this.lastBeanDefinitionCount = 0;
 		}
 
 		@Override
 		public Set<String> getNamesForType(Class<?> type) {
+			updateBeanTypes();
+			Set<String> names = this.namesByType.get(type);
+			Set<String> matches = (names == null ? new LinkedHashSet<String>()
+					: new LinkedHashSet<String>(names));
+			for (Map.Entry<String, Class<?>> entry : this.unindexedBeanTypes
+					.entrySet()) {
+				if (type.isAssignableFrom(entry.getValue())) {
+					matches.add(entry.getKey());
+				}
+			}
+			return matches;
+		}
+
+		private void updateBeanTypes() {
 			if (this.lastBeanDefinitionCount != this.beanFactory
 					.getBeanDefinitionCount()) {
 				Iterator<String> names = this.beanFactory.getBeanNamesIterator();
@@ -261,18 +284,11 @@ abstract class BeanTypeRegistry {
 				}
 				this.lastBeanDefinitionCount = this.beanFactory.getBeanDefinitionCount();
 			}
-			Set<String> matches = new LinkedHashSet<String>();
-			for (Map.Entry<String, Class<?>> entry : this.beanTypes.entrySet()) {
-				if (entry.getValue() != null && type.isAssignableFrom(entry.getValue())) {
-					matches.add(entry.getKey());
-				}
-			}
-			return matches;
 		}
 
 		private void addBeanType(String name) {
 			if (this.beanFactory.containsSingleton(name)) {
-				this.beanTypes.put(name, this.beanFactory.getType(name));
+				putBeanType(name, this.beanFactory.getType(name));
 			}
 			else if (!this.beanFactory.isAlias(name)) {
 				addBeanTypeForNonAliasDefinition(name);
@@ -289,12 +305,11 @@ abstract class BeanTypeRegistry {
 					if (this.beanFactory.isFactoryBean(factoryName)) {
 						Class<?> factoryBeanGeneric = getFactoryBeanGeneric(
 								this.beanFactory, beanDefinition, name);
-						this.beanTypes.put(name, factoryBeanGeneric);
-						this.beanTypes.put(factoryName,
-								this.beanFactory.getType(factoryName));
+						putBeanType(name, factoryBeanGeneric);
+						putBeanType(factoryName, this.beanFactory.getType(factoryName));
 					}
 					else {
-						this.beanTypes.put(name, this.beanFactory.getType(name));
+						putBeanType(name, this.beanFactory.getType(name));
 					}
 				}
 			}
@@ -308,6 +323,43 @@ abstract class BeanTypeRegistry {
 			}
 		}
 
+		private void putBeanType(String name, Class<?> type) {
+			this.beanTypes.put(name, type);
+			if (type == null) {
+				return;
+			}
+			if (type.isArray() || type.isPrimitive()) {
+				// Assignability of these types doesn't follow the class hierarchy
+				this.unindexedBeanTypes.put(name, type);
+				return;
+			}
+			for (Class<?> assignableType : getAssignableTypes(type)) {
+				Set<String> names = this.namesByType.get(assignableType);
+				if (names == null) {
+					names = new LinkedHashSet<String>();
+					this.namesByType.put(assignableType, names);
+				}
+				names.add(name);
+			}
+		}
+
+		private Set<Class<?>> getAssignableTypes(Class<?> type) {
+			Set<Class<?>> assignableTypes = new LinkedHashSet<Class<?>>();
+			collectAssignableTypes(type, assignableTypes);
+			assignableTypes.add(Object.class);
+			return assignableTypes;
+		}
+
+		private void collectAssignableTypes(Class<?> type, Set<Class<?>> assignableTypes) {
+			if (type == null || !assignableTypes.add(type)) {
+				return;
+			}
+			collectAssignableTypes(type.getSuperclass(), assignableTypes);
+			for (Class<?> implementedInterface : type.getInterfaces()) {
+				collectAssignableTypes(implementedInterface, assignableTypes);
+			}
+		}
+
 		private void logIgnoredError(String message, String name, Exception ex) {
 			if (BeanTypeRegistry.logger.isDebugEnabled()) {
 				BeanTypeRegistry.logger.debug("Ignoring " + message + " '" + name + "'",
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -61,6 +61,8 @@ public final class ConditionEvaluationReport {
 
 	private Set<String> unconditionalClasses = new HashSet<String>();
 
+	private boolean recordMatches = true;
+
 	/**
 	 * Private constructor.
 	 * @see #get(ConfigurableListableBeanFactory)
@@ -80,13 +82,39 @@ public final class ConditionEvaluationReport {
 		Assert.notNull(condition, "Condition must not be null");
 		Assert.notNull(outcome, "Outcome must not be null");
 		this.unconditionalClasses.remove(source);
-		if (!this.outcomes.containsKey(source)) {
-			this.outcomes.put(source, new ConditionAndOutcomes());
+		if (outcome.isMatch() && !this.recordMatches) {
+			return;
+		}
+		ConditionAndOutcomes conditionAndOutcomes = this.outcomes.get(source);
+		if (conditionAndOutcomes == null) {
+			conditionAndOutcomes = new ConditionAndOutcomes();
+			this.outcomes.put(source, conditionAndOutcomes);
 		}
-		this.outcomes.get(source).add(condition, outcome);
+		conditionAndOutcomes.add(condition, outcome);
 		this.addedAncestorOutcomes = false;
 	}
 
+	/**
+	 * Set if outcomes that match should be recorded. When {@code false} only the outcomes
+	 * of conditions that did not match are kept, reducing the memory retained by the
+	 * report at the expense of a less detailed report. Defaults to {@code true}.
+	 * @param recordMatches if matching outcomes should be recorded
+	 * @since 1.4.0
+	 */
+	public void setRecordMatches(boolean recordMatches) {
+		this.recordMatches = recordMatches;
+	}
+
+	/**
+	 * Return if outcomes that match are recorded.
+	 * @return if matching outcomes are recorded
+	 * @since 1.4.0
+	 * @see #setRecordMatches(boolean)
+	 */
+	public boolean isRecordMatches() {
+		return this.recordMatches;
+	}
+
 	/**
 	 * Records the names of the classes that have been excluded from condition evaluation.
 	 * @param exclusions the names of the excluded classes
@@ -189,22 +217,27 @@ public final class ConditionEvaluationReport {
 	}
 
 	/**
-	 * Provides access to a number of {@link ConditionAndOutcome} items.
+	 * Provides access to a number of {@link ConditionAndOutcome} items. Outcomes are
+	 * stored as they are recorded and only de-duplicated when iterated so that messages
+	 * are not formatted until they are needed.
 	 */
 	public static class ConditionAndOutcomes implements Iterable<ConditionAndOutcome> {
 
-		private final Set<ConditionAndOutcome> outcomes = new LinkedHashSet<ConditionAndOutcome>();
+		private final List<ConditionAndOutcome> outcomes = new ArrayList<ConditionAndOutcome>();
+
+		private boolean deduplicated = true;
 
-		public void add(Condition condition, ConditionOutcome outcome) {
+		public synchronized void add(Condition condition, ConditionOutcome outcome) {
 			this.outcomes.add(new ConditionAndOutcome(condition, outcome));
+			this.deduplicated = (this.outcomes.size() == 1);
 		}
 
 		/**
 		 * Return {@code true} if all outcomes match.
 		 * @return {@code true} if a full match
 		 */
-		public boolean isFullMatch() {
-			for (ConditionAndOutcome conditionAndOutcomes : this) {
+		public synchronized boolean isFullMatch() {
+			for (ConditionAndOutcome conditionAndOutcomes : this.outcomes) {
 				if (!conditionAndOutcomes.getOutcome().isMatch()) {
 					return false;
 				}
@@ -213,8 +246,18 @@ public final class ConditionEvaluationReport {
 		}
 
 		@Override
-		public Iterator<ConditionAndOutcome> iterator() {
-			return Collections.unmodifiableSet(this.outcomes).iterator();
+		public synchronized Iterator<ConditionAndOutcome> iterator() {
+			// Duplicates are removed lazily. The report can be read concurrently (for
+			// example by the endpoint) so the list is only used whilst locked.
+			if (!this.deduplicated) {
+				Set<ConditionAndOutcome> unique = new LinkedHashSet<ConditionAndOutcome>(
+						this.outcomes);
+				this.outcomes.clear();
+				this.outcomes.addAll(unique);
+				this.deduplicated = true;
+			}
+			return Collections.unmodifiableList(
+					new ArrayList<ConditionAndOutcome>(this.outcomes)).iterator();
 		}
 
 	}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+/**
+ * A {@link ConditionOutcome} message that is only formatted when it is first needed,
+ * typically when the auto-configuration report is logged or displayed. Implementations
+ * should capture the state required to produce the message rather than the message
+ * itself.
+ *
+ * @author agent
+ * @since 1.4.0
+ * @see ConditionOutcome#match(ConditionMessage)
+ * @see ConditionOutcome#noMatch(ConditionMessage)
+ */
+public abstract class ConditionMessage {
+
+	private String message;
+
+	/**
+	 * Format the message. Called at most once.
+	 * @return the formatted message
+	 */
+	protected abstract String format();
+
+	@Override
+	public String toString() {
+		if (this.message == null) {
+			this.message = format();
+		}
+		return this.message;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,9 +29,28 @@ public class ConditionOutcome {
 
 	private final String message;
 
+	private final ConditionMessage conditionMessage;
+
 	public ConditionOutcome(boolean match, String message) {
+		this(match, message, null);
+	}
+
+	/**
+	 * Create a new {@link ConditionOutcome} instance with a message that is formatted
+	 * lazily.
+	 * @param match if the condition is a match
+	 * @param message the condition message
+	 * @since 1.4.0
+	 */
+	public ConditionOutcome(boolean match, ConditionMessage message) {
+		this(match, null, message);
+	}
+
+	private ConditionOutcome(boolean match, String message,
+			ConditionMessage conditionMessage) {
 		this.match = match;
 		this.message = message;
+		this.conditionMessage = conditionMessage;
 	}
 
 	/**
@@ -39,7 +58,7 @@ public class ConditionOutcome {
 	 * @return the {@link ConditionOutcome}
 	 */
 	public static ConditionOutcome match() {
-		return match(null);
+		return match((String) null);
 	}
 
 	/**
@@ -51,6 +70,17 @@ public class ConditionOutcome {
 		return new ConditionOutcome(true, message);
 	}
 
+	/**
+	 * Create a new {@link ConditionOutcome} instance for 'match' with a message that is
+	 * formatted lazily.
+	 * @param message the message
+	 * @return the {@link ConditionOutcome}
+	 * @since 1.4.0
+	 */
+	public static ConditionOutcome match(ConditionMessage message) {
+		return new ConditionOutcome(true, message);
+	}
+
 	/**
 	 * Create a new {@link ConditionOutcome} instance for 'no match'.
 	 * @param message the message
@@ -60,6 +90,17 @@ public class ConditionOutcome {
 		return new ConditionOutcome(false, message);
 	}
 
+	/**
+	 * Create a new {@link ConditionOutcome} instance for 'no match' with a message that
+	 * is formatted lazily.
+	 * @param message the message
+	 * @return the {@link ConditionOutcome}
+	 * @since 1.4.0
+	 */
+	public static ConditionOutcome noMatch(ConditionMessage message) {
+		return new ConditionOutcome(false, message);
+	}
+
 	/**
 	 * Return {@code true} if the outcome was a match.
 	 * @return {@code true} if the outcome matches
@@ -69,17 +110,21 @@ public class ConditionOutcome {
 	}
 
 	/**
-	 * Return an outcome message or {@code null}.
+	 * Return an outcome message or {@code null}. A lazily formatted message is formatted
+	 * on the first call.
 	 * @return the message or {@code null}
 	 */
 	public String getMessage() {
+		if (this.message == null && this.conditionMessage != null) {
+			return this.conditionMessage.toString();
+		}
 		return this.message;
 	}
 
 	@Override
 	public int hashCode() {
 		return ObjectUtils.hashCode(this.match) * 31
-				+ ObjectUtils.nullSafeHashCode(this.message);
+				+ ObjectUtils.nullSafeHashCode(getMessage());
 	}
 
 	@Override
@@ -93,14 +138,15 @@ public class ConditionOutcome {
 		if (getClass() == obj.getClass()) {
 			ConditionOutcome other = (ConditionOutcome) obj;
 			return (this.match == other.match
-					&& ObjectUtils.nullSafeEquals(this.message, other.message));
+					&& ObjectUtils.nullSafeEquals(getMessage(), other.getMessage()));
 		}
 		return super.equals(obj);
 	}
 
 	@Override
 	public String toString() {
-		return (this.message == null ? "" : this.message);
+		String message = getMessage();
+		return (message == null ? "" : message);
 	}
 
 	/**
@@ -110,7 +156,8 @@ public class ConditionOutcome {
 	 * @since 1.3.0
 	 */
 	public static ConditionOutcome inverse(ConditionOutcome outcome) {
-		return new ConditionOutcome(!outcome.isMatch(), outcome.getMessage());
+		return new ConditionOutcome(!outcome.isMatch(), outcome.message,
+				outcome.conditionMessage);
 	}
 
 }
@@ -74,48 +74,47 @@ class OnBeanCondition extends SpringBootCondition implements ConfigurationCondit
 	@Override
 	public ConditionOutcome getMatchOutcome(ConditionContext context,
 			AnnotatedTypeMetadata metadata) {
-		StringBuilder matchMessage = new StringBuilder();
+		SearchMessage matchMessage = new SearchMessage();
 		if (metadata.isAnnotated(ConditionalOnBean.class.getName())) {
 			BeanSearchSpec spec = new BeanSearchSpec(context, metadata,
 					ConditionalOnBean.class);
 			List<String> matching = getMatchingBeans(context, spec);
 			if (matching.isEmpty()) {
-				return ConditionOutcome
-						.noMatch("@ConditionalOnBean " + spec + " found no beans");
+				return ConditionOutcome.noMatch(new SearchMessage()
+						.append("@ConditionalOnBean ", spec, " found no beans"));
 			}
-			matchMessage.append("@ConditionalOnBean ").append(spec)
-					.append(" found the following ").append(matching);
+			matchMessage.append("@ConditionalOnBean ", spec, " found the following ",
+					matching);
 		}
 		if (metadata.isAnnotated(ConditionalOnSingleCandidate.class.getName())) {
 			BeanSearchSpec spec = new SingleCandidateBeanSearchSpec(context, metadata,
 					ConditionalOnSingleCandidate.class);
 			List<String> matching = getMatchingBeans(context, spec);
 			if (matching.isEmpty()) {
-				return ConditionOutcome.noMatch(
-						"@ConditionalOnSingleCandidate " + spec + " found no beans");
+				return ConditionOutcome.noMatch(new SearchMessage().append(
+						"@ConditionalOnSingleCandidate ", spec, " found no beans"));
 			}
 			else if (!hasSingleAutowireCandidate(context.getBeanFactory(), matching)) {
-				return ConditionOutcome.noMatch("@ConditionalOnSingleCandidate " + spec
-						+ " found no primary candidate amongst the" + " following "
-						+ matching);
+				return ConditionOutcome.noMatch(new SearchMessage().append(
+						"@ConditionalOnSingleCandidate ", spec,
+						" found no primary candidate amongst the following ", matching));
 			}
-			matchMessage.append("@ConditionalOnSingleCandidate ").append(spec)
-					.append(" found a primary candidate amongst the following ")
-					.append(matching);
+			matchMessage.append("@ConditionalOnSingleCandidate ", spec,
+					" found a primary candidate amongst the following ", matching);
 		}
 		if (metadata.isAnnotated(ConditionalOnMissingBean.class.getName())) {
 			BeanSearchSpec spec = new BeanSearchSpec(context, metadata,
 					ConditionalOnMissingBean.class);
 			List<String> matching = getMatchingBeans(context, spec);
 			if (!matching.isEmpty()) {
-				return ConditionOutcome.noMatch("@ConditionalOnMissingBean " + spec
-						+ " found the following " + matching);
+				return ConditionOutcome.noMatch(new SearchMessage().append(
+						"@ConditionalOnMissingBean ", spec, " found the following ",
+						matching));
 			}
-			matchMessage.append(matchMessage.length() == 0 ? "" : " ");
-			matchMessage.append("@ConditionalOnMissingBean ").append(spec)
-					.append(" found no beans");
+			matchMessage.append(matchMessage.isEmpty() ? "" : " ");
+			matchMessage.append("@ConditionalOnMissingBean ", spec, " found no beans");
 		}
-		return ConditionOutcome.match(matchMessage.toString());
+		return ConditionOutcome.match(matchMessage);
 	}
 
 	private List<String> getMatchingBeans(ConditionContext context,
@@ -426,4 +425,32 @@ class OnBeanCondition extends SpringBootCondition implements ConfigurationCondit
 
 	}
 
+	/**
+	 * {@link ConditionMessage} built from fragments that are only converted to strings
+	 * when the message is formatted.
+	 */
+	private static final class SearchMessage extends ConditionMessage {
+
+		private final List<Object> fragments = new ArrayList<Object>();
+
+		SearchMessage append(Object... fragments) {
+			Collections.addAll(this.fragments, fragments);
+			return this;
+		}
+
+		boolean isEmpty() {
+			return this.fragments.isEmpty();
+		}
+
+		@Override
+		protected String format() {
+			StringBuilder message = new StringBuilder();
+			for (Object fragment : this.fragments) {
+				message.append(fragment);
+			}
+			return message.toString();
+		}
+
+	}
+
 }
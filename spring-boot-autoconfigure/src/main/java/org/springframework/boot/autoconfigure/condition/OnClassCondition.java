@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,21 @@
 
 package org.springframework.boot.autoconfigure.condition;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.Ordered;
@@ -31,54 +41,112 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 
 /**
- * {@link Condition} that checks for the presence or absence of specific classes.
+ * {@link Condition} and {@link AutoConfigurationImportFilter} that checks for the presence
+ * or absence of specific classes.
  *
  * @author Phillip Webb
  * @see ConditionalOnClass
  * @see ConditionalOnMissingClass
  */
 @Order(Ordered.HIGHEST_PRECEDENCE)
-class OnClassCondition extends SpringBootCondition {
+class OnClassCondition extends SpringBootCondition
+		implements AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware {
+
+	private static final int MINIMUM_THREADED_CANDIDATES = 8;
+
+	private BeanFactory beanFactory;
+
+	private ClassLoader beanClassLoader;
 
 	@Override
-	public ConditionOutcome getMatchOutcome(ConditionContext context,
-			AnnotatedTypeMetadata metadata) {
+	public boolean[] match(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		ConditionEvaluationReport report = getConditionEvaluationReport();
+		ConditionOutcome[] outcomes = getOutcomes(autoConfigurationClasses,
+				autoConfigurationMetadata);
+		boolean[] match = new boolean[outcomes.length];
+		for (int i = 0; i < outcomes.length; i++) {
+			match[i] = (outcomes[i] == null || outcomes[i].isMatch());
+			if (!match[i] && report != null) {
+				report.recordConditionEvaluation(autoConfigurationClasses[i], this,
+						outcomes[i]);
+			}
+		}
+		return match;
+	}
 
-		StringBuilder matchMessage = new StringBuilder();
+	private ConditionEvaluationReport getConditionEvaluationReport() {
+		if (this.beanFactory != null
+				&& this.beanFactory instanceof ConfigurableListableBeanFactory) {
+			return ConditionEvaluationReport
+					.get((ConfigurableListableBeanFactory) this.beanFactory);
+		}
+		return null;
+	}
 
+	private ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		// Split the work and perform half of it in a background thread. Using a single
+		// additional thread seems to offer the best performance. More threads make
+		// things worse
+		ConcurrentMap<String, Boolean> presence = new ConcurrentHashMap<String, Boolean>();
+		int split = autoConfigurationClasses.length / 2;
+		OutcomesResolver firstHalfResolver = createOutcomesResolver(
+				autoConfigurationClasses, 0, split, autoConfigurationMetadata, presence);
+		OutcomesResolver secondHalfResolver = new StandardOutcomesResolver(
+				autoConfigurationClasses, split, autoConfigurationClasses.length,
+				autoConfigurationMetadata, this.beanClassLoader, presence);
+		ConditionOutcome[] secondHalf = secondHalfResolver.resolveOutcomes();
+		ConditionOutcome[] firstHalf = firstHalfResolver.resolveOutcomes();
+		ConditionOutcome[] outcomes = new ConditionOutcome[autoConfigurationClasses.length];
+		System.arraycopy(firstHalf, 0, outcomes, 0, firstHalf.length);
+		System.arraycopy(secondHalf, 0, outcomes, split, secondHalf.length);
+		return outcomes;
+	}
+
+	private OutcomesResolver createOutcomesResolver(String[] autoConfigurationClasses,
+			int start, int end, AutoConfigurationMetadata autoConfigurationMetadata,
+			ConcurrentMap<String, Boolean> presence) {
+		OutcomesResolver resolver = new StandardOutcomesResolver(
+				autoConfigurationClasses, start, end, autoConfigurationMetadata,
+				this.beanClassLoader, presence);
+		if (end - start < MINIMUM_THREADED_CANDIDATES) {
+			return resolver;
+		}
+		return new ThreadedOutcomesResolver(resolver);
+	}
+
+	@Override
+	public ConditionOutcome getMatchOutcome(ConditionContext context,
+			AnnotatedTypeMetadata metadata) {
+		List<String> found = null;
 		MultiValueMap<String, Object> onClasses = getAttributes(metadata,
 				ConditionalOnClass.class);
 		if (onClasses != null) {
-			List<String> missing = getMatchingClasses(onClasses, MatchType.MISSING,
+			found = getCandidates(onClasses);
+			List<String> missing = getMatchingClasses(found, MatchType.MISSING,
 					context);
 			if (!missing.isEmpty()) {
 				return ConditionOutcome
 						.noMatch("required @ConditionalOnClass classes not found: "
 								+ StringUtils.collectionToCommaDelimitedString(missing));
 			}
-			matchMessage.append("@ConditionalOnClass classes found: ")
-					.append(StringUtils.collectionToCommaDelimitedString(
-							getMatchingClasses(onClasses, MatchType.PRESENT, context)));
 		}
-
+		List<String> notFound = null;
 		MultiValueMap<String, Object> onMissingClasses = getAttributes(metadata,
 				ConditionalOnMissingClass.class);
 		if (onMissingClasses != null) {
-			List<String> present = getMatchingClasses(onMissingClasses, MatchType.PRESENT,
+			notFound = getCandidates(onMissingClasses);
+			List<String> present = getMatchingClasses(notFound, MatchType.PRESENT,
 					context);
 			if (!present.isEmpty()) {
 				return ConditionOutcome
 						.noMatch("required @ConditionalOnMissing classes found: "
 								+ StringUtils.collectionToCommaDelimitedString(present));
 			}
-			matchMessage.append(matchMessage.length() == 0 ? "" : " ");
-			matchMessage.append("@ConditionalOnMissing classes not found: ")
-					.append(StringUtils.collectionToCommaDelimitedString(
-							getMatchingClasses(onMissingClasses, MatchType.MISSING,
-									context)));
 		}
-
-		return ConditionOutcome.match(matchMessage.toString());
+		// Every candidate was checked above so the message can be formatted lazily
+		return ConditionOutcome.match(new MatchMessage(found, notFound));
 	}
 
 	private MultiValueMap<String, Object> getAttributes(AnnotatedTypeMetadata metadata,
@@ -86,11 +154,16 @@ class OnClassCondition extends SpringBootCondition {
 		return metadata.getAllAnnotationAttributes(annotationType.getName(), true);
 	}
 
-	private List<String> getMatchingClasses(MultiValueMap<String, Object> attributes,
+	private List<String> getCandidates(MultiValueMap<String, Object> attributes) {
+		List<String> candidates = new ArrayList<String>();
+		addAll(candidates, attributes.get("value"));
+		addAll(candidates, attributes.get("name"));
+		return candidates;
+	}
+
+	private List<String> getMatchingClasses(List<String> candidates,
 			MatchType matchType, ConditionContext context) {
-		List<String> matches = new LinkedList<String>();
-		addAll(matches, attributes.get("value"));
-		addAll(matches, attributes.get("name"));
+		List<String> matches = new LinkedList<String>(candidates);
 		Iterator<String> iterator = matches.iterator();
 		while (iterator.hasNext()) {
 			if (!matchType.matches(iterator.next(), context)) {
@@ -128,4 +201,173 @@ class OnClassCondition extends SpringBootCondition {
 
 	}
 
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+	}
+
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.beanClassLoader = classLoader;
+	}
+
+	/**
+	 * {@link ConditionMessage} for a match.
+	 */
+	private static final class MatchMessage extends ConditionMessage {
+
+		private final List<String> found;
+
+		private final List<String> notFound;
+
+		private MatchMessage(List<String> found, List<String> notFound) {
+			this.found = found;
+			this.notFound = notFound;
+		}
+
+		@Override
+		protected String format() {
+			StringBuilder message = new StringBuilder();
+			if (this.found != null) {
+				message.append("@ConditionalOnClass classes found: ").append(
+						StringUtils.collectionToCommaDelimitedString(this.found));
+			}
+			if (this.notFound != null) {
+				message.append(message.length() == 0 ? "" : " ");
+				message.append("@ConditionalOnMissing classes not found: ").append(
+						StringUtils.collectionToCommaDelimitedString(this.notFound));
+			}
+			return message.toString();
+		}
+
+	}
+
+	private interface OutcomesResolver {
+
+		ConditionOutcome[] resolveOutcomes();
+
+	}
+
+	/**
+	 * {@link OutcomesResolver} that resolves the outcomes of a range of candidates in
+	 * the calling thread. Class presence is cached in a map that may be shared with
+	 * other resolvers.
+	 */
+	private static final class StandardOutcomesResolver implements OutcomesResolver {
+
+		private final String[] autoConfigurationClasses;
+
+		private final int start;
+
+		private final int end;
+
+		private final AutoConfigurationMetadata autoConfigurationMetadata;
+
+		private final ClassLoader beanClassLoader;
+
+		private final ConcurrentMap<String, Boolean> presence;
+
+		private StandardOutcomesResolver(String[] autoConfigurationClasses, int start,
+				int end, AutoConfigurationMetadata autoConfigurationMetadata,
+				ClassLoader beanClassLoader, ConcurrentMap<String, Boolean> presence) {
+			this.autoConfigurationClasses = autoConfigurationClasses;
+			this.start = start;
+			this.end = end;
+			this.autoConfigurationMetadata = autoConfigurationMetadata;
+			this.beanClassLoader = beanClassLoader;
+			this.presence = presence;
+		}
+
+		@Override
+		public ConditionOutcome[] resolveOutcomes() {
+			ConditionOutcome[] outcomes = new ConditionOutcome[this.end - this.start];
+			for (int i = this.start; i < this.end; i++) {
+				String autoConfigurationClass = this.autoConfigurationClasses[i];
+				if (autoConfigurationClass != null) {
+					outcomes[i - this.start] = getOutcome(this.autoConfigurationMetadata
+							.get(autoConfigurationClass, "ConditionalOnClass"));
+				}
+			}
+			return outcomes;
+		}
+
+		private ConditionOutcome getOutcome(String candidates) {
+			if (!StringUtils.hasLength(candidates)) {
+				return null;
+			}
+			List<String> missing = null;
+			for (String candidate : StringUtils
+					.commaDelimitedListToStringArray(candidates)) {
+				if (!isPresent(candidate)) {
+					missing = (missing != null ? missing : new ArrayList<String>());
+					missing.add(candidate);
+				}
+			}
+			if (missing != null) {
+				return ConditionOutcome
+						.noMatch("required @ConditionalOnClass classes not found: "
+								+ StringUtils.collectionToCommaDelimitedString(missing));
+			}
+			return null;
+		}
+
+		private boolean isPresent(String className) {
+			Boolean present = this.presence.get(className);
+			if (present == null) {
+				present = ClassUtils.isPresent(className, this.beanClassLoader);
+				this.presence.putIfAbsent(className, present);
+			}
+			return present;
+		}
+
+	}
+
+	/**
+	 * {@link OutcomesResolver} that resolves outcomes in a background thread.
+	 */
+	private static final class ThreadedOutcomesResolver implements OutcomesResolver {
+
+		private final Thread thread;
+
+		private volatile ConditionOutcome[] outcomes;
+
+		private volatile RuntimeException failure;
+
+		private ThreadedOutcomesResolver(final OutcomesResolver outcomesResolver) {
+			this.thread = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						ThreadedOutcomesResolver.this.outcomes = outcomesResolver
+								.resolveOutcomes();
+					}
+					catch (RuntimeException ex) {
+						ThreadedOutcomesResolver.this.failure = ex;
+					}
+				}
+
+			}, "auto-configuration-class-conditions");
+			this.thread.setDaemon(true);
+			this.thread.start();
+		}
+
+		@Override
+		public ConditionOutcome[] resolveOutcomes() {
+			try {
+				this.thread.join();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(
+						"Interrupted while resolving class conditions", ex);
+			}
+			if (this.failure != null) {
+				throw this.failure;
+			}
+			return this.outcomes;
+		}
+
+	}
+
 }
@@ -55,7 +55,7 @@ class OnPropertyCondition extends SpringBootCondition {
 		if (noMatchOutcomes.isEmpty()) {
 			return ConditionOutcome.match();
 		}
-		return ConditionOutcome.noMatch(getCompositeMessage(noMatchOutcomes));
+		return ConditionOutcome.noMatch(new CompositeMessage(noMatchOutcomes));
 	}
 
 	private List<AnnotationAttributes> annotationAttributesFromMultiValueMap(
@@ -131,17 +131,8 @@ class OnPropertyCondition extends SpringBootCondition {
 			return ConditionOutcome.match();
 		}
 
-		StringBuilder message = new StringBuilder("@ConditionalOnProperty ");
-		if (!missingProperties.isEmpty()) {
-			message.append("missing required properties ")
-					.append(expandNames(prefix, missingProperties)).append(" ");
-		}
-		if (!nonMatchingProperties.isEmpty()) {
-			String expected = StringUtils.hasLength(havingValue) ? havingValue : "!false";
-			message.append("expected '").append(expected).append("' for properties ")
-					.append(expandNames(prefix, nonMatchingProperties));
-		}
-		return ConditionOutcome.noMatch(message.toString());
+		return ConditionOutcome.noMatch(new PropertyMessage(prefix, havingValue,
+				missingProperties, nonMatchingProperties));
 	}
 
 	private String[] getNames(Map<String, Object> annotationAttributes) {
@@ -161,25 +152,81 @@ class OnPropertyCondition extends SpringBootCondition {
 		return !"false".equalsIgnoreCase(value);
 	}
 
-	private String expandNames(String prefix, List<String> names) {
-		StringBuilder expanded = new StringBuilder();
-		for (String name : names) {
-			expanded.append(expanded.length() == 0 ? "" : ", ");
-			expanded.append(prefix);
-			expanded.append(name);
+	/**
+	 * {@link ConditionMessage} for a single {@link ConditionalOnProperty} that did not
+	 * match.
+	 */
+	private static final class PropertyMessage extends ConditionMessage {
+
+		private final String prefix;
+
+		private final String havingValue;
+
+		private final List<String> missingProperties;
+
+		private final List<String> nonMatchingProperties;
+
+		private PropertyMessage(String prefix, String havingValue,
+				List<String> missingProperties, List<String> nonMatchingProperties) {
+			this.prefix = prefix;
+			this.havingValue = havingValue;
+			this.missingProperties = missingProperties;
+			this.nonMatchingProperties = nonMatchingProperties;
+		}
+
+		@Override
+		protected String format() {
+			StringBuilder message = new StringBuilder("@ConditionalOnProperty ");
+			if (!this.missingProperties.isEmpty()) {
+				message.append("missing required properties ")
+						.append(expandNames(this.missingProperties)).append(" ");
+			}
+			if (!this.nonMatchingProperties.isEmpty()) {
+				String expected = StringUtils.hasLength(this.havingValue)
+						? this.havingValue : "!false";
+				message.append("expected '").append(expected)
+						.append("' for properties ")
+						.append(expandNames(this.nonMatchingProperties));
+			}
+			return message.toString();
+		}
+
+		private String expandNames(List<String> names) {
+			StringBuilder expanded = new StringBuilder();
+			for (String name : names) {
+				expanded.append(expanded.length() == 0 ? "" : ", ");
+				expanded.append(this.prefix);
+				expanded.append(name);
+			}
+			return expanded.toString();
 		}
-		return expanded.toString();
+
 	}
 
-	private String getCompositeMessage(List<ConditionOutcome> noMatchOutcomes) {
-		StringBuilder message = new StringBuilder();
-		for (ConditionOutcome noMatchOutcome : noMatchOutcomes) {
-			if (message.length() > 0) {
-				message.append(". ");
+	/**
+	 * {@link ConditionMessage} combining the messages of several outcomes that did not
+	 * match.
+	 */
+	private static final class CompositeMessage extends ConditionMessage {
+
+		private final List<ConditionOutcome> noMatchOutcomes;
+
+		private CompositeMessage(List<ConditionOutcome> noMatchOutcomes) {
+			this.noMatchOutcomes = noMatchOutcomes;
+		}
+
+		@Override
+		protected String format() {
+			StringBuilder message = new StringBuilder();
+			for (ConditionOutcome noMatchOutcome : this.noMatchOutcomes) {
+				if (message.length() > 0) {
+					message.append(". ");
+				}
+				message.append(noMatchOutcome.getMessage().trim());
 			}
-			message.append(noMatchOutcome.getMessage().trim());
+			return message.toString();
 		}
-		return message.toString();
+
 	}
 
 }
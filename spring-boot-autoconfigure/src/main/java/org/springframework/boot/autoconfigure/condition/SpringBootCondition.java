@@ -19,6 +19,7 @@ package org.springframework.boot.autoconfigure.condition;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.boot.startup.StartupTimeline;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.type.AnnotatedTypeMetadata;
@@ -43,6 +44,10 @@ public abstract class SpringBootCondition implements Condition {
 	public final boolean matches(ConditionContext context,
 			AnnotatedTypeMetadata metadata) {
 		String classOrMethodName = getClassOrMethodName(metadata);
+		StartupTimeline timeline = StartupTimeline.get();
+		int step = (timeline.isEnabled() ? timeline.start(
+				"condition:" + getClass().getSimpleName() + ":" + classOrMethodName)
+				: -1);
 		try {
 			ConditionOutcome outcome = getMatchOutcome(context, metadata);
 			logOutcome(classOrMethodName, outcome);
@@ -63,6 +68,9 @@ public abstract class SpringBootCondition implements Condition {
 			throw new IllegalStateException(
 					"Error processing condition on " + getName(metadata), ex);
 		}
+		finally {
+			timeline.end(step);
+		}
 	}
 
 	private String getName(AnnotatedTypeMetadata metadata) {
@@ -24,9 +24,8 @@ import java.util.Set;
 
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.boot.context.scan.IndexedCandidateComponentProvider;
 import org.springframework.context.ApplicationContext;
-import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
-import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
@@ -65,12 +64,12 @@ public class EntityScanner {
 			return Collections.<Class<?>>emptySet();
 		}
 		Set<Class<?>> entitySet = new HashSet<Class<?>>();
-		ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(
+		IndexedCandidateComponentProvider scanner = new IndexedCandidateComponentProvider(
 				false);
 		scanner.setEnvironment(this.context.getEnvironment());
 		scanner.setResourceLoader(this.context);
 		for (Class<? extends Annotation> annotationType : annotationTypes) {
-			scanner.addIncludeFilter(new AnnotationTypeFilter(annotationType));
+			scanner.addIncludeAnnotationType(annotationType);
 		}
 		for (String basePackage : packages) {
 			if (StringUtils.hasText(basePackage)) {
@@ -20,6 +20,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.boot.bind.RelaxedPropertyResolver;
 import org.springframework.boot.context.event.ApplicationFailedEvent;
 import org.springframework.boot.logging.LogLevel;
 import org.springframework.context.ApplicationContextInitializer;
@@ -36,6 +37,8 @@ import org.springframework.core.ResolvableType;
  * {@link ApplicationContextInitializer} that writes the {@link ConditionEvaluationReport}
  * to the log. Reports are logged at the {@link LogLevel#DEBUG DEBUG} level unless there
  * was a problem, in which case they are the {@link LogLevel#INFO INFO} level is used.
+ * Recording of conditions that matched can be disabled by setting
+ * {@code spring.autoconfigure.report.record-matches} to {@code false}.
  * <p>
  * This initializer is not intended to be shared across multiple application context
  * instances.
@@ -62,9 +65,16 @@ public class AutoConfigurationReportLoggingInitializer
 			// Get the report early in case the context fails to load
 			this.report = ConditionEvaluationReport
 					.get(this.applicationContext.getBeanFactory());
+			this.report.setRecordMatches(isRecordMatches(applicationContext));
 		}
 	}
 
+	private boolean isRecordMatches(ConfigurableApplicationContext applicationContext) {
+		RelaxedPropertyResolver resolver = new RelaxedPropertyResolver(
+				applicationContext.getEnvironment(), "spring.autoconfigure.report.");
+		return resolver.getProperty("record-matches", Boolean.class, true);
+	}
+
 	protected void onApplicationEvent(ApplicationEvent event) {
 		ConfigurableApplicationContext initializerApplicationContext = AutoConfigurationReportLoggingInitializer.this.applicationContext;
 		if (event instanceof ContextRefreshedEvent) {
@@ -143,15 +143,32 @@ public class TemplateAvailabilityProviders {
 		TemplateAvailabilityProvider provider = this.resolved.get(view);
 		if (provider == null) {
 			synchronized (this.cache) {
-				provider = findProvider(view, environment, classLoader, resourceLoader);
-				provider = (provider == null ? NONE : provider);
-				this.resolved.put(view, provider);
-				this.cache.put(view, provider);
+				// Check again so that concurrent requests for the same view (for example
+				// a burst of error responses) only search for the template once
+				provider = this.resolved.get(view);
+				if (provider == null) {
+					provider = findProvider(view, environment, classLoader,
+							resourceLoader);
+					provider = (provider == null ? NONE : provider);
+					this.resolved.put(view, provider);
+					this.cache.put(view, provider);
+				}
 			}
 		}
 		return (provider == NONE ? null : provider);
 	}
 
+	/**
+	 * Clear the cache of resolved views so that templates are searched for again. Can be
+	 * used when templates may have been added or removed, for example after a restart.
+	 */
+	public void clearCache() {
+		synchronized (this.cache) {
+			this.resolved.clear();
+			this.cache.clear();
+		}
+	}
+
 	private TemplateAvailabilityProvider findProvider(String view,
 			Environment environment, ClassLoader classLoader,
 			ResourceLoader resourceLoader) {
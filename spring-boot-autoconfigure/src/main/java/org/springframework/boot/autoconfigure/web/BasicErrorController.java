@@ -19,6 +19,8 @@ package org.springframework.boot.autoconfigure.web;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -53,6 +55,10 @@ public class BasicErrorController extends AbstractErrorController {
 
 	private final ErrorProperties errorProperties;
 
+	private final AtomicLong stackTraceSecond = new AtomicLong();
+
+	private final AtomicInteger stackTraceCount = new AtomicInteger();
+
 	/**
 	 * Create a new {@link BasicErrorController} instance.
 	 * @param errorAttributes the error attributes
@@ -107,19 +113,33 @@ public class BasicErrorController extends AbstractErrorController {
 	 * @param request the source request
 	 * @param produces the media type produced (or {@code MediaType.ALL})
 	 * @return if the stacktrace attribute should be included
+	 * @see ErrorProperties#getMaxStacktracesPerSecond()
 	 */
 	protected boolean isIncludeStackTrace(HttpServletRequest request,
 			MediaType produces) {
 		IncludeStacktrace include = getErrorProperties().getIncludeStacktrace();
 		if (include == IncludeStacktrace.ALWAYS) {
-			return true;
+			return acquireStackTrace();
 		}
 		if (include == IncludeStacktrace.ON_TRACE_PARAM) {
-			return getTraceParameter(request);
+			return getTraceParameter(request) && acquireStackTrace();
 		}
 		return false;
 	}
 
+	private boolean acquireStackTrace() {
+		int limit = getErrorProperties().getMaxStacktracesPerSecond();
+		if (limit < 0) {
+			return true;
+		}
+		long second = System.currentTimeMillis() / 1000;
+		long current = this.stackTraceSecond.get();
+		if (current != second && this.stackTraceSecond.compareAndSet(current, second)) {
+			this.stackTraceCount.set(0);
+		}
+		return this.stackTraceCount.incrementAndGet() <= limit;
+	}
+
 	/**
 	 * Provide access to the error properties.
 	 * @return the error properties
@@ -19,14 +19,17 @@ package org.springframework.boot.autoconfigure.web;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.boot.autoconfigure.template.TemplateAvailabilityProvider;
 import org.springframework.boot.autoconfigure.template.TemplateAvailabilityProviders;
+import org.springframework.boot.bind.RelaxedPropertyResolver;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.Ordered;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatus.Series;
@@ -49,6 +52,8 @@ import org.springframework.web.servlet.View;
  * <li>{@code '/<templates>/error/4xx.<ext>'}</li>
  * <li>{@code '/<static>/error/4xx.html'}</li>
  * </ul>
+ * Static assets that are found (or not found) are cached unless the
+ * {@code spring.template.provider.cache} property is set to {@code false}.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -65,12 +70,20 @@ public class DefaultErrorViewResolver implements ErrorViewResolver, Ordered {
 		SERIES_VIEWS = Collections.unmodifiableMap(views);
 	}
 
+	private static final Resource NO_RESOURCE = new ByteArrayResource(new byte[0]);
+
 	private ApplicationContext applicationContext;
 
 	private final ResourceProperties resourceProperties;
 
 	private final TemplateAvailabilityProviders templateAvailabilityProviders;
 
+	/**
+	 * Static assets keyed by view name. Naturally bounded since view names are derived
+	 * from status codes.
+	 */
+	private final Map<String, Resource> resources = new ConcurrentHashMap<String, Resource>();
+
 	private int order = Ordered.LOWEST_PRECEDENCE;
 
 	/**
@@ -119,12 +132,35 @@ public class DefaultErrorViewResolver implements ErrorViewResolver, Ordered {
 	}
 
 	private ModelAndView resolveResource(String viewName, Map<String, Object> model) {
+		Resource resource = getResource(viewName);
+		if (resource != null) {
+			return new ModelAndView(new HtmlResourceView(resource), model);
+		}
+		return null;
+	}
+
+	private Resource getResource(String viewName) {
+		RelaxedPropertyResolver propertyResolver = new RelaxedPropertyResolver(
+				this.applicationContext.getEnvironment(), "spring.template.provider.");
+		if (!propertyResolver.getProperty("cache", Boolean.class, true)) {
+			return findResource(viewName);
+		}
+		Resource resource = this.resources.get(viewName);
+		if (resource == null) {
+			resource = findResource(viewName);
+			resource = (resource == null ? NO_RESOURCE : resource);
+			this.resources.put(viewName, resource);
+		}
+		return (resource == NO_RESOURCE ? null : resource);
+	}
+
+	private Resource findResource(String viewName) {
 		for (String location : this.resourceProperties.getStaticLocations()) {
 			try {
 				Resource resource = this.applicationContext.getResource(location);
 				resource = resource.createRelative(viewName + ".html");
 				if (resource.exists()) {
-					return new ModelAndView(new HtmlResourceView(resource), model);
+					return resource;
 				}
 			}
 			catch (Exception ex) {
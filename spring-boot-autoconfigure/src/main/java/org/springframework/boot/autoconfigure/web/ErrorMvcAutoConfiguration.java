@@ -16,6 +16,8 @@
 
 package org.springframework.boot.autoconfigure.web;
 
+import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -181,19 +183,42 @@ public class ErrorMvcAutoConfiguration {
 	}
 
 	/**
-	 * Simple {@link View} implementation that resolves variables as SpEL expressions.
+	 * Simple {@link View} implementation that resolves variables as SpEL expressions. The
+	 * template is compiled once so that rendering only evaluates SpEL for placeholders
+	 * that aren't plain model attribute names.
 	 */
 	private static class SpelView implements View {
 
-		private final NonRecursivePropertyPlaceholderHelper helper;
+		private static final String PREFIX = "${";
 
-		private final String template;
+		private static final String SUFFIX = "}";
 
-		private volatile Map<String, Expression> expressions;
+		private final List<Object> parts;
 
 		SpelView(String template) {
-			this.helper = new NonRecursivePropertyPlaceholderHelper("${", "}");
-			this.template = template;
+			this.parts = compile(template);
+		}
+
+		private static List<Object> compile(String template) {
+			NonRecursivePropertyPlaceholderHelper helper = new NonRecursivePropertyPlaceholderHelper(
+					PREFIX, SUFFIX);
+			PlaceholderCollector collector = new PlaceholderCollector();
+			helper.replacePlaceholders(template, collector);
+			List<Object> parts = new ArrayList<Object>();
+			int index = 0;
+			for (Placeholder placeholder : collector.getPlaceholders()) {
+				String text = PREFIX + placeholder.getName() + SUFFIX;
+				int start = template.indexOf(text, index);
+				if (start > index) {
+					parts.add(template.substring(index, start));
+				}
+				parts.add(placeholder);
+				index = start + text.length();
+			}
+			if (index < template.length()) {
+				parts.add(template.substring(index));
+			}
+			return Collections.unmodifiableList(parts);
 		}
 
 		@Override
@@ -207,76 +232,133 @@ public class ErrorMvcAutoConfiguration {
 			if (response.getContentType() == null) {
 				response.setContentType(getContentType());
 			}
-			Map<String, Object> map = new HashMap<String, Object>(model);
-			map.put("path", request.getContextPath());
-			PlaceholderResolver resolver = new ExpressionResolver(getExpressions(), map);
-			String result = this.helper.replacePlaceholders(this.template, resolver);
-			response.getWriter().append(result);
-		}
-
-		private Map<String, Expression> getExpressions() {
-			if (this.expressions == null) {
-				synchronized (this) {
-					ExpressionCollector expressionCollector = new ExpressionCollector();
-					this.helper.replacePlaceholders(this.template, expressionCollector);
-					this.expressions = expressionCollector.getExpressions();
+			PlaceholderValues values = new PlaceholderValues(model,
+					request.getContextPath());
+			PrintWriter writer = response.getWriter();
+			for (Object part : this.parts) {
+				if (part instanceof Placeholder) {
+					writer.append(values.resolve((Placeholder) part));
+				}
+				else {
+					writer.append((String) part);
 				}
 			}
-			return this.expressions;
 		}
 
 	}
 
 	/**
-	 * {@link PlaceholderResolver} to collect placeholder expressions.
+	 * {@link PlaceholderResolver} to collect placeholders in the order that they appear.
 	 */
-	private static class ExpressionCollector implements PlaceholderResolver {
+	private static class PlaceholderCollector implements PlaceholderResolver {
 
 		private final SpelExpressionParser parser = new SpelExpressionParser();
 
-		private final Map<String, Expression> expressions = new HashMap<String, Expression>();
+		private final List<Placeholder> placeholders = new ArrayList<Placeholder>();
 
 		@Override
 		public String resolvePlaceholder(String name) {
-			this.expressions.put(name, this.parser.parseExpression(name));
+			this.placeholders.add(new Placeholder(name, this.parser.parseExpression(name)));
 			return null;
 		}
 
-		public Map<String, Expression> getExpressions() {
-			return Collections.unmodifiableMap(this.expressions);
+		public List<Placeholder> getPlaceholders() {
+			return this.placeholders;
 		}
 
 	}
 
 	/**
-	 * SpEL based {@link PlaceholderResolver}.
+	 * A placeholder in a {@link SpelView} template.
 	 */
-	private static class ExpressionResolver implements PlaceholderResolver {
+	private static class Placeholder {
+
+		private final String name;
 
-		private final Map<String, Expression> expressions;
+		private final Expression expression;
 
-		private final EvaluationContext context;
+		private final boolean attributeName;
 
-		ExpressionResolver(Map<String, Expression> expressions, Map<String, ?> map) {
-			this.expressions = expressions;
-			this.context = getContext(map);
+		Placeholder(String name, Expression expression) {
+			this.name = name;
+			this.expression = expression;
+			this.attributeName = isAttributeName(name);
 		}
 
-		private EvaluationContext getContext(Map<String, ?> map) {
-			StandardEvaluationContext context = new StandardEvaluationContext();
-			context.addPropertyAccessor(new MapAccessor());
-			context.setRootObject(map);
-			return context;
+		private boolean isAttributeName(String name) {
+			if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+				return false;
+			}
+			for (int i = 1; i < name.length(); i++) {
+				if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+					return false;
+				}
+			}
+			return true;
 		}
 
-		@Override
-		public String resolvePlaceholder(String placeholderName) {
-			Expression expression = this.expressions.get(placeholderName);
-			return escape(expression == null ? null : expression.getValue(this.context));
+		public String getName() {
+			return this.name;
+		}
+
+		public Expression getExpression() {
+			return this.expression;
+		}
+
+		public boolean isAttributeName() {
+			return this.attributeName;
+		}
+
+	}
+
+	/**
+	 * Resolves {@link Placeholder} values for a single render, reading plain attribute
+	 * names directly from the model and only creating a SpEL context when needed.
+	 */
+	private static class PlaceholderValues {
+
+		private final Map<String, ?> model;
+
+		private final String path;
+
+		private EvaluationContext context;
+
+		PlaceholderValues(Map<String, ?> model, String path) {
+			this.model = model;
+			this.path = path;
 		}
 
-		private String escape(Object value) {
-			return HtmlUtils.htmlEscape(value == null ? null : value.toString());
+		public String resolve(Placeholder placeholder) {
+			Object value = getValue(placeholder);
+			if (value == null) {
+				// Leave unresolved placeholders as they are
+				return SpelView.PREFIX + placeholder.getName() + SpelView.SUFFIX;
+			}
+			return HtmlUtils.htmlEscape(value.toString());
+		}
+
+		private Object getValue(Placeholder placeholder) {
+			if (placeholder.isAttributeName()) {
+				if ("path".equals(placeholder.getName())) {
+					return this.path;
+				}
+				if (this.model.containsKey(placeholder.getName())) {
+					return this.model.get(placeholder.getName());
+				}
+			}
+			return placeholder.getExpression().getValue(getContext());
+		}
+
+		private EvaluationContext getContext() {
+			if (this.context == null) {
+				Map<String, Object> map = new HashMap<String, Object>(this.model);
+				map.put("path", this.path);
+				StandardEvaluationContext context = new StandardEvaluationContext();
+				context.addPropertyAccessor(new MapAccessor());
+				context.setRootObject(map);
+				this.context = context;
+			}
+			return this.context;
 		}
 
 	}
@@ -38,6 +38,13 @@ public class ErrorProperties {
 	 */
 	private IncludeStacktrace includeStacktrace = IncludeStacktrace.NEVER;
 
+	/**
+	 * Maximum number of "stacktrace" attributes to include per second across all error
+	 * responses. Further errors within the same second omit the attribute. A negative
+	 * value means no limit.
+	 */
+	private int maxStacktracesPerSecond = -1;
+
 	public String getPath() {
 		return this.path;
 	}
@@ -54,6 +61,14 @@ public class ErrorProperties {
 		this.includeStacktrace = includeStacktrace;
 	}
 
+	public int getMaxStacktracesPerSecond() {
+		return this.maxStacktracesPerSecond;
+	}
+
+	public void setMaxStacktracesPerSecond(int maxStacktracesPerSecond) {
+		this.maxStacktracesPerSecond = maxStacktracesPerSecond;
+	}
+
 	/**
 	 * Include Stacktrace attribute options.
 	 */
@@ -18,6 +18,7 @@ package org.springframework.boot.autoconfigure;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Properties;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -26,8 +27,11 @@ import org.junit.rules.ExpectedException;
 
 import org.springframework.core.Ordered;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
  * Tests for {@link AutoConfigurationSorter}.
@@ -57,7 +61,8 @@ public class AutoConfigurationSorterTests {
 
 	@Before
 	public void setup() {
-		this.sorter = new AutoConfigurationSorter(new CachingMetadataReaderFactory());
+		this.sorter = new AutoConfigurationSorter(new CachingMetadataReaderFactory(),
+				null);
 	}
 
 	@Test
@@ -120,6 +125,38 @@ public class AutoConfigurationSorterTests {
 		this.sorter.getInPriorityOrder(Arrays.asList(A, B, C, D));
 	}
 
+	@Test
+	public void byMetadataWithoutReadingClasses() throws Exception {
+		MetadataReaderFactory metadataReaderFactory = mock(MetadataReaderFactory.class);
+		Properties properties = new Properties();
+		properties.put("test.A", "");
+		properties.put("test.A.AutoConfigureAfter", "test.B");
+		properties.put("test.B", "");
+		properties.put("test.C", "");
+		properties.put("test.C.AutoConfigureBefore", "test.B");
+		properties.put("test.D", "");
+		properties.put("test.D.AutoConfigureOrder",
+				String.valueOf(Ordered.HIGHEST_PRECEDENCE));
+		this.sorter = new AutoConfigurationSorter(metadataReaderFactory,
+				AutoConfigurationMetadataLoader.loadMetadata(properties));
+		List<String> actual = this.sorter
+				.getInPriorityOrder(Arrays.asList("test.A", "test.B", "test.C", "test.D"));
+		assertThat(actual).containsExactly("test.D", "test.C", "test.B", "test.A");
+		verifyZeroInteractions(metadataReaderFactory);
+	}
+
+	@Test
+	public void byMetadataFallsBackToClassWhenNotProcessed() throws Exception {
+		Properties properties = new Properties();
+		properties.put(B, "");
+		properties.put(B + ".AutoConfigureAfter", LOWEST);
+		this.sorter = new AutoConfigurationSorter(new CachingMetadataReaderFactory(),
+				AutoConfigurationMetadataLoader.loadMetadata(properties));
+		List<String> actual = this.sorter
+				.getInPriorityOrder(Arrays.asList(A, B, LOWEST));
+		assertThat(actual).containsExactly(LOWEST, B, A);
+	}
+
 	@AutoConfigureOrder(Ordered.LOWEST_PRECEDENCE)
 	public static class OrderLowest {
 
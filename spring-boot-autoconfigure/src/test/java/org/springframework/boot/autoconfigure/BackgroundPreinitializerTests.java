@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.boot.autoconfigure.BackgroundPreinitializer.Preinitialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BackgroundPreinitializer}.
+ *
+ * @author agent
+ */
+public class BackgroundPreinitializerTests {
+
+	private static final List<String> calls = Collections
+			.synchronizedList(new ArrayList<String>());
+
+	@Before
+	public void reset() {
+		calls.clear();
+	}
+
+	@Test
+	public void runsAllPreinitializers() throws Exception {
+		new Preinitialization(Arrays.asList(new First(), new Failing(), new Third()))
+				.run();
+		assertThat(calls).containsOnly("first", "failing", "third");
+	}
+
+	@Test
+	public void runsAfterHintedPreinitializers() throws Exception {
+		new Preinitialization(Arrays.asList(new Second(), new Third(), new First()))
+				.run();
+		assertThat(calls).containsExactly("first", "second", "third");
+	}
+
+	@Test
+	public void ignoresHintsForMissingPreinitializers() throws Exception {
+		new Preinitialization(Arrays.asList(new Third())).run();
+		assertThat(calls).containsExactly("third");
+	}
+
+	@Test
+	public void ignoresCyclicHints() throws Exception {
+		new Preinitialization(Arrays.asList(new CycleA(), new CycleB())).run();
+		assertThat(calls).containsOnly("cycleA", "cycleB");
+	}
+
+	static class First implements Preinitializer {
+
+		@Override
+		public void preinitialize() {
+			try {
+				Thread.sleep(100);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			calls.add("first");
+		}
+
+	}
+
+	@PreinitializeAfter(First.class)
+	static class Second implements Preinitializer {
+
+		@Override
+		public void preinitialize() {
+			calls.add("second");
+		}
+
+	}
+
+	@PreinitializeAfter({ First.class, Second.class })
+	static class Third implements Preinitializer {
+
+		@Override
+		public void preinitialize() {
+			calls.add("third");
+		}
+
+	}
+
+	static class Failing implements Preinitializer {
+
+		@Override
+		public void preinitialize() {
+			calls.add("failing");
+			throw new IllegalStateException("Failed");
+		}
+
+	}
+
+	@PreinitializeAfter(CycleB.class)
+	static class CycleA implements Preinitializer {
+
+		@Override
+		public void preinitialize() {
+			calls.add("cycleA");
+		}
+
+	}
+
+	@PreinitializeAfter(CycleA.class)
+	static class CycleB implements Preinitializer {
+
+		@Override
+		public void preinitialize() {
+			calls.add("cycleB");
+		}
+
+	}
+
+}
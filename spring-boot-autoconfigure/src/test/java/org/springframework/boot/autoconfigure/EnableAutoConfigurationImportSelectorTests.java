@@ -16,13 +16,19 @@
 
 package org.springframework.boot.autoconfigure;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
@@ -33,11 +39,17 @@ import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.mock.env.MockEnvironment;
 import org.springframework.util.StringUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
  * Tests for {@link EnableAutoConfigurationImportSelector}
@@ -64,9 +76,7 @@ public class EnableAutoConfigurationImportSelectorTests {
 	@Before
 	public void setup() {
 		MockitoAnnotations.initMocks(this);
-		this.importSelector.setBeanFactory(this.beanFactory);
-		this.importSelector.setEnvironment(this.environment);
-		this.importSelector.setResourceLoader(new DefaultResourceLoader());
+		configure(this.importSelector);
 	}
 
 	@Test
@@ -167,6 +177,66 @@ public class EnableAutoConfigurationImportSelectorTests {
 		assertThat(imports).isEmpty();
 	}
 
+	@Test
+	public void filtersAreApplied() {
+		configureExclusions(new String[0], new String[0], new String[0]);
+		TestEnableAutoConfigurationImportSelector importSelector = new TestEnableAutoConfigurationImportSelector();
+		configure(importSelector);
+		TestFilter filter = new TestFilter(FreeMarkerAutoConfiguration.class.getName(),
+				VelocityAutoConfiguration.class.getName());
+		importSelector.filters.add(filter);
+		importSelector.filters
+				.add(new TestFilter(ThymeleafAutoConfiguration.class.getName()));
+		String[] imports = importSelector.selectImports(this.annotationMetadata);
+		assertThat(imports).hasSize(getAutoConfigurationClassNames().size() - 3);
+		assertThat(imports).doesNotContain(FreeMarkerAutoConfiguration.class.getName(),
+				VelocityAutoConfiguration.class.getName(),
+				ThymeleafAutoConfiguration.class.getName());
+		assertThat(filter.beanFactory).isSameAs(this.beanFactory);
+	}
+
+	@Test
+	public void filtersAreLoadedFromSpringFactories() {
+		List<AutoConfigurationImportFilter> filters = new EnableAutoConfigurationImportSelector()
+				.getAutoConfigurationImportFilters();
+		assertThat(filters).hasSize(1);
+		assertThat(filters.get(0).getClass().getName()).isEqualTo(
+				"org.springframework.boot.autoconfigure.condition.OnClassCondition");
+	}
+
+	@Test
+	public void sortedImportsAreReusedForSameCandidates() throws Exception {
+		configureExclusions(new String[0], new String[0], new String[0]);
+		MetadataReaderFactory metadataReaderFactory = spy(
+				new CachingMetadataReaderFactory());
+		this.beanFactory.registerSingleton(
+				SharedMetadataReaderFactoryContextInitializer.BEAN_NAME,
+				metadataReaderFactory);
+		List<String> candidates = Arrays.asList(FirstConfiguration.class.getName(),
+				SecondConfiguration.class.getName());
+		String[] imports = selectImports(candidates);
+		assertThat(imports).containsExactly(SecondConfiguration.class.getName(),
+				FirstConfiguration.class.getName());
+		verify(metadataReaderFactory)
+				.getMetadataReader(FirstConfiguration.class.getName());
+		reset(metadataReaderFactory);
+		assertThat(selectImports(candidates)).containsExactly(imports);
+		verifyZeroInteractions(metadataReaderFactory);
+	}
+
+	private String[] selectImports(List<String> candidates) {
+		TestEnableAutoConfigurationImportSelector importSelector = new TestEnableAutoConfigurationImportSelector();
+		configure(importSelector);
+		importSelector.candidates = candidates;
+		return importSelector.selectImports(this.annotationMetadata);
+	}
+
+	private void configure(EnableAutoConfigurationImportSelector importSelector) {
+		importSelector.setBeanFactory(this.beanFactory);
+		importSelector.setEnvironment(this.environment);
+		importSelector.setResourceLoader(new DefaultResourceLoader());
+	}
+
 	private void configureExclusions(String[] classExclusion, String[] nameExclusion,
 			String[] propertyExclusion) {
 		String annotationName = EnableAutoConfiguration.class.getName();
@@ -188,4 +258,64 @@ public class EnableAutoConfigurationImportSelectorTests {
 				getClass().getClassLoader());
 	}
 
+	private static class TestEnableAutoConfigurationImportSelector
+			extends EnableAutoConfigurationImportSelector {
+
+		private final List<AutoConfigurationImportFilter> filters = new ArrayList<AutoConfigurationImportFilter>();
+
+		private List<String> candidates;
+
+		@Override
+		protected List<String> getCandidateConfigurations(AnnotationMetadata metadata,
+				AnnotationAttributes attributes) {
+			if (this.candidates != null) {
+				return new ArrayList<String>(this.candidates);
+			}
+			return super.getCandidateConfigurations(metadata, attributes);
+		}
+
+		@Override
+		protected List<AutoConfigurationImportFilter> getAutoConfigurationImportFilters() {
+			return this.filters;
+		}
+
+	}
+
+	private static class TestFilter
+			implements AutoConfigurationImportFilter, BeanFactoryAware {
+
+		private final Set<String> nonMatching;
+
+		private BeanFactory beanFactory;
+
+		TestFilter(String... nonMatching) {
+			this.nonMatching = new HashSet<String>(Arrays.asList(nonMatching));
+		}
+
+		@Override
+		public boolean[] match(String[] autoConfigurationClasses,
+				AutoConfigurationMetadata autoConfigurationMetadata) {
+			boolean[] result = new boolean[autoConfigurationClasses.length];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = !this.nonMatching.contains(autoConfigurationClasses[i]);
+			}
+			return result;
+		}
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+
+	}
+
+	@AutoConfigureAfter(SecondConfiguration.class)
+	static class FirstConfiguration {
+
+	}
+
+	static class SecondConfiguration {
+
+	}
+
 }
@@ -26,7 +26,7 @@ import org.springframework.core.type.classreading.MetadataReaderFactory;
 public class TestAutoConfigurationSorter extends AutoConfigurationSorter {
 
 	public TestAutoConfigurationSorter(MetadataReaderFactory metadataReaderFactory) {
-		super(metadataReaderFactory);
+		super(metadataReaderFactory, null);
 	}
 
 }
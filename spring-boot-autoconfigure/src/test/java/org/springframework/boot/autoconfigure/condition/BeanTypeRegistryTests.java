@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.io.Serializable;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BeanTypeRegistry}.
+ *
+ * @author agent
+ */
+public class BeanTypeRegistryTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	@Test
+	public void getNamesForTypeShouldMatchClassHierarchy() throws Exception {
+		register("example", ExampleBean.class);
+		register("other", OtherBean.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(ExampleBean.class))
+				.containsExactly("example");
+		assertThat(registry.getNamesForType(BaseBean.class)).containsExactly("example");
+		assertThat(registry.getNamesForType(ExampleInterface.class))
+				.containsExactly("example", "other");
+		assertThat(registry.getNamesForType(ExampleParentInterface.class))
+				.containsExactly("example", "other");
+		assertThat(registry.getNamesForType(Serializable.class)).isEmpty();
+		assertThat(registry.getNamesForType(Object.class)).contains("example",
+				"other");
+	}
+
+	@Test
+	public void getNamesForTypeShouldIncludeLaterDefinitions() throws Exception {
+		register("example", ExampleBean.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(ExampleInterface.class))
+				.containsExactly("example");
+		register("other", OtherBean.class);
+		assertThat(registry.getNamesForType(ExampleInterface.class))
+				.containsExactly("example", "other");
+	}
+
+	@Test
+	public void getNamesForTypeShouldMatchArraySingletons() throws Exception {
+		this.beanFactory.registerSingleton("strings", new String[0]);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(Object[].class)).containsExactly("strings");
+		assertThat(registry.getNamesForType(CharSequence[].class))
+				.containsExactly("strings");
+		assertThat(registry.getNamesForType(Serializable.class))
+				.containsExactly("strings");
+		assertThat(registry.getNamesForType(String.class)).isEmpty();
+	}
+
+	private void register(String name, Class<?> type) {
+		this.beanFactory.registerBeanDefinition(name, new RootBeanDefinition(type));
+	}
+
+	interface ExampleParentInterface {
+
+	}
+
+	interface ExampleInterface extends ExampleParentInterface {
+
+	}
+
+	static class BaseBean implements ExampleInterface {
+
+	}
+
+	static class ExampleBean extends BaseBean {
+
+	}
+
+	static class OtherBean implements ExampleInterface {
+
+	}
+
+}
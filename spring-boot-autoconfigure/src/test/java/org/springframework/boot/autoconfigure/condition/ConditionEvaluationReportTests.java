@@ -199,6 +199,37 @@ public class ConditionEvaluationReportTests {
 		assertThat(getNumberOfOutcomes(outcomes)).isEqualTo(2);
 	}
 
+	@Test
+	public void recordMatchesDisabled() throws Exception {
+		this.report.setRecordMatches(false);
+		prepareMatches(true, false, true);
+		this.report.recordConditionEvaluation("b", this.condition1,
+				new ConditionOutcome(true, "m4"));
+		Map<String, ConditionAndOutcomes> map = this.report
+				.getConditionAndOutcomesBySource();
+		assertThat(map).containsOnlyKeys("a");
+		Iterator<ConditionAndOutcome> iterator = map.get("a").iterator();
+		assertThat(iterator.next().getOutcome()).isEqualTo(this.outcome2);
+		assertThat(iterator.hasNext()).isFalse();
+	}
+
+	@Test
+	public void conditionMessageIsFormattedLazily() throws Exception {
+		TestConditionMessage message = new TestConditionMessage("Message");
+		this.report.recordConditionEvaluation("a", this.condition1,
+				ConditionOutcome.match(message));
+		this.report.recordConditionEvaluation("a", this.condition1,
+				ConditionOutcome.match(message));
+		ConditionAndOutcomes outcomes = this.report.getConditionAndOutcomesBySource()
+				.get("a");
+		assertThat(outcomes.isFullMatch()).isTrue();
+		assertThat(message.formatCount).isEqualTo(0);
+		assertThat(getNumberOfOutcomes(outcomes)).isEqualTo(1);
+		assertThat(outcomes.iterator().next().getOutcome().getMessage())
+				.isEqualTo("Message");
+		assertThat(message.formatCount).isEqualTo(1);
+	}
+
 	@Test
 	public void duplicateOutcomes() {
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
@@ -335,4 +366,22 @@ public class ConditionEvaluationReportTests {
 
 	}
 
+	private static class TestConditionMessage extends ConditionMessage {
+
+		private final String message;
+
+		private int formatCount;
+
+		TestConditionMessage(String message) {
+			this.message = message;
+		}
+
+		@Override
+		protected String format() {
+			this.formatCount++;
+			return this.message;
+		}
+
+	}
+
 }
@@ -26,6 +26,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport.ConditionAndOutcomes;
 import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -70,6 +71,17 @@ public class ConditionalOnPropertyTests {
 		assertThat(this.context.containsBean("foo")).isFalse();
 	}
 
+	@Test
+	public void noMatchMessage() {
+		load(MultiplePropertiesRequiredConfiguration.class, "property1=false");
+		ConditionAndOutcomes outcomes = ConditionEvaluationReport
+				.get(this.context.getBeanFactory()).getConditionAndOutcomesBySource()
+				.get(MultiplePropertiesRequiredConfiguration.class.getName());
+		assertThat(outcomes.iterator().next().getOutcome().getMessage())
+				.isEqualTo("@ConditionalOnProperty missing required properties "
+						+ "property2 expected '!false' for properties property1");
+	}
+
 	@Test
 	public void propertyValueEqualsFalse() {
 		load(MultiplePropertiesRequiredConfiguration.class, "property1=false",
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the {@link AutoConfigurationImportFilter} part of {@link OnClassCondition}.
+ *
+ * @author agent
+ */
+public class OnClassConditionAutoConfigurationImportFilterTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final OnClassCondition filter = new OnClassCondition();
+
+	private final ConfigurableListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	private final AutoConfigurationMetadata metadata = mock(
+			AutoConfigurationMetadata.class);
+
+	@Before
+	public void setup() {
+		this.filter.setBeanClassLoader(getClass().getClassLoader());
+		this.filter.setBeanFactory(this.beanFactory);
+		given(this.metadata.get("test.match", "ConditionalOnClass"))
+				.willReturn(getClass().getName() + ",java.io.InputStream");
+		given(this.metadata.get("test.nomatch", "ConditionalOnClass"))
+				.willReturn(getClass().getName() + ",com.example.DoesNotExist");
+	}
+
+	@Test
+	public void matchShouldMatchClasses() throws Exception {
+		String[] autoConfigurationClasses = new String[] { "test.match",
+				"test.nomatch", "test.unprocessed" };
+		boolean[] result = this.filter.match(autoConfigurationClasses, this.metadata);
+		assertThat(result).containsExactly(true, false, true);
+	}
+
+	@Test
+	public void matchShouldMatchManyClassesInOrder() throws Exception {
+		String[] autoConfigurationClasses = new String[40];
+		boolean[] expected = new boolean[autoConfigurationClasses.length];
+		for (int i = 0; i < autoConfigurationClasses.length; i++) {
+			expected[i] = (i % 3 != 0);
+			autoConfigurationClasses[i] = (expected[i] ? "test.match" : "test.nomatch");
+		}
+		boolean[] result = this.filter.match(autoConfigurationClasses, this.metadata);
+		assertThat(result).containsExactly(expected);
+	}
+
+	@Test
+	public void matchWhenBackgroundResolutionFailsShouldThrow() throws Exception {
+		String[] autoConfigurationClasses = new String[20];
+		Arrays.fill(autoConfigurationClasses, "test.match");
+		autoConfigurationClasses[0] = "test.fail";
+		given(this.metadata.get("test.fail", "ConditionalOnClass"))
+				.willThrow(new IllegalStateException("Failed"));
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("Failed");
+		this.filter.match(autoConfigurationClasses, this.metadata);
+	}
+
+	@Test
+	public void matchShouldRecordOutcome() throws Exception {
+		String[] autoConfigurationClasses = new String[] { "test.match",
+				"test.nomatch" };
+		this.filter.match(autoConfigurationClasses, this.metadata);
+		ConditionEvaluationReport report = ConditionEvaluationReport
+				.get(this.beanFactory);
+		assertThat(report.getConditionAndOutcomesBySource()).hasSize(1)
+				.containsKey("test.nomatch");
+		assertThat(report.getConditionAndOutcomesBySource().get("test.nomatch")
+				.isFullMatch()).isFalse();
+	}
+
+}
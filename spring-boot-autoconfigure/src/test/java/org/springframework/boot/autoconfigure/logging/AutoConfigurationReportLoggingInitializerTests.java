@@ -34,9 +34,11 @@ import org.mockito.stubbing.Answer;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.PropertyPlaceholderAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport.ConditionAndOutcomes;
 import org.springframework.boot.autoconfigure.web.HttpMessageConvertersAutoConfiguration;
 import org.springframework.boot.autoconfigure.web.WebMvcAutoConfiguration;
 import org.springframework.boot.context.event.ApplicationFailedEvent;
+import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -179,6 +181,24 @@ public class AutoConfigurationReportLoggingInitializerTests {
 		assertThat(context.getBean(ConditionEvaluationReport.class)).isNotNull();
 	}
 
+	@Test
+	public void recordMatchesCanBeDisabled() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(context,
+				"spring.autoconfigure.report.record-matches:false");
+		this.initializer.initialize(context);
+		context.register(Config.class);
+		context.refresh();
+		ConditionEvaluationReport report = ConditionEvaluationReport
+				.get(context.getBeanFactory());
+		assertThat(report.isRecordMatches()).isFalse();
+		assertThat(report.getConditionAndOutcomesBySource()).isNotEmpty();
+		for (ConditionAndOutcomes outcomes : report.getConditionAndOutcomesBySource()
+				.values()) {
+			assertThat(outcomes.isFullMatch()).isFalse();
+		}
+	}
+
 	@Test
 	public void canBeUsedInNonGenericApplicationContext() throws Exception {
 		AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
@@ -195,6 +195,20 @@ public class TemplateAvailabilityProvidersTests {
 				this.classLoader, this.resourceLoader);
 	}
 
+	@Test
+	public void getProviderWhenCacheClearedShouldFindProviderAgain() throws Exception {
+		this.providers.getProvider(this.view, this.environment, this.classLoader,
+				this.resourceLoader);
+		given(this.provider.isTemplateAvailable(this.view, this.environment,
+				this.classLoader, this.resourceLoader)).willReturn(true);
+		this.providers.clearCache();
+		TemplateAvailabilityProvider found = this.providers.getProvider(this.view,
+				this.environment, this.classLoader, this.resourceLoader);
+		assertThat(found).isSameAs(this.provider);
+		verify(this.provider, times(2)).isTemplateAvailable(this.view, this.environment,
+				this.classLoader, this.resourceLoader);
+	}
+
 	@Test
 	public void getProviderWhenCacheDisabledShouldNotUseCache() throws Exception {
 		given(this.provider.isTemplateAvailable(this.view, this.environment,
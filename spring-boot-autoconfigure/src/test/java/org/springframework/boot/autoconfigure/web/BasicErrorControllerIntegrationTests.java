@@ -124,6 +124,18 @@ public class BasicErrorControllerIntegrationTests {
 		assertThat(entity.getBody().containsKey("trace")).isTrue();
 	}
 
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void testErrorForMachineClientStacktraceLimitReached() throws Exception {
+		load("--server.error.include-stacktrace=always",
+				"--server.error.max-stacktraces-per-second=0");
+		ResponseEntity<Map> entity = new TestRestTemplate()
+				.getForEntity(createUrl("?trace=true"), Map.class);
+		assertErrorAttributes(entity.getBody(), "500", "Internal Server Error",
+				IllegalStateException.class, "Expected!", "/");
+		assertThat(entity.getBody().containsKey("trace")).isFalse();
+	}
+
 	@Test
 	@SuppressWarnings("rawtypes")
 	public void testErrorForAnnotatedException() throws Exception {
@@ -31,6 +31,7 @@ import org.mockito.MockitoAnnotations;
 
 import org.springframework.boot.autoconfigure.template.TemplateAvailabilityProvider;
 import org.springframework.boot.autoconfigure.template.TemplateAvailabilityProviders;
+import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.core.Ordered;
@@ -198,6 +199,35 @@ public class DefaultErrorViewResolverTests {
 		assertThat(response.getContentType()).isEqualTo(MediaType.TEXT_HTML_VALUE);
 	}
 
+	@Test
+	public void resolveWhenResourceMatchShouldCacheResource() throws Exception {
+		setResourceLocation("/exact");
+		this.resolver.resolveErrorView(this.request, HttpStatus.NOT_FOUND, this.model);
+		setResourceLocation("/4xx");
+		ModelAndView resolved = this.resolver.resolveErrorView(this.request,
+				HttpStatus.NOT_FOUND, this.model);
+		MockHttpServletResponse response = render(resolved);
+		assertThat(response.getContentAsString().trim()).isEqualTo("exact/404");
+	}
+
+	@Test
+	public void resolveWhenCacheDisabledShouldNotCacheResource() throws Exception {
+		AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(applicationContext,
+				"spring.template.provider.cache:false");
+		applicationContext.refresh();
+		this.resolver = new DefaultErrorViewResolver(applicationContext,
+				this.resourceProperties, new TestTemplateAvailabilityProviders(
+						this.templateAvailabilityProvider));
+		setResourceLocation("/exact");
+		this.resolver.resolveErrorView(this.request, HttpStatus.NOT_FOUND, this.model);
+		setResourceLocation("/4xx");
+		ModelAndView resolved = this.resolver.resolveErrorView(this.request,
+				HttpStatus.NOT_FOUND, this.model);
+		MockHttpServletResponse response = render(resolved);
+		assertThat(response.getContentAsString().trim()).isEqualTo("4xx/4xx");
+	}
+
 	@Test
 	public void orderShouldBeLowest() throws Exception {
 		assertThat(this.resolver.getOrder()).isEqualTo(Ordered.LOWEST_PRECEDENCE);
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sample.lazy;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bean that, like many real beans, takes some time and memory to create.
+ *
+ * @author agent
+ */
+public class SampleBean {
+
+	private static final AtomicInteger instances = new AtomicInteger();
+
+	private final byte[] data = new byte[16 * 1024];
+
+	public SampleBean(int seed) {
+		new Random(seed).nextBytes(this.data);
+		instances.incrementAndGet();
+	}
+
+	public byte[] getData() {
+		return this.data;
+	}
+
+	public static int getInstances() {
+		return instances.get();
+	}
+
+}
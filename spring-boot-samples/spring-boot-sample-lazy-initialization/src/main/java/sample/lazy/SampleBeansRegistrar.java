@@ -0,0 +1,47 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sample.lazy;
+
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.type.AnnotationMetadata;
+
+/**
+ * Registers {@link #BEAN_COUNT} {@link SampleBean} definitions.
+ *
+ * @author agent
+ */
+public class SampleBeansRegistrar implements ImportBeanDefinitionRegistrar {
+
+	/**
+	 * The number of beans that are registered.
+	 */
+	public static final int BEAN_COUNT = 1000;
+
+	@Override
+	public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata,
+			BeanDefinitionRegistry registry) {
+		for (int i = 0; i < BEAN_COUNT; i++) {
+			GenericBeanDefinition definition = new GenericBeanDefinition();
+			definition.setBeanClass(SampleBean.class);
+			definition.getConstructorArgumentValues().addGenericArgumentValue(i);
+			registry.registerBeanDefinition("sampleBean" + i, definition);
+		}
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sample.lazy;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+@SpringBootApplication
+@Import(SampleBeansRegistrar.class)
+public class SampleLazyInitializationApplication implements CommandLineRunner {
+
+	// Compare the output of running with and without lazy initialization
+	// ('--spring.main.lazy-initialization=false') to see the difference in startup
+	// time and heap used
+
+	@Override
+	public void run(String... args) {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		memory.gc();
+		System.out.println(String.format(
+				"Created %d of %d sample beans, started in %dms with %dKB heap used",
+				SampleBean.getInstances(), SampleBeansRegistrar.BEAN_COUNT,
+				ManagementFactory.getRuntimeMXBean().getUptime(),
+				memory.getHeapMemoryUsage().getUsed() / 1024));
+	}
+
+	public static void main(String[] args) throws Exception {
+		SpringApplication.run(SampleLazyInitializationApplication.class, args);
+	}
+
+}
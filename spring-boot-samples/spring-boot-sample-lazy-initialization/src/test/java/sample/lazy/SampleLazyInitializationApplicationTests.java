@@ -0,0 +1,54 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sample.lazy;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.springframework.boot.test.rule.OutputCapture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SampleLazyInitializationApplication}.
+ *
+ * @author agent
+ */
+public class SampleLazyInitializationApplicationTests {
+
+	@Rule
+	public OutputCapture outputCapture = new OutputCapture();
+
+	@Test
+	public void beansAreCreatedLazily() throws Exception {
+		int instances = SampleBean.getInstances();
+		SampleLazyInitializationApplication.main(new String[0]);
+		assertThat(SampleBean.getInstances()).isEqualTo(instances);
+		assertThat(this.outputCapture.toString()).contains("sample beans");
+	}
+
+	@Test
+	public void beansAreCreatedEagerlyWhenLazyInitializationIsDisabled()
+			throws Exception {
+		int instances = SampleBean.getInstances();
+		SampleLazyInitializationApplication
+				.main(new String[] { "--spring.main.lazy-initialization=false" });
+		assertThat(SampleBean.getInstances())
+				.isEqualTo(instances + SampleBeansRegistrar.BEAN_COUNT);
+	}
+
+}
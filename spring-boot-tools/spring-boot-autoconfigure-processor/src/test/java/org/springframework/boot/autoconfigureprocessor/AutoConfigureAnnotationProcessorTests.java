@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigureprocessor;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Properties;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AutoConfigureAnnotationProcessor}.
+ *
+ * @author agent
+ */
+public class AutoConfigureAnnotationProcessorTests {
+
+	private static final File SOURCE_FOLDER = new File("src/test/java");
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File outputLocation;
+
+	@Before
+	public void createOutputLocation() throws IOException {
+		this.outputLocation = this.temporaryFolder.newFolder();
+	}
+
+	@Test
+	public void annotatedClass() throws Exception {
+		Properties properties = compile(TestClassConfiguration.class);
+		assertThat(properties).hasSize(3);
+		assertThat(properties).containsEntry(
+				"org.springframework.boot.autoconfigureprocessor.TestClassConfiguration."
+						+ "ConditionalOnClass",
+				"java.io.InputStream,org.springframework.boot.autoconfigureprocessor."
+						+ "TestClassConfiguration$Nested");
+		assertThat(properties).containsKey(
+				"org.springframework.boot.autoconfigureprocessor.TestClassConfiguration");
+		assertThat(properties).containsKey(
+				"org.springframework.boot.autoconfigureprocessor.TestClassConfiguration."
+						+ "Configuration");
+		assertThat(properties).doesNotContainKey(
+				"org.springframework.boot.autoconfigureprocessor.TestClassConfiguration$Nested");
+	}
+
+	@Test
+	public void annotatedClassWithOrder() throws Exception {
+		Properties properties = compile(TestOrderedClassConfiguration.class);
+		assertThat(properties).containsEntry(
+				"org.springframework.boot.autoconfigureprocessor."
+						+ "TestOrderedClassConfiguration.ConditionalOnClass",
+				"java.io.OutputStream");
+		assertThat(properties).containsEntry(
+				"org.springframework.boot.autoconfigureprocessor."
+						+ "TestOrderedClassConfiguration.AutoConfigureBefore",
+				"java.io.InputStream");
+		assertThat(properties).containsEntry(
+				"org.springframework.boot.autoconfigureprocessor."
+						+ "TestOrderedClassConfiguration.AutoConfigureAfter",
+				"test.after1,test.after2");
+		assertThat(properties).containsEntry(
+				"org.springframework.boot.autoconfigureprocessor."
+						+ "TestOrderedClassConfiguration.AutoConfigureOrder",
+				"123");
+	}
+
+	@Test
+	public void plainConfiguration() throws Exception {
+		Properties properties = compile(TestPlainConfiguration.class);
+		assertThat(properties).containsOnlyKeys(
+				"org.springframework.boot.autoconfigureprocessor.TestPlainConfiguration",
+				"org.springframework.boot.autoconfigureprocessor.TestPlainConfiguration."
+						+ "Configuration");
+	}
+
+	private Properties compile(Class<?>... types) throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null,
+				null);
+		fileManager.setLocation(StandardLocation.CLASS_OUTPUT,
+				Arrays.asList(this.outputLocation));
+		File[] files = new File[types.length];
+		for (int i = 0; i < types.length; i++) {
+			files[i] = new File(SOURCE_FOLDER,
+					types[i].getName().replace(".", "/") + ".java");
+		}
+		Iterable<? extends JavaFileObject> javaFileObjects = fileManager
+				.getJavaFileObjects(files);
+		CompilationTask task = compiler.getTask(null, fileManager, null, null, null,
+				javaFileObjects);
+		task.setProcessors(Arrays.asList(new TestAutoConfigureAnnotationProcessor()));
+		assertThat(task.call()).isTrue();
+		return getWrittenProperties();
+	}
+
+	private Properties getWrittenProperties() throws IOException {
+		File file = new File(this.outputLocation,
+				AutoConfigureAnnotationProcessor.PROPERTIES_PATH);
+		Properties properties = new Properties();
+		if (file.exists()) {
+			InputStream inputStream = new FileInputStream(file);
+			try {
+				properties.load(inputStream);
+			}
+			finally {
+				inputStream.close();
+			}
+		}
+		return properties;
+	}
+
+}
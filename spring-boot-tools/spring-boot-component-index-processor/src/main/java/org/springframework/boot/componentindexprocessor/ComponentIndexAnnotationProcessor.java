@@ -0,0 +1,184 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.componentindexprocessor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation {@link Processor} that writes an index of component scanning candidates to
+ * {@code META-INF/spring.components}. Each entry maps a class name to its stereotypes:
+ * {@code @Component} when the class is annotated or meta-annotated with it, and any
+ * {@code javax} annotation (such as {@code @Entity} or {@code @WebServlet}) that is
+ * directly present. Types without stereotypes are listed with an empty value. The index
+ * allows scanning to skip reading class files that can't be candidates.
+ *
+ * @author agent
+ * @since 1.4.0
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentIndexAnnotationProcessor extends AbstractProcessor {
+
+	protected static final String INDEX_PATH = "META-INF/spring.components";
+
+	private static final String STANDARD_PACKAGE_PREFIX = "javax.";
+
+	private final Set<String> indexedAnnotations;
+
+	private final Properties properties = new Properties();
+
+	public ComponentIndexAnnotationProcessor() {
+		Set<String> indexedAnnotations = new LinkedHashSet<String>();
+		addIndexedAnnotations(indexedAnnotations);
+		this.indexedAnnotations = Collections.unmodifiableSet(indexedAnnotations);
+	}
+
+	protected void addIndexedAnnotations(Set<String> annotations) {
+		annotations.add("org.springframework.stereotype.Component");
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations,
+			RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getRootElements()) {
+			processElement(element);
+		}
+		if (roundEnv.processingOver()) {
+			try {
+				writeProperties();
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException("Failed to write component index", ex);
+			}
+		}
+		return false;
+	}
+
+	private void processElement(Element element) {
+		if (element instanceof TypeElement) {
+			// Every type is listed, even without stereotypes, so that classes that are
+			// missing from the index can be told apart from those that aren't candidates
+			Set<String> stereotypes = (isIndependentType(element)
+					? getStereotypes(element) : Collections.<String>emptySet());
+			this.properties.put(getQualifiedName((TypeElement) element),
+					toCommaDelimitedString(stereotypes));
+			for (Element enclosedElement : element.getEnclosedElements()) {
+				processElement(enclosedElement);
+			}
+		}
+	}
+
+	private boolean isIndependentType(Element element) {
+		if (element.getKind() != ElementKind.CLASS
+				&& element.getKind() != ElementKind.INTERFACE) {
+			return false;
+		}
+		Element enclosingElement = element.getEnclosingElement();
+		return (enclosingElement == null
+				|| enclosingElement.getKind() == ElementKind.PACKAGE
+				|| element.getModifiers().contains(Modifier.STATIC));
+	}
+
+	private Set<String> getStereotypes(Element element) {
+		Set<String> stereotypes = new LinkedHashSet<String>();
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			String name = getName(annotation);
+			if (name.startsWith(STANDARD_PACKAGE_PREFIX)) {
+				stereotypes.add(name);
+			}
+		}
+		collectIndexedAnnotations(element, stereotypes, new HashSet<Element>());
+		return stereotypes;
+	}
+
+	private void collectIndexedAnnotations(Element element, Set<String> stereotypes,
+			Set<Element> seen) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			String name = getName(annotation);
+			if (this.indexedAnnotations.contains(name)) {
+				stereotypes.add(name);
+			}
+			else if (!name.startsWith("java.")) {
+				Element annotationElement = annotation.getAnnotationType().asElement();
+				if (seen.add(annotationElement)) {
+					collectIndexedAnnotations(annotationElement, stereotypes, seen);
+				}
+			}
+		}
+	}
+
+	private String getName(AnnotationMirror annotation) {
+		return getQualifiedName(
+				(TypeElement) annotation.getAnnotationType().asElement());
+	}
+
+	private String getQualifiedName(TypeElement element) {
+		Element enclosingElement = element.getEnclosingElement();
+		if (enclosingElement instanceof TypeElement) {
+			return getQualifiedName((TypeElement) enclosingElement) + "$"
+					+ element.getSimpleName().toString();
+		}
+		return element.getQualifiedName().toString();
+	}
+
+	private String toCommaDelimitedString(Set<String> items) {
+		StringBuilder result = new StringBuilder();
+		for (String item : items) {
+			result.append(result.length() == 0 ? "" : ",");
+			result.append(item);
+		}
+		return result.toString();
+	}
+
+	private void writeProperties() throws IOException {
+		if (!this.properties.isEmpty()) {
+			FileObject file = this.processingEnv.getFiler()
+					.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_PATH);
+			OutputStream outputStream = file.openOutputStream();
+			try {
+				this.properties.store(outputStream, null);
+			}
+			finally {
+				outputStream.close();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.componentindexprocessor;
+
+import java.util.Set;
+
+import javax.annotation.processing.SupportedAnnotationTypes;
+
+/**
+ * Version of {@link ComponentIndexAnnotationProcessor} used for testing.
+ *
+ * @author agent
+ */
+@SupportedAnnotationTypes("*")
+public class TestComponentIndexAnnotationProcessor
+		extends ComponentIndexAnnotationProcessor {
+
+	@Override
+	protected void addIndexedAnnotations(Set<String> annotations) {
+		annotations.add(TestComponent.class.getName());
+	}
+
+}
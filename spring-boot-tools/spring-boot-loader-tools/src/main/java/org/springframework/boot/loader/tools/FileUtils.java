@@ -82,7 +82,7 @@ public abstract class FileUtils {
 		}
 	}
 
-	private static String bytesToHex(byte[] bytes) {
+	static String bytesToHex(byte[] bytes) {
 		StringBuilder hex = new StringBuilder();
 		for (byte b : bytes) {
 			hex.append(String.format("%02x", b));
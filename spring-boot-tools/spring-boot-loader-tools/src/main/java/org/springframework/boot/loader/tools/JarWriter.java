@@ -27,9 +27,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermission;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashSet;
@@ -168,14 +174,58 @@ public class JarWriter {
 	 */
 	public void writeNestedLibrary(String destination, Library library)
 			throws IOException {
+		writeNestedLibrary(createNestedLibraryEntry(destination, library), library);
+	}
+
+	/**
+	 * Create the {@link JarEntry} for a nested library. The library is read once to
+	 * calculate its CRC, size and, if it needs to be unpacked, its hash. Nothing is
+	 * written so this method may be called concurrently with other writer operations.
+	 * @param destination the destination of the library
+	 * @param library the library
+	 * @return the stored entry for the library
+	 * @throws IOException if the library cannot be read
+	 */
+	JarEntry createNestedLibraryEntry(String destination, Library library)
+			throws IOException {
 		File file = library.getFile();
 		JarEntry entry = new JarEntry(destination + library.getName());
 		entry.setTime(getNestedLibraryTime(file));
-		if (library.isUnpackRequired()) {
-			entry.setComment("UNPACK:" + FileUtils.sha1Hash(file));
+		MessageDigest digest = (library.isUnpackRequired() ? getSha1Digest() : null);
+		InputStream inputStream = new FileInputStream(file);
+		if (digest != null) {
+			inputStream = new DigestInputStream(inputStream, digest);
+		}
+		try {
+			new CrcAndSize(inputStream).setupStoredEntry(entry);
+		}
+		finally {
+			inputStream.close();
+		}
+		if (digest != null) {
+			entry.setComment("UNPACK:" + FileUtils.bytesToHex(digest.digest()));
+		}
+		return entry;
+	}
+
+	/**
+	 * Write a nested library using an entry previously created by
+	 * {@link #createNestedLibraryEntry(String, Library)}.
+	 * @param entry the stored entry for the library
+	 * @param library the library
+	 * @throws IOException if the write fails
+	 */
+	void writeNestedLibrary(JarEntry entry, Library library) throws IOException {
+		writeEntry(entry, new FileChannelEntryWriter(library.getFile()));
+	}
+
+	private MessageDigest getSha1Digest() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
 		}
-		new CrcAndSize(file).setupStoredEntry(entry);
-		writeEntry(entry, new InputStreamEntryWriter(new FileInputStream(file), true));
 	}
 
 	private long getNestedLibraryTime(File file) {
@@ -296,6 +346,38 @@ public class JarWriter {
 
 	}
 
+	/**
+	 * {@link EntryWriter} that transfers the content of a {@link File} using a
+	 * {@link FileChannel}.
+	 */
+	private static class FileChannelEntryWriter implements EntryWriter {
+
+		private final File file;
+
+		FileChannelEntryWriter(File file) {
+			this.file = file;
+		}
+
+		@Override
+		public void write(OutputStream outputStream) throws IOException {
+			FileInputStream inputStream = new FileInputStream(this.file);
+			try {
+				FileChannel channel = inputStream.getChannel();
+				WritableByteChannel target = Channels.newChannel(outputStream);
+				long size = channel.size();
+				long position = 0;
+				while (position < size) {
+					position += channel.transferTo(position, size - position, target);
+				}
+				outputStream.flush();
+			}
+			finally {
+				inputStream.close();
+			}
+		}
+
+	}
+
 	/**
 	 * {@link InputStream} that can peek ahead at zip header bytes.
 	 */
@@ -354,16 +436,6 @@ public class JarWriter {
 
 		private long size;
 
-		CrcAndSize(File file) throws IOException {
-			FileInputStream inputStream = new FileInputStream(file);
-			try {
-				load(inputStream);
-			}
-			finally {
-				inputStream.close();
-			}
-		}
-
 		CrcAndSize(InputStream inputStream) throws IOException {
 			load(inputStream);
 		}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.zip.ZipEntry;
+
+/**
+ * Index of the stored entries that were written for nested libraries during a previous
+ * repackage. Allows the CRC, size and hash of a library to be reused when the library
+ * file has not changed, rather than reading it again.
+ *
+ * @author agent
+ * @see Repackager#setLibraryIndex(File)
+ */
+class LibraryIndex {
+
+	private final File file;
+
+	private final Properties previous = new Properties();
+
+	private final Properties current = new Properties();
+
+	LibraryIndex(File file) {
+		this.file = file;
+		if (file.isFile()) {
+			try {
+				InputStream inputStream = new FileInputStream(file);
+				try {
+					this.previous.load(inputStream);
+				}
+				finally {
+					inputStream.close();
+				}
+			}
+			catch (IOException ex) {
+				// Ignore and recalculate all entries
+				this.previous.clear();
+			}
+		}
+	}
+
+	/**
+	 * Return the entry that was previously written for the given library or
+	 * {@code null} if the library has changed since.
+	 * @param name the name of the entry
+	 * @param library the library
+	 * @return the previous entry or {@code null}
+	 */
+	public JarEntry getEntry(String name, Library library) {
+		File file = library.getFile();
+		if (!file.getAbsolutePath().equals(this.previous.getProperty(name + ".file"))
+				|| !matches(name + ".length", file.length())
+				|| !matches(name + ".lastModified", file.lastModified())) {
+			return null;
+		}
+		try {
+			JarEntry entry = new JarEntry(name);
+			entry.setTime(Long.parseLong(this.previous.getProperty(name + ".time")));
+			long size = Long.parseLong(this.previous.getProperty(name + ".size"));
+			entry.setSize(size);
+			entry.setCompressedSize(size);
+			entry.setCrc(Long.parseLong(this.previous.getProperty(name + ".crc")));
+			entry.setMethod(ZipEntry.STORED);
+			String comment = this.previous.getProperty(name + ".comment");
+			if (comment != null) {
+				entry.setComment(comment);
+			}
+			return entry;
+		}
+		catch (RuntimeException ex) {
+			return null;
+		}
+	}
+
+	private boolean matches(String key, long value) {
+		return String.valueOf(value).equals(this.previous.getProperty(key));
+	}
+
+	/**
+	 * Record the entry that has been written for the given library.
+	 * @param entry the entry
+	 * @param library the library
+	 */
+	public void put(JarEntry entry, Library library) {
+		String name = entry.getName();
+		File file = library.getFile();
+		this.current.setProperty(name + ".file", file.getAbsolutePath());
+		this.current.setProperty(name + ".length", String.valueOf(file.length()));
+		this.current.setProperty(name + ".lastModified",
+				String.valueOf(file.lastModified()));
+		this.current.setProperty(name + ".time", String.valueOf(entry.getTime()));
+		this.current.setProperty(name + ".size", String.valueOf(entry.getSize()));
+		this.current.setProperty(name + ".crc", String.valueOf(entry.getCrc()));
+		if (entry.getComment() != null) {
+			this.current.setProperty(name + ".comment", entry.getComment());
+		}
+	}
+
+	/**
+	 * Save the entries recorded by {@link #put(JarEntry, Library)}, replacing any
+	 * previous content of the index file.
+	 * @throws IOException if the index cannot be written
+	 */
+	public void save() throws IOException {
+		OutputStream outputStream = new FileOutputStream(this.file);
+		try {
+			this.current.store(outputStream, "Spring Boot repackaged library index");
+		}
+		finally {
+			outputStream.close();
+		}
+	}
+
+}
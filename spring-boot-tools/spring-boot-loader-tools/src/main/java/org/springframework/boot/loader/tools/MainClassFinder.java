@@ -22,6 +22,7 @@ import java.io.FileFilter;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -31,7 +32,15 @@ import java.util.Deque;
 import java.util.Enumeration;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -40,6 +49,8 @@ import org.springframework.asm.ClassVisitor;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.asm.Opcodes;
 import org.springframework.asm.Type;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.StreamUtils;
 
 /**
  * Finds any class with a {@code public static main} method by performing a breadth first
@@ -58,6 +69,25 @@ public abstract class MainClassFinder {
 
 	private static final String MAIN_METHOD_NAME = "main";
 
+	private static final byte[] MAIN_METHOD_NAME_BYTES = getAsciiBytes(MAIN_METHOD_NAME);
+
+	private static final byte[] MAIN_METHOD_DESCRIPTOR_BYTES = getAsciiBytes(
+			MAIN_METHOD_TYPE.getDescriptor());
+
+	private static final int CONSTANT_UTF8 = 1;
+
+	private static final int CONSTANT_LONG = 5;
+
+	private static final int CONSTANT_DOUBLE = 6;
+
+	/**
+	 * Size, including the tag, of each fixed size constant pool entry indexed by tag.
+	 */
+	private static final int[] CONSTANT_SIZES = { 0, 0, 0, 5, 5, 0, 0, 3, 3, 5, 5, 5,
+			5, 0, 0, 4, 3, 5, 5, 3, 3 };
+
+	private static final Map<String, Boolean> mainClassCache = new ConcurrentReferenceHashMap<String, Boolean>();
+
 	private static final FileFilter CLASS_FILE_FILTER = new FileFilter() {
 		@Override
 		public boolean accept(File file) {
@@ -118,32 +148,29 @@ public abstract class MainClassFinder {
 					"Invalid root folder '" + rootFolder + "'");
 		}
 		String prefix = rootFolder.getAbsolutePath() + "/";
+		List<ClassFile> classFiles = new ArrayList<ClassFile>();
 		Deque<File> stack = new ArrayDeque<File>();
 		stack.push(rootFolder);
 		while (!stack.isEmpty()) {
 			File file = stack.pop();
 			if (file.isFile()) {
-				InputStream inputStream = new FileInputStream(file);
-				try {
-					if (isMainClass(inputStream)) {
-						String className = convertToClassName(file.getAbsolutePath(),
-								prefix);
-						T result = callback.doWith(className);
-						if (result != null) {
-							return result;
-						}
-					}
-				}
-				finally {
-					inputStream.close();
-				}
+				classFiles.add(new FileClassFile(file, prefix));
 			}
 			if (file.isDirectory()) {
 				pushAllSorted(stack, file.listFiles(PACKAGE_FOLDER_FILTER));
 				pushAllSorted(stack, file.listFiles(CLASS_FILE_FILTER));
 			}
 		}
-		return null;
+		return doWithMainClasses(classFiles, callback);
+	}
+
+	private static byte[] getAsciiBytes(String value) {
+		try {
+			return value.getBytes("US-ASCII");
+		}
+		catch (UnsupportedEncodingException ex) {
+			throw new IllegalStateException(ex);
+		}
 	}
 
 	private static void pushAllSorted(Deque<File> stack, File[] files) {
@@ -203,24 +230,76 @@ public abstract class MainClassFinder {
 			ClassNameCallback<T> callback) throws IOException {
 		List<JarEntry> classEntries = getClassEntries(jarFile, classesLocation);
 		Collections.sort(classEntries, new ClassEntryComparator());
+		List<ClassFile> classFiles = new ArrayList<ClassFile>(classEntries.size());
 		for (JarEntry entry : classEntries) {
-			InputStream inputStream = new BufferedInputStream(
-					jarFile.getInputStream(entry));
-			try {
-				if (isMainClass(inputStream)) {
-					String className = convertToClassName(entry.getName(),
-							classesLocation);
-					T result = callback.doWith(className);
+			classFiles.add(new JarEntryClassFile(jarFile, entry, classesLocation));
+		}
+		return doWithMainClasses(classFiles, callback);
+	}
+
+	/**
+	 * Perform the given callback operation on all main classes from the given class
+	 * files. Class files are checked in parallel but the callback is always invoked in
+	 * the order of the given list.
+	 * @param <T> the result type
+	 * @param classFiles the class files to check
+	 * @param callback the callback
+	 * @return the first callback result or {@code null}
+	 * @throws IOException in case of I/O errors
+	 */
+	private static <T> T doWithMainClasses(List<ClassFile> classFiles,
+			ClassNameCallback<T> callback) throws IOException {
+		if (classFiles.isEmpty()) {
+			return null;
+		}
+		int threads = Math.min(classFiles.size(),
+				Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads,
+				new DaemonThreadFactory());
+		try {
+			List<Future<Boolean>> mainClasses = new ArrayList<Future<Boolean>>();
+			for (final ClassFile classFile : classFiles) {
+				mainClasses.add(executor.submit(new Callable<Boolean>() {
+
+					@Override
+					public Boolean call() throws IOException {
+						return classFile.isMainClass();
+					}
+
+				}));
+			}
+			for (int i = 0; i < classFiles.size(); i++) {
+				if (get(mainClasses.get(i))) {
+					T result = callback.doWith(classFiles.get(i).getClassName());
 					if (result != null) {
 						return result;
 					}
 				}
 			}
-			finally {
-				inputStream.close();
+			return null;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static boolean get(Future<Boolean> future) throws IOException {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while finding main class", ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof IOException) {
+				throw (IOException) ex.getCause();
+			}
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
 			}
+			throw new IllegalStateException(ex.getCause());
 		}
-		return null;
 	}
 
 	private static String convertToClassName(String name, String prefix) {
@@ -250,7 +329,11 @@ public abstract class MainClassFinder {
 
 	private static boolean isMainClass(InputStream inputStream) {
 		try {
-			ClassReader classReader = new ClassReader(inputStream);
+			byte[] bytes = StreamUtils.copyToByteArray(inputStream);
+			if (!hasMainMethodConstants(bytes)) {
+				return false;
+			}
+			ClassReader classReader = new ClassReader(bytes);
 			MainMethodFinder mainMethodFinder = new MainMethodFinder();
 			classReader.accept(mainMethodFinder, ClassReader.SKIP_CODE);
 			return mainMethodFinder.isFound();
@@ -260,6 +343,76 @@ public abstract class MainClassFinder {
 		}
 	}
 
+	/**
+	 * Scan the constant pool of the given class file bytes to determine if the UTF8
+	 * constants required to declare a main method are present. Allows most classes to
+	 * be rejected without visiting them.
+	 * @param bytes the class file bytes
+	 * @return {@code false} if the class cannot declare a main method
+	 */
+	private static boolean hasMainMethodConstants(byte[] bytes) {
+		if (bytes.length < 10 || readInt(bytes, 0) != 0xCAFEBABE) {
+			return true;
+		}
+		try {
+			boolean name = false;
+			boolean descriptor = false;
+			int count = readUnsignedShort(bytes, 8);
+			int offset = 10;
+			for (int i = 1; i < count; i++) {
+				int tag = bytes[offset];
+				if (tag == CONSTANT_UTF8) {
+					int length = readUnsignedShort(bytes, offset + 1);
+					name = name || matches(bytes, offset + 3, length,
+							MAIN_METHOD_NAME_BYTES);
+					descriptor = descriptor || matches(bytes, offset + 3, length,
+							MAIN_METHOD_DESCRIPTOR_BYTES);
+					if (name && descriptor) {
+						return true;
+					}
+					offset += 3 + length;
+				}
+				else if (tag == CONSTANT_LONG || tag == CONSTANT_DOUBLE) {
+					offset += 9;
+					i++;
+				}
+				else if (tag >= 0 && tag < CONSTANT_SIZES.length
+						&& CONSTANT_SIZES[tag] != 0) {
+					offset += CONSTANT_SIZES[tag];
+				}
+				else {
+					return true;
+				}
+			}
+			return false;
+		}
+		catch (ArrayIndexOutOfBoundsException ex) {
+			return true;
+		}
+	}
+
+	private static boolean matches(byte[] bytes, int offset, int length,
+			byte[] expected) {
+		if (length != expected.length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (bytes[offset + i] != expected[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int readUnsignedShort(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+	}
+
+	private static int readInt(byte[] bytes, int offset) {
+		return (readUnsignedShort(bytes, offset) << 16)
+				| readUnsignedShort(bytes, offset + 2);
+	}
+
 	private static class ClassEntryComparator implements Comparator<JarEntry> {
 
 		@Override
@@ -313,6 +466,119 @@ public abstract class MainClassFinder {
 
 	}
 
+	/**
+	 * A class file that may contain a main method. Results are cached, keyed by a
+	 * value that changes whenever the content of the class file changes.
+	 */
+	private abstract static class ClassFile {
+
+		private final String className;
+
+		ClassFile(String className) {
+			this.className = className;
+		}
+
+		public String getClassName() {
+			return this.className;
+		}
+
+		public boolean isMainClass() throws IOException {
+			String cacheKey = getCacheKey();
+			Boolean mainClass = (cacheKey == null ? null : mainClassCache.get(cacheKey));
+			if (mainClass == null) {
+				InputStream inputStream = openStream();
+				try {
+					mainClass = MainClassFinder.isMainClass(inputStream);
+				}
+				finally {
+					inputStream.close();
+				}
+				if (cacheKey != null) {
+					mainClassCache.put(cacheKey, mainClass);
+				}
+			}
+			return mainClass;
+		}
+
+		protected abstract String getCacheKey();
+
+		protected abstract InputStream openStream() throws IOException;
+
+	}
+
+	/**
+	 * A {@link ClassFile} in a folder, cached by path, last modified time and size.
+	 */
+	private static final class FileClassFile extends ClassFile {
+
+		private final File file;
+
+		FileClassFile(File file, String prefix) {
+			super(convertToClassName(file.getAbsolutePath(), prefix));
+			this.file = file;
+		}
+
+		@Override
+		protected String getCacheKey() {
+			return this.file.getAbsolutePath() + ":" + this.file.lastModified() + ":"
+					+ this.file.length();
+		}
+
+		@Override
+		protected InputStream openStream() throws IOException {
+			return new FileInputStream(this.file);
+		}
+
+	}
+
+	/**
+	 * A {@link ClassFile} in a jar, cached by jar path, entry name, CRC and size.
+	 */
+	private static final class JarEntryClassFile extends ClassFile {
+
+		private final JarFile jarFile;
+
+		private final JarEntry entry;
+
+		JarEntryClassFile(JarFile jarFile, JarEntry entry, String classesLocation) {
+			super(convertToClassName(entry.getName(), classesLocation));
+			this.jarFile = jarFile;
+			this.entry = entry;
+		}
+
+		@Override
+		protected String getCacheKey() {
+			if (this.entry.getCrc() == -1 || this.entry.getSize() == -1) {
+				return null;
+			}
+			return this.jarFile.getName() + "!" + this.entry.getName() + ":"
+					+ this.entry.getCrc() + ":" + this.entry.getSize();
+		}
+
+		@Override
+		protected InputStream openStream() throws IOException {
+			return new BufferedInputStream(this.jarFile.getInputStream(this.entry));
+		}
+
+	}
+
+	/**
+	 * {@link ThreadFactory} used to create the daemon threads that check class files.
+	 */
+	private static final class DaemonThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable,
+					"main-class-finder-" + this.threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
 	/**
 	 * Callback interface used to receive class names.
 	 * @param <T> the result type
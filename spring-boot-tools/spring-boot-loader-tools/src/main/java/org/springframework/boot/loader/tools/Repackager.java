@@ -21,9 +21,18 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
@@ -61,6 +70,10 @@ public class Repackager {
 
 	private Layout layout;
 
+	private File libraryIndex;
+
+	private boolean librariesFirst;
+
 	public Repackager(File source) {
 		if (source == null || !source.exists() || !source.isFile()) {
 			throw new IllegalArgumentException("Source must refer to an existing file");
@@ -98,6 +111,33 @@ public class Repackager {
 		this.layout = layout;
 	}
 
+	/**
+	 * Sets a file used to record the CRC, size and hash of each nested library. When
+	 * the file exists from a previous repackage, the recorded values are reused for
+	 * any library whose file has not changed since, so that only new or modified
+	 * libraries need to be read before they are written.
+	 * @param libraryIndex the library index file or {@code null} to always read every
+	 * library
+	 * @since 1.4.0
+	 */
+	public void setLibraryIndex(File libraryIndex) {
+		this.libraryIndex = libraryIndex;
+	}
+
+	/**
+	 * Sets if nested libraries should be written, sorted by name, before the entries
+	 * of the source archive. The libraries then form a stable prefix of the archive
+	 * that only changes when dependencies change, allowing the archive to be
+	 * transferred efficiently by delta-based tools such as rsync. Entries of the
+	 * source archive continue to take precedence over standard libraries of the same
+	 * name.
+	 * @param librariesFirst if libraries should be written first
+	 * @since 1.4.0
+	 */
+	public void setLibrariesFirst(boolean librariesFirst) {
+		this.librariesFirst = librariesFirst;
+	}
+
 	/**
 	 * Repackage the source file so that it can be run using '{@literal java -jar}'.
 	 * @param libraries the libraries required to run the archive
@@ -185,6 +225,7 @@ public class Repackager {
 	private void repackage(JarFile sourceJar, File destination, Libraries libraries,
 			LaunchScript launchScript) throws IOException {
 		JarWriter writer = new JarWriter(destination, launchScript);
+		ExecutorService executor = null;
 		try {
 			final List<Library> unpackLibraries = new ArrayList<Library>();
 			final List<Library> standardLibraries = new ArrayList<Library>();
@@ -204,9 +245,24 @@ public class Repackager {
 				}
 
 			});
+			if (this.librariesFirst) {
+				sortByName(unpackLibraries);
+				sortByName(standardLibraries);
+			}
+			executor = createExecutor(unpackLibraries.size() + standardLibraries.size());
+			LibraryIndex libraryIndex = (this.libraryIndex == null ? null
+					: new LibraryIndex(this.libraryIndex));
+			NestedLibraryPreparer preparer = new NestedLibraryPreparer(writer, executor,
+					libraryIndex);
+			List<NestedLibrary> unpackNestedLibraries = preparer
+					.prepare(unpackLibraries, null);
+			List<NestedLibrary> standardNestedLibraries = preparer.prepare(
+					standardLibraries, (this.librariesFirst ? sourceJar : null));
 			writer.writeManifest(buildManifest(sourceJar));
-			Set<String> seen = new HashSet<String>();
-			writeNestedLibraries(unpackLibraries, seen, writer);
+			writeNestedLibraries(unpackNestedLibraries, writer);
+			if (this.librariesFirst) {
+				writeNestedLibraries(standardNestedLibraries, writer);
+			}
 			if (this.layout instanceof RepackagingLayout) {
 				writer.writeEntries(sourceJar,
 						new RenamingEntryTransformer(((RepackagingLayout) this.layout)
@@ -215,12 +271,20 @@ public class Repackager {
 			else {
 				writer.writeEntries(sourceJar);
 			}
-			writeNestedLibraries(standardLibraries, seen, writer);
+			if (!this.librariesFirst) {
+				writeNestedLibraries(standardNestedLibraries, writer);
+			}
 			if (this.layout.isExecutable()) {
 				writer.writeLoaderClasses();
 			}
+			if (libraryIndex != null) {
+				libraryIndex.save();
+			}
 		}
 		finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
 			try {
 				writer.close();
 			}
@@ -230,18 +294,30 @@ public class Repackager {
 		}
 	}
 
-	private void writeNestedLibraries(List<Library> libraries, Set<String> alreadySeen,
-			JarWriter writer) throws IOException {
-		for (Library library : libraries) {
-			String destination = Repackager.this.layout
-					.getLibraryDestination(library.getName(), library.getScope());
-			if (destination != null) {
-				if (!alreadySeen.add(destination + library.getName())) {
-					throw new IllegalStateException(
-							"Duplicate library " + library.getName());
-				}
-				writer.writeNestedLibrary(destination, library);
+	private void sortByName(List<Library> libraries) {
+		Collections.sort(libraries, new Comparator<Library>() {
+
+			@Override
+			public int compare(Library o1, Library o2) {
+				return o1.getName().compareTo(o2.getName());
 			}
+
+		});
+	}
+
+	private ExecutorService createExecutor(int libraryCount) {
+		if (libraryCount == 0) {
+			return null;
+		}
+		int threads = Math.min(libraryCount,
+				Runtime.getRuntime().availableProcessors());
+		return Executors.newFixedThreadPool(threads, new LibraryThreadFactory());
+	}
+
+	private void writeNestedLibraries(List<NestedLibrary> libraries, JarWriter writer)
+			throws IOException {
+		for (NestedLibrary library : libraries) {
+			library.write(writer);
 		}
 	}
 
@@ -324,6 +400,135 @@ public class Repackager {
 		}
 	}
 
+	/**
+	 * Prepares the stored {@link JarEntry entries} of nested libraries in the
+	 * background, reusing entries from a {@link LibraryIndex} when possible.
+	 */
+	private final class NestedLibraryPreparer {
+
+		private final JarWriter writer;
+
+		private final ExecutorService executor;
+
+		private final LibraryIndex libraryIndex;
+
+		private final Set<String> alreadySeen = new HashSet<String>();
+
+		private NestedLibraryPreparer(JarWriter writer, ExecutorService executor,
+				LibraryIndex libraryIndex) {
+			this.writer = writer;
+			this.executor = executor;
+			this.libraryIndex = libraryIndex;
+		}
+
+		public List<NestedLibrary> prepare(List<Library> libraries,
+				JarFile skipIfPresentIn) {
+			if (libraries.isEmpty()) {
+				return Collections.emptyList();
+			}
+			List<NestedLibrary> nestedLibraries = new ArrayList<NestedLibrary>();
+			for (final Library library : libraries) {
+				final String destination = Repackager.this.layout
+						.getLibraryDestination(library.getName(), library.getScope());
+				if (destination != null) {
+					String name = destination + library.getName();
+					if (!this.alreadySeen.add(name)) {
+						throw new IllegalStateException(
+								"Duplicate library " + library.getName());
+					}
+					if (skipIfPresentIn == null
+							|| skipIfPresentIn.getEntry(name) == null) {
+						nestedLibraries.add(new NestedLibrary(library,
+								this.executor.submit(new Callable<JarEntry>() {
+
+									@Override
+									public JarEntry call() throws IOException {
+										return getEntry(destination, library);
+									}
+
+								})));
+					}
+				}
+			}
+			return nestedLibraries;
+		}
+
+		private JarEntry getEntry(String destination, Library library)
+				throws IOException {
+			if (this.libraryIndex == null) {
+				return this.writer.createNestedLibraryEntry(destination, library);
+			}
+			JarEntry entry = this.libraryIndex.getEntry(destination + library.getName(),
+					library);
+			if (entry == null) {
+				entry = this.writer.createNestedLibraryEntry(destination, library);
+			}
+			this.libraryIndex.put(entry, library);
+			return entry;
+		}
+
+	}
+
+	/**
+	 * A {@link Library} along with the stored {@link JarEntry} that is being prepared
+	 * for it in the background.
+	 */
+	private static final class NestedLibrary {
+
+		private final Library library;
+
+		private final Future<JarEntry> entry;
+
+		private NestedLibrary(Library library, Future<JarEntry> entry) {
+			this.library = library;
+			this.entry = entry;
+		}
+
+		public void write(JarWriter writer) throws IOException {
+			writer.writeNestedLibrary(getEntry(), this.library);
+		}
+
+		private JarEntry getEntry() throws IOException {
+			try {
+				return this.entry.get();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(
+						"Interrupted while preparing library " + this.library.getName(),
+						ex);
+			}
+			catch (ExecutionException ex) {
+				if (ex.getCause() instanceof IOException) {
+					throw (IOException) ex.getCause();
+				}
+				if (ex.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) ex.getCause();
+				}
+				throw new IllegalStateException(ex.getCause());
+			}
+		}
+
+	}
+
+	/**
+	 * {@link ThreadFactory} used to create daemon threads that prepare nested
+	 * libraries.
+	 */
+	private static final class LibraryThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable,
+					"repackager-" + this.threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
 	/**
 	 * An {@code EntryTransformer} that renames entries by applying a prefix.
 	 */
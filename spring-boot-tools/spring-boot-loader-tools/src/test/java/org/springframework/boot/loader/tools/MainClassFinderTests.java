@@ -27,6 +27,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
 import org.springframework.boot.loader.tools.MainClassFinder.ClassNameCallback;
+import org.springframework.boot.loader.tools.sample.ClassWithInstanceMainMethod;
 import org.springframework.boot.loader.tools.sample.ClassWithMainMethod;
 import org.springframework.boot.loader.tools.sample.ClassWithoutMainMethod;
 
@@ -39,6 +40,10 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 public class MainClassFinderTests {
 
+	private static final long JAN_1_1980 = 315532800000L;
+
+	private static final long JAN_1_1985 = 473385600000L;
+
 	@Rule
 	public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
@@ -132,6 +137,43 @@ public class MainClassFinderTests {
 		MainClassFinder.findSingleMainClass(this.testJarFile.getJarSource());
 	}
 
+	@Test
+	public void ignoresInstanceMainMethod() throws Exception {
+		this.testJarFile.addClass("a/B.class", ClassWithInstanceMainMethod.class);
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		String actual = MainClassFinder.findMainClass(this.testJarFile.getJarSource());
+		assertThat(actual).isEqualTo("a.b.C");
+	}
+
+	@Test
+	public void findsMainClassWhenFolderClassChanges() throws Exception {
+		this.testJarFile.addClass("a/B.class", ClassWithoutMainMethod.class,
+				JAN_1_1980);
+		assertThat(MainClassFinder.findMainClass(this.testJarFile.getJarSource()))
+				.isNull();
+		this.testJarFile.addClass("a/B.class", ClassWithMainMethod.class, JAN_1_1985);
+		assertThat(MainClassFinder.findMainClass(this.testJarFile.getJarSource()))
+				.isEqualTo("a.B");
+	}
+
+	@Test
+	public void findsManyMainClassesInOrder() throws Exception {
+		List<String> expected = new ArrayList<String>();
+		for (int i = 0; i < 100; i++) {
+			String name = "a/b" + (i / 10) + "/C" + (i % 10);
+			if (i % 3 == 0) {
+				this.testJarFile.addClass(name + ".class", ClassWithMainMethod.class);
+				expected.add(name.replace("/", "."));
+			}
+			else {
+				this.testJarFile.addClass(name + ".class", ClassWithoutMainMethod.class);
+			}
+		}
+		ClassNameCollector callback = new ClassNameCollector();
+		MainClassFinder.doWithMainClasses(this.testJarFile.getJarFile(), "", callback);
+		assertThat(callback.getClassNames()).isEqualTo(expected);
+	}
+
 	@Test
 	public void doWithFolderMainMethods() throws Exception {
 		this.testJarFile.addClass("a/b/c/D.class", ClassWithMainMethod.class);
@@ -17,14 +17,21 @@
 package org.springframework.boot.loader.tools;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Properties;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 
 import org.junit.Before;
@@ -316,6 +323,132 @@ public class RepackagerTests {
 		assertThat(entry.getComment().length()).isEqualTo(47);
 	}
 
+	@Test
+	public void librariesAreWrittenAsStoredEntries() throws Exception {
+		final List<File> libJarFiles = new ArrayList<File>();
+		for (int i = 0; i < 8; i++) {
+			TestJarFile libJar = new TestJarFile(this.temporaryFolder);
+			libJar.addClass("a/b/C" + i + ".class", ClassWithoutMainMethod.class);
+			libJarFiles.add(libJar.getFile());
+		}
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.repackage(new Libraries() {
+			@Override
+			public void doWithLibraries(LibraryCallback callback) throws IOException {
+				for (int i = 0; i < libJarFiles.size(); i++) {
+					callback.library(new Library(libJarFiles.get(i),
+							LibraryScope.COMPILE, i % 2 == 0));
+				}
+			}
+		});
+		for (int i = 0; i < libJarFiles.size(); i++) {
+			File libJarFile = libJarFiles.get(i);
+			JarEntry entry = getEntry(file, "BOOT-INF/lib/" + libJarFile.getName());
+			byte[] content = FileCopyUtils.copyToByteArray(libJarFile);
+			CRC32 crc = new CRC32();
+			crc.update(content);
+			assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+			assertThat(entry.getSize()).isEqualTo(content.length);
+			assertThat(entry.getCrc()).isEqualTo(crc.getValue());
+			if (i % 2 == 0) {
+				assertThat(entry.getComment())
+						.isEqualTo("UNPACK:" + FileUtils.sha1Hash(libJarFile));
+			}
+			else {
+				assertThat(entry.getComment()).isNull();
+			}
+		}
+	}
+
+	@Test
+	public void libraryIndexIsUsedForUnchangedLibraries() throws Exception {
+		TestJarFile libJar = new TestJarFile(this.temporaryFolder);
+		libJar.addClass("a/b/C.class", ClassWithoutMainMethod.class);
+		final File libJarFile = libJar.getFile();
+		String name = "BOOT-INF/lib/" + libJarFile.getName();
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		File indexFile = this.temporaryFolder.newFile();
+		Libraries libraries = new Libraries() {
+			@Override
+			public void doWithLibraries(LibraryCallback callback) throws IOException {
+				callback.library(new Library(libJarFile, LibraryScope.COMPILE, true));
+			}
+		};
+		Repackager repackager = new Repackager(file);
+		repackager.setLibraryIndex(indexFile);
+		repackager.repackage(this.temporaryFolder.newFile("initial.jar"), libraries);
+		Properties index = loadProperties(indexFile);
+		assertThat(index.getProperty(name + ".comment"))
+				.isEqualTo("UNPACK:" + FileUtils.sha1Hash(libJarFile));
+		index.setProperty(name + ".comment", "UNPACK:from-index");
+		storeProperties(index, indexFile);
+		File destination = this.temporaryFolder.newFile("reused.jar");
+		repackager.repackage(destination, libraries);
+		assertThat(getEntry(destination, name).getComment())
+				.isEqualTo("UNPACK:from-index");
+		libJarFile.setLastModified(libJarFile.lastModified() - 10000);
+		repackager.repackage(destination, libraries);
+		assertThat(getEntry(destination, name).getComment())
+				.isEqualTo("UNPACK:" + FileUtils.sha1Hash(libJarFile));
+	}
+
+	@Test
+	public void librariesFirst() throws Exception {
+		TestJarFile libJarB = new TestJarFile(this.temporaryFolder);
+		libJarB.addClass("a/b/C.class", ClassWithoutMainMethod.class);
+		final File libJarFileB = libJarB.getFile();
+		TestJarFile libJarA = new TestJarFile(this.temporaryFolder);
+		libJarA.addClass("a/b/C.class", ClassWithoutMainMethod.class);
+		final File libJarFileA = libJarA.getFile();
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.setLibrariesFirst(true);
+		repackager.repackage(new Libraries() {
+			@Override
+			public void doWithLibraries(LibraryCallback callback) throws IOException {
+				callback.library(new Library("b.jar", libJarFileB, LibraryScope.COMPILE,
+						false));
+				callback.library(new Library("a.jar", libJarFileA, LibraryScope.COMPILE,
+						false));
+			}
+		});
+		List<String> names = getEntryNames(file);
+		assertThat(names.indexOf("BOOT-INF/lib/a.jar"))
+				.isLessThan(names.indexOf("BOOT-INF/lib/b.jar"));
+		assertThat(names.indexOf("BOOT-INF/lib/b.jar"))
+				.isLessThan(names.indexOf("BOOT-INF/classes/a/b/C.class"));
+	}
+
+	@Test
+	public void librariesFirstDoesNotReplaceExistingSourceEntries() throws Exception {
+		TestJarFile nested = new TestJarFile(this.temporaryFolder);
+		nested.addClass("a/b/C.class", ClassWithoutMainMethod.class);
+		final File nestedFile = nested.getFile();
+		this.testJarFile.addFile("BOOT-INF/lib/" + nestedFile.getName(),
+				nested.getFile());
+		this.testJarFile.addClass("A.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		long sourceLength = nestedFile.length();
+		final TestJarFile library = new TestJarFile(this.temporaryFolder);
+		library.addClass("a/b/C.class", ClassWithoutMainMethod.class);
+		library.addClass("a/b/D.class", ClassWithoutMainMethod.class);
+		Repackager repackager = new Repackager(file);
+		repackager.setLibrariesFirst(true);
+		repackager.repackage(new Libraries() {
+			@Override
+			public void doWithLibraries(LibraryCallback callback) throws IOException {
+				callback.library(new Library(nestedFile.getName(), library.getFile(),
+						LibraryScope.COMPILE, false));
+			}
+		});
+		assertThat(getEntry(file, "BOOT-INF/lib/" + nestedFile.getName()).getSize())
+				.isEqualTo(sourceLength);
+	}
+
 	@Test
 	public void duplicateLibraries() throws Exception {
 		TestJarFile libJar = new TestJarFile(this.temporaryFolder);
@@ -537,6 +670,43 @@ public class RepackagerTests {
 		}
 	}
 
+	private List<String> getEntryNames(File file) throws IOException {
+		JarFile jarFile = new JarFile(file);
+		try {
+			List<String> names = new ArrayList<String>();
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				names.add(entries.nextElement().getName());
+			}
+			return names;
+		}
+		finally {
+			jarFile.close();
+		}
+	}
+
+	private Properties loadProperties(File file) throws IOException {
+		Properties properties = new Properties();
+		FileInputStream inputStream = new FileInputStream(file);
+		try {
+			properties.load(inputStream);
+		}
+		finally {
+			inputStream.close();
+		}
+		return properties;
+	}
+
+	private void storeProperties(Properties properties, File file) throws IOException {
+		FileOutputStream outputStream = new FileOutputStream(file);
+		try {
+			properties.store(outputStream, null);
+		}
+		finally {
+			outputStream.close();
+		}
+	}
+
 	private Manifest getManifest(File file) throws IOException {
 		JarFile jarFile = new JarFile(file);
 		try {
@@ -53,6 +53,8 @@ public class ExplodedArchive implements Archive {
 
 	private Manifest manifest;
 
+	private final ExplodedArchiveIndex index;
+
 	/**
 	 * Create a new {@link ExplodedArchive} instance.
 	 * @param root the root folder
@@ -69,12 +71,17 @@ public class ExplodedArchive implements Archive {
 	 * false}.
 	 */
 	public ExplodedArchive(File root, boolean recursive) {
+		this(root, recursive, ExplodedArchiveIndex.load(root));
+	}
+
+	ExplodedArchive(File root, boolean recursive, ExplodedArchiveIndex index) {
 		if (!root.exists() || !root.isDirectory()) {
 			throw new IllegalArgumentException("Invalid source folder " + root);
 		}
 		this.root = root;
 		this.recursive = recursive;
 		this.manifestFile = getManifestFile(root);
+		this.index = index;
 	}
 
 	private File getManifestFile(File root) {
@@ -114,13 +121,22 @@ public class ExplodedArchive implements Archive {
 
 	@Override
 	public Iterator<Entry> iterator() {
+		if (this.index != null) {
+			return new IndexedEntryIterator(this.root, this.recursive, this.index);
+		}
 		return new FileEntryIterator(this.root, this.recursive);
 	}
 
 	protected Archive getNestedArchive(Entry entry) throws IOException {
 		File file = ((FileEntry) entry).getFile();
-		return (file.isDirectory() ? new ExplodedArchive(file)
-				: new JarFileArchive(file));
+		if (!entry.isDirectory()) {
+			return new JarFileArchive(file);
+		}
+		if (this.index != null) {
+			return new ExplodedArchive(file, true,
+					this.index.getNested(entry.getName()));
+		}
+		return new ExplodedArchive(file);
 	}
 
 	@Override
@@ -217,6 +233,68 @@ public class ExplodedArchive implements Archive {
 
 	}
 
+	/**
+	 * {@link Entry} {@link Iterator} backed by an {@link ExplodedArchiveIndex}.
+	 */
+	private static class IndexedEntryIterator implements Iterator<Entry> {
+
+		private final File root;
+
+		private final boolean recursive;
+
+		private final Iterator<String> names;
+
+		private String current;
+
+		IndexedEntryIterator(File root, boolean recursive, ExplodedArchiveIndex index) {
+			this.root = root;
+			this.recursive = recursive;
+			this.names = index.getNames().iterator();
+			this.current = poll();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.current != null;
+		}
+
+		@Override
+		public Entry next() {
+			if (this.current == null) {
+				throw new NoSuchElementException();
+			}
+			String name = this.current;
+			this.current = poll();
+			return new FileEntry(name, new File(this.root, name));
+		}
+
+		private String poll() {
+			while (this.names.hasNext()) {
+				String name = this.names.next();
+				if (this.recursive || getDepth(name) <= 2) {
+					return name;
+				}
+			}
+			return null;
+		}
+
+		private int getDepth(String name) {
+			int depth = 1;
+			for (int i = 0; i < name.length() - 1; i++) {
+				if (name.charAt(i) == '/') {
+					depth++;
+				}
+			}
+			return depth;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("remove");
+		}
+
+	}
+
 	/**
 	 * {@link Entry} backed by a File.
 	 */
@@ -237,7 +315,7 @@ public class ExplodedArchive implements Archive {
 
 		@Override
 		public boolean isDirectory() {
-			return this.file.isDirectory();
+			return this.name.endsWith("/");
 		}
 
 		@Override
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.archive;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.boot.loader.util.SystemPropertyUtils;
+
+/**
+ * Index of the entries of an {@link ExplodedArchive}. The index is written once, after
+ * an archive has been unpacked, and allows the entries of the archive to be listed
+ * without walking the file system. The index lists one entry name per line, in the
+ * order in which the archive would otherwise be iterated, with folder names ending in
+ * {@code /}.
+ * <p>
+ * The index is trusted by default. Setting the {@literal loader.index.validate} system
+ * property to {@code true} causes it to be ignored if any indexed folder has been
+ * modified after the index was written.
+ * <p>
+ * The index for an unpacked archive can be written by running this class with the root
+ * folder of the archive as the only argument.
+ *
+ * @author agent
+ * @since 1.4.0
+ */
+public final class ExplodedArchiveIndex {
+
+	/**
+	 * The name of the index file, relative to the root of the archive.
+	 */
+	public static final String INDEX_NAME = "META-INF/exploded-archive.idx";
+
+	/**
+	 * Property used to enable validation of the index against folder modification
+	 * times.
+	 */
+	public static final String VALIDATE = "loader.index.validate";
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final List<String> names;
+
+	private ExplodedArchiveIndex(List<String> names) {
+		this.names = names;
+	}
+
+	/**
+	 * Return the names of all indexed entries.
+	 * @return the entry names
+	 */
+	List<String> getNames() {
+		return this.names;
+	}
+
+	/**
+	 * Return the index for the entries below the given folder entry, with names
+	 * relative to that folder.
+	 * @param folderName the name of the folder entry
+	 * @return the nested index
+	 */
+	ExplodedArchiveIndex getNested(String folderName) {
+		List<String> nested = new ArrayList<String>();
+		for (String name : this.names) {
+			if (name.startsWith(folderName) && name.length() > folderName.length()) {
+				nested.add(name.substring(folderName.length()));
+			}
+		}
+		return new ExplodedArchiveIndex(nested);
+	}
+
+	/**
+	 * Load the index for the given root folder.
+	 * @param root the root folder of the exploded archive
+	 * @return the index or {@code null} if there is no usable index
+	 */
+	static ExplodedArchiveIndex load(File root) {
+		File indexFile = new File(root, INDEX_NAME);
+		if (!indexFile.isFile()) {
+			return null;
+		}
+		try {
+			List<String> names = readNames(indexFile);
+			if (Boolean.valueOf(SystemPropertyUtils.getProperty(VALIDATE))
+					&& !isValid(root, indexFile, names)) {
+				return null;
+			}
+			return new ExplodedArchiveIndex(Collections.unmodifiableList(names));
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	private static List<String> readNames(File indexFile) throws IOException {
+		List<String> names = new ArrayList<String>();
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(indexFile), UTF_8));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.length() > 0) {
+					names.add(line);
+				}
+			}
+		}
+		finally {
+			reader.close();
+		}
+		return names;
+	}
+
+	private static boolean isValid(File root, File indexFile, List<String> names) {
+		long indexLastModified = indexFile.lastModified();
+		if (root.lastModified() > indexLastModified) {
+			return false;
+		}
+		for (String name : names) {
+			if (name.endsWith("/")) {
+				File folder = new File(root, name);
+				if (!folder.isDirectory()
+						|| folder.lastModified() > indexLastModified) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Write the index for the given root folder, replacing any existing index.
+	 * @param root the root folder of the exploded archive
+	 * @throws IOException if the index cannot be written
+	 */
+	public static void write(File root) throws IOException {
+		File indexFile = new File(root, INDEX_NAME);
+		indexFile.getParentFile().mkdirs();
+		indexFile.createNewFile();
+		List<String> names = new ArrayList<String>();
+		for (Archive.Entry entry : new ExplodedArchive(root, true, null)) {
+			names.add(entry.getName());
+		}
+		Writer writer = new OutputStreamWriter(new FileOutputStream(indexFile), UTF_8);
+		try {
+			for (String name : names) {
+				writer.write(name);
+				writer.write("\n");
+			}
+		}
+		finally {
+			writer.close();
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println(
+					"Usage: java " + ExplodedArchiveIndex.class.getName() + " <root>");
+			System.exit(1);
+		}
+		write(new File(args[0]));
+	}
+
+}
@@ -19,13 +19,14 @@ package org.springframework.boot.loader.jar;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.ref.SoftReference;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLStreamHandler;
 import java.net.URLStreamHandlerFactory;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
 import java.util.zip.ZipEntry;
@@ -70,10 +71,16 @@ public class JarFile extends java.util.jar.JarFile {
 
 	private JarFileEntries entries;
 
-	private SoftReference<Manifest> manifest;
+	private final JarFile parent;
+
+	private volatile Manifest manifest;
+
+	private volatile boolean manifestLoaded;
 
 	private boolean signed;
 
+	private Map<String, java.util.jar.JarEntry> certificateEntries;
+
 	/**
 	 * Create a new {@link JarFile} backed by the specified file.
 	 * @param file the root jar file
@@ -103,15 +110,16 @@ public class JarFile extends java.util.jar.JarFile {
 	 */
 	private JarFile(RandomAccessDataFile rootFile, String pathFromRoot,
 			RandomAccessData data, JarFileType type) throws IOException {
-		this(rootFile, pathFromRoot, data, null, type);
+		this(rootFile, pathFromRoot, data, null, null, type);
 	}
 
 	private JarFile(RandomAccessDataFile rootFile, String pathFromRoot,
-			RandomAccessData data, JarEntryFilter filter, JarFileType type)
-					throws IOException {
+			RandomAccessData data, JarFile parent, JarEntryFilter filter,
+			JarFileType type) throws IOException {
 		super(rootFile.getFile());
 		this.rootFile = rootFile;
 		this.pathFromRoot = pathFromRoot;
+		this.parent = parent;
 		CentralDirectoryParser parser = new CentralDirectoryParser();
 		this.entries = parser.addVisitor(new JarFileEntries(this, filter));
 		parser.addVisitor(centralDirectoryVisitor());
@@ -154,27 +162,31 @@ public class JarFile extends java.util.jar.JarFile {
 
 	@Override
 	public Manifest getManifest() throws IOException {
-		Manifest manifest = (this.manifest == null ? null : this.manifest.get());
-		if (manifest == null) {
-			if (this.type == JarFileType.NESTED_DIRECTORY) {
-				manifest = new JarFile(this.getRootJarFile()).getManifest();
-			}
-			else {
-				InputStream inputStream = getInputStream(MANIFEST_NAME,
-						ResourceAccess.ONCE);
-				if (inputStream == null) {
-					return null;
-				}
-				try {
-					manifest = new Manifest(inputStream);
-				}
-				finally {
-					inputStream.close();
+		if (!this.manifestLoaded) {
+			synchronized (this) {
+				if (!this.manifestLoaded) {
+					this.manifest = loadManifest();
+					this.manifestLoaded = true;
 				}
 			}
-			this.manifest = new SoftReference<Manifest>(manifest);
 		}
-		return manifest;
+		return this.manifest;
+	}
+
+	private Manifest loadManifest() throws IOException {
+		if (this.type == JarFileType.NESTED_DIRECTORY) {
+			return this.parent.getManifest();
+		}
+		InputStream inputStream = getInputStream(MANIFEST_NAME, ResourceAccess.ONCE);
+		if (inputStream == null) {
+			return null;
+		}
+		try {
+			return new Manifest(inputStream);
+		}
+		finally {
+			inputStream.close();
+		}
 	}
 
 	@Override
@@ -276,7 +288,7 @@ public class JarFile extends java.util.jar.JarFile {
 		return new JarFile(this.rootFile,
 				this.pathFromRoot + "!/"
 						+ entry.getName().substring(0, sourceName.length() - 1),
-				this.data, filter, JarFileType.NESTED_DIRECTORY);
+				this.data, this, filter, JarFileType.NESTED_DIRECTORY);
 	}
 
 	private JarFile createJarFileFromFileEntry(JarEntry entry) throws IOException {
@@ -331,38 +343,44 @@ public class JarFile extends java.util.jar.JarFile {
 		return this.signed;
 	}
 
-	void setupEntryCertificates(JarEntry entry) {
-		// Fallback to JarInputStream to obtain certificates, not fast but hopefully not
-		// happening that often.
+	synchronized void setupEntryCertificates(JarEntry entry) {
+		if (this.certificateEntries == null) {
+			this.certificateEntries = readCertificateEntries();
+		}
+		// Certificates are held here rather than only on the entries so that they
+		// survive the entry cache being cleared
+		java.util.jar.JarEntry certEntry = this.certificateEntries
+				.get(entry.getName());
+		if (certEntry != null) {
+			entry.setCertificates(certEntry);
+		}
+	}
+
+	private Map<String, java.util.jar.JarEntry> readCertificateEntries() {
+		// Fallback to JarInputStream to obtain certificates, not fast but only happens
+		// once and only when a signed entry is requested.
 		try {
+			Map<String, java.util.jar.JarEntry> certificates = new HashMap<String, java.util.jar.JarEntry>();
 			JarInputStream inputStream = new JarInputStream(
 					getData().getInputStream(ResourceAccess.ONCE));
 			try {
 				java.util.jar.JarEntry certEntry = inputStream.getNextJarEntry();
 				while (certEntry != null) {
 					inputStream.closeEntry();
-					if (entry.getName().equals(certEntry.getName())) {
-						setCertificates(entry, certEntry);
-					}
-					setCertificates(getJarEntry(certEntry.getName()), certEntry);
+					certificates.put(certEntry.getName(), certEntry);
 					certEntry = inputStream.getNextJarEntry();
 				}
 			}
 			finally {
 				inputStream.close();
 			}
+			return certificates;
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException(ex);
 		}
 	}
 
-	private void setCertificates(JarEntry entry, java.util.jar.JarEntry certEntry) {
-		if (entry != null) {
-			entry.setCertificates(certEntry);
-		}
-	}
-
 	public void clearCache() {
 		this.entries.clearCache();
 	}
@@ -225,9 +225,12 @@ final class JarURLConnection extends java.net.JarURLConnection {
 	}
 
 	static JarURLConnection get(URL url, JarFile jarFile) throws IOException {
-		String spec = extractFullSpec(url, jarFile.getPathFromRoot());
+		String spec = url.getFile();
+		int index = indexOfRootSpec(spec, jarFile.getPathFromRoot());
+		if (index == -1) {
+			return new JarURLConnection(url, jarFile, EMPTY_JAR_ENTRY_NAME);
+		}
 		int separator;
-		int index = 0;
 		while ((separator = spec.indexOf(SEPARATOR, index)) > 0) {
 			String entryName = spec.substring(index, separator);
 			JarEntry jarEntry = jarFile.getJarEntry(entryName);
@@ -235,7 +238,7 @@ final class JarURLConnection extends java.net.JarURLConnection {
 				return JarURLConnection.notFound(jarFile, JarEntryName.get(entryName));
 			}
 			jarFile = jarFile.getNestedJarFile(jarEntry);
-			index += separator + SEPARATOR.length();
+			index = separator + SEPARATOR.length();
 		}
 		JarEntryName jarEntryName = JarEntryName.get(spec, index);
 		if (Boolean.TRUE.equals(useFastExceptions.get())) {
@@ -247,14 +250,20 @@ final class JarURLConnection extends java.net.JarURLConnection {
 		return new JarURLConnection(url, jarFile, jarEntryName);
 	}
 
-	private static String extractFullSpec(URL url, String pathFromRoot) {
-		String file = url.getFile();
+	/**
+	 * Return the index in the given URL file of the first character after the root
+	 * spec (the root jar file and the path of the jar file from the root), avoiding the
+	 * need to extract the remainder of the spec as a separate string.
+	 * @param file the URL file
+	 * @param pathFromRoot the path of the jar file from the root
+	 * @return the index of the remaining spec or {@code -1} if there is none
+	 */
+	private static int indexOfRootSpec(String file, String pathFromRoot) {
 		int separatorIndex = file.indexOf(SEPARATOR);
 		if (separatorIndex < 0) {
-			return "";
+			return -1;
 		}
-		int specIndex = separatorIndex + SEPARATOR.length() + pathFromRoot.length();
-		return file.substring(specIndex);
+		return separatorIndex + SEPARATOR.length() + pathFromRoot.length();
 	}
 
 	private static JarURLConnection notFound() {
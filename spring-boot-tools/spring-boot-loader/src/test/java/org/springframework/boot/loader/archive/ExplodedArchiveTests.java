@@ -187,6 +187,55 @@ public class ExplodedArchiveTests {
 		loader.close();
 	}
 
+	@Test
+	public void getEntriesFromIndex() throws Exception {
+		ExplodedArchiveIndex.write(this.rootFolder);
+		new File(this.rootFolder, "added.txt").createNewFile();
+		ExplodedArchive archive = new ExplodedArchive(this.rootFolder);
+		Map<String, Archive.Entry> entries = getEntriesMap(archive);
+		assertThat(entries.size()).isEqualTo(11);
+		assertThat(entries).doesNotContainKey("added.txt");
+		assertThat(entries.get("d/").isDirectory()).isTrue();
+		assertThat(entries.get("nested.jar").isDirectory()).isFalse();
+	}
+
+	@Test
+	public void getNonRecursiveEntriesFromIndex() throws Exception {
+		ExplodedArchiveIndex.write(this.rootFolder);
+		Map<String, Archive.Entry> expected = getEntriesMap(
+				new ExplodedArchive(this.rootFolder, false, null));
+		Map<String, Archive.Entry> entries = getEntriesMap(
+				new ExplodedArchive(this.rootFolder, false));
+		assertThat(entries.keySet()).isEqualTo(expected.keySet());
+	}
+
+	@Test
+	public void nestedDirArchiveFromIndex() throws Exception {
+		ExplodedArchiveIndex.write(this.rootFolder);
+		ExplodedArchive archive = new ExplodedArchive(this.rootFolder);
+		Entry entry = getEntriesMap(archive).get("d/");
+		Map<String, Entry> nestedEntries = getEntriesMap(
+				archive.getNestedArchive(entry));
+		assertThat(nestedEntries.keySet()).containsExactly("9.dat");
+	}
+
+	@Test
+	public void staleIndexIsIgnoredWhenValidating() throws Exception {
+		ExplodedArchiveIndex.write(this.rootFolder);
+		File indexFile = new File(this.rootFolder, ExplodedArchiveIndex.INDEX_NAME);
+		indexFile.setLastModified(indexFile.lastModified() - 10000);
+		new File(this.rootFolder, "added.txt").createNewFile();
+		System.setProperty(ExplodedArchiveIndex.VALIDATE, "true");
+		try {
+			ExplodedArchive archive = new ExplodedArchive(this.rootFolder);
+			Map<String, Archive.Entry> entries = getEntriesMap(archive);
+			assertThat(entries).containsKey("added.txt");
+		}
+		finally {
+			System.clearProperty(ExplodedArchiveIndex.VALIDATE);
+		}
+	}
+
 	private Map<String, Archive.Entry> getEntriesMap(Archive archive) {
 		Map<String, Archive.Entry> entries = new HashMap<String, Archive.Entry>();
 		for (Archive.Entry entry : archive) {
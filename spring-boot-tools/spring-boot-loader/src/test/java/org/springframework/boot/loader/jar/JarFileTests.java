@@ -109,6 +109,11 @@ public class JarFileTests {
 				.isEqualTo("j1");
 	}
 
+	@Test
+	public void getManifestIsOnlyReadOnce() throws Exception {
+		assertThat(this.jarFile.getManifest()).isSameAs(this.jarFile.getManifest());
+	}
+
 	@Test
 	public void getManifestEntry() throws Exception {
 		ZipEntry entry = this.jarFile.getJarEntry("META-INF/MANIFEST.MF");
@@ -293,6 +298,13 @@ public class JarFileTests {
 				.isSameAs(nestedJarFile);
 	}
 
+	@Test
+	public void getNestedJarDirectoryManifest() throws Exception {
+		JarFile nestedJarFile = this.jarFile
+				.getNestedJarFile(this.jarFile.getEntry("d/"));
+		assertThat(nestedJarFile.getManifest()).isSameAs(this.jarFile.getManifest());
+	}
+
 	@Test
 	public void getNestedJarEntryUrl() throws Exception {
 		JarFile nestedJarFile = this.jarFile
@@ -370,16 +382,7 @@ public class JarFileTests {
 
 	@Test
 	public void verifySignedJar() throws Exception {
-		String classpath = System.getProperty("java.class.path");
-		String[] entries = classpath.split(System.getProperty("path.separator"));
-		String signedJarFile = null;
-		for (String entry : entries) {
-			if (entry.contains("bcprov")) {
-				signedJarFile = entry;
-			}
-		}
-		assertThat(signedJarFile).isNotNull();
-		java.util.jar.JarFile jarFile = new JarFile(new File(signedJarFile));
+		java.util.jar.JarFile jarFile = new JarFile(getSignedJarFile());
 		jarFile.getManifest();
 		Enumeration<JarEntry> jarEntries = jarFile.entries();
 		while (jarEntries.hasMoreElements()) {
@@ -395,6 +398,37 @@ public class JarFileTests {
 		jarFile.close();
 	}
 
+	@Test
+	public void signedJarCertificatesSurviveClearCache() throws Exception {
+		JarFile jarFile = new JarFile(getSignedJarFile());
+		try {
+			String name = "org/bouncycastle/jce/provider/BouncyCastleProvider.class";
+			JarEntry entry = jarFile.getJarEntry(name);
+			assertThat(entry.getCertificates()).isNotNull();
+			jarFile.clearCache();
+			JarEntry reloaded = jarFile.getJarEntry(name);
+			assertThat(reloaded).isNotSameAs(entry);
+			assertThat(reloaded.getCertificates()).isNotNull();
+			assertThat(reloaded.getCodeSigners()).isNotNull();
+		}
+		finally {
+			jarFile.close();
+		}
+	}
+
+	private File getSignedJarFile() {
+		String classpath = System.getProperty("java.class.path");
+		String[] entries = classpath.split(System.getProperty("path.separator"));
+		String signedJarFile = null;
+		for (String entry : entries) {
+			if (entry.contains("bcprov")) {
+				signedJarFile = entry;
+			}
+		}
+		assertThat(signedJarFile).isNotNull();
+		return new File(signedJarFile);
+	}
+
 	@Test
 	public void jarFileWithScriptAtTheStart() throws Exception {
 		File file = this.temporaryFolder.newFile();
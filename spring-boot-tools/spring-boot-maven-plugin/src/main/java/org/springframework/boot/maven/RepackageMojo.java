@@ -180,6 +180,24 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 	@Parameter(defaultValue = "false")
 	public boolean includeSystemScope;
 
+	/**
+	 * Record the checksums of nested libraries in
+	 * <code>target/spring-boot-libraries.idx</code> so that libraries that have not
+	 * changed do not need to be read again the next time the archive is repackaged.
+	 * @since 1.4
+	 */
+	@Parameter(defaultValue = "false")
+	private boolean incremental;
+
+	/**
+	 * Write nested libraries, sorted by name, before the application classes so that
+	 * they form a stable prefix of the archive. This allows delta-based transfers of
+	 * the archive to skip unchanged dependencies.
+	 * @since 1.4
+	 */
+	@Parameter(defaultValue = "false")
+	private boolean librariesFirst;
+
 	@Override
 	public void execute() throws MojoExecutionException, MojoFailureException {
 		if (this.project.getPackaging().equals("pom")) {
@@ -226,6 +244,11 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 	private Repackager getRepackager(File source) {
 		Repackager repackager = new LoggingRepackager(source, getLog());
 		repackager.setMainClass(this.mainClass);
+		if (this.incremental) {
+			repackager.setLibraryIndex(
+					new File(this.outputDirectory, "spring-boot-libraries.idx"));
+		}
+		repackager.setLibrariesFirst(this.librariesFirst);
 		if (this.layout != null) {
 			getLog().info("Layout: " + this.layout);
 			repackager.setLayout(this.layout.layout());
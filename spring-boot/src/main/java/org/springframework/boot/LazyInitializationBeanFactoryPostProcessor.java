@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.boot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.core.Ordered;
+
+/**
+ * {@link BeanFactoryPostProcessor} to set the lazy attribute on bean definitions so that
+ * beans are only created when they are first needed. The following bean definitions are
+ * not changed:
+ * <ul>
+ * <li>Infrastructure bean definitions</li>
+ * <li>{@link SmartInitializingSingleton} beans, since they would never receive their
+ * callback</li>
+ * <li>Bean definitions that are excluded by a {@link LazyInitializationExcludeFilter}
+ * bean</li>
+ * </ul>
+ *
+ * @author agent
+ * @since 1.4.0
+ * @see SpringApplication#setLazyInitialization(boolean)
+ */
+public class LazyInitializationBeanFactoryPostProcessor
+		implements BeanFactoryPostProcessor, Ordered {
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory)
+			throws BeansException {
+		List<LazyInitializationExcludeFilter> filters = getFilters(beanFactory);
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+			if (beanDefinition instanceof AbstractBeanDefinition) {
+				postProcess(beanFactory, filters, beanName,
+						(AbstractBeanDefinition) beanDefinition);
+			}
+		}
+	}
+
+	private List<LazyInitializationExcludeFilter> getFilters(
+			ConfigurableListableBeanFactory beanFactory) {
+		// Take care not to force the eager init of factory beans when getting filters
+		Collection<LazyInitializationExcludeFilter> beans = beanFactory
+				.getBeansOfType(LazyInitializationExcludeFilter.class, false, false)
+				.values();
+		List<LazyInitializationExcludeFilter> filters = new ArrayList<LazyInitializationExcludeFilter>(
+				beans.size() + 1);
+		filters.add(LazyInitializationExcludeFilter
+				.forBeanTypes(SmartInitializingSingleton.class));
+		filters.addAll(beans);
+		return filters;
+	}
+
+	private void postProcess(ConfigurableListableBeanFactory beanFactory,
+			List<LazyInitializationExcludeFilter> filters, String beanName,
+			AbstractBeanDefinition beanDefinition) {
+		if (beanDefinition.isLazyInit()
+				|| beanDefinition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+			return;
+		}
+		Class<?> beanType = getBeanType(beanFactory, beanName);
+		if (!isExcluded(filters, beanName, beanDefinition, beanType)) {
+			beanDefinition.setLazyInit(true);
+		}
+	}
+
+	private Class<?> getBeanType(ConfigurableListableBeanFactory beanFactory,
+			String beanName) {
+		try {
+			// Use the type of factory beans rather than the type that they create since
+			// determining that can require the factory bean to be created
+			if (beanFactory.isFactoryBean(beanName)) {
+				return beanFactory.getType(BeanFactory.FACTORY_BEAN_PREFIX + beanName);
+			}
+			return beanFactory.getType(beanName);
+		}
+		catch (BeansException ex) {
+			return null;
+		}
+	}
+
+	private boolean isExcluded(List<LazyInitializationExcludeFilter> filters,
+			String beanName, AbstractBeanDefinition beanDefinition, Class<?> beanType) {
+		for (LazyInitializationExcludeFilter filter : filters) {
+			if (filter.isExcluded(beanName, beanDefinition, beanType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+}
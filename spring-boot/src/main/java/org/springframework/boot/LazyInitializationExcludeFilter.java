@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.boot;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+
+/**
+ * Filter that can be used to exclude bean definitions from having their
+ * {@link org.springframework.beans.factory.support.AbstractBeanDefinition#setLazyInit(boolean)
+ * lazy-init} set by the {@link LazyInitializationBeanFactoryPostProcessor}. Filters are
+ * discovered as beans of this type in the application context.
+ * <p>
+ * Beans that must be created eagerly, for example those that start background work or
+ * that register themselves with an external system, should be excluded.
+ *
+ * @author agent
+ * @since 1.4.0
+ * @see LazyInitializationBeanFactoryPostProcessor
+ */
+public abstract class LazyInitializationExcludeFilter {
+
+	/**
+	 * Returns {@code true} if the specified bean definition should be excluded from
+	 * having {@code lazy-init} automatically set.
+	 * @param beanName the bean name
+	 * @param beanDefinition the bean definition
+	 * @param beanType the bean type or, for a
+	 * {@link org.springframework.beans.factory.FactoryBean}, the type of the factory (may
+	 * be {@code null} if it cannot be determined)
+	 * @return {@code true} if {@code lazy-init} should not be automatically set
+	 */
+	public abstract boolean isExcluded(String beanName, BeanDefinition beanDefinition,
+			Class<?> beanType);
+
+	/**
+	 * Factory method that creates a filter for the given bean types.
+	 * @param types the filtered types
+	 * @return a new filter instance
+	 */
+	public static LazyInitializationExcludeFilter forBeanTypes(final Class<?>... types) {
+		return new LazyInitializationExcludeFilter() {
+
+			@Override
+			public boolean isExcluded(String beanName, BeanDefinition beanDefinition,
+					Class<?> beanType) {
+				if (beanType != null) {
+					for (Class<?> type : types) {
+						if (type.isAssignableFrom(beanType)) {
+							return true;
+						}
+					}
+				}
+				return false;
+			}
+
+		};
+	}
+
+}
@@ -16,6 +16,10 @@
 
 package org.springframework.boot;
 
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Constructor;
 import java.security.AccessControlException;
 import java.util.ArrayList;
@@ -40,6 +44,8 @@ import org.springframework.beans.factory.support.BeanNameGenerator;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.boot.Banner.Mode;
 import org.springframework.boot.diagnostics.FailureAnalyzers;
+import org.springframework.boot.startup.StartupTimeline;
+import org.springframework.boot.startup.StartupTimelineBeanPostProcessors;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ApplicationListener;
@@ -172,6 +178,12 @@ public class SpringApplication {
 	 */
 	public static final String BANNER_LOCATION_PROPERTY = SpringApplicationBannerPrinter.BANNER_LOCATION_PROPERTY;
 
+	/**
+	 * Startup trace file property key.
+	 * @since 1.4.0
+	 */
+	public static final String STARTUP_TRACE_FILE_PROPERTY = "spring.startup.trace-file";
+
 	private static final String CONFIGURABLE_WEB_ENVIRONMENT_CLASS = "org.springframework.web.context.ConfigurableWebEnvironment";
 
 	private static final String SYSTEM_PROPERTY_JAVA_AWT_HEADLESS = "java.awt.headless";
@@ -216,6 +228,10 @@ public class SpringApplication {
 
 	private boolean registerShutdownHook = true;
 
+	private boolean recordStartupTimeline;
+
+	private boolean lazyInitialization;
+
 	private List<ApplicationContextInitializer<?>> initializers;
 
 	private List<ApplicationListener<?>> listeners;
@@ -297,6 +313,27 @@ public class SpringApplication {
 	public ConfigurableApplicationContext run(String... args) {
 		StopWatch stopWatch = new StopWatch();
 		stopWatch.start();
+		StartupTimeline timeline = (this.recordStartupTimeline
+				? StartupTimeline.startRecording() : StartupTimeline.get());
+		int runStep = timeline.start("application.run");
+		ConfigurableApplicationContext context;
+		try {
+			context = doRun(timeline, stopWatch, args);
+		}
+		finally {
+			timeline.end(runStep);
+			if (this.recordStartupTimeline) {
+				StartupTimeline.stopRecording(timeline);
+			}
+		}
+		if (this.recordStartupTimeline) {
+			writeStartupTrace(timeline, context.getEnvironment());
+		}
+		return context;
+	}
+
+	private ConfigurableApplicationContext doRun(StartupTimeline timeline,
+			StopWatch stopWatch, String[] args) {
 		ConfigurableApplicationContext context = null;
 		configureHeadlessProperty();
 		SpringApplicationRunListeners listeners = getRunListeners(args);
@@ -304,14 +341,44 @@ public class SpringApplication {
 		try {
 			ApplicationArguments applicationArguments = new DefaultApplicationArguments(
 					args);
-			ConfigurableEnvironment environment = prepareEnvironment(listeners,
-					applicationArguments);
+			int step = timeline.start("application.prepare-environment");
+			ConfigurableEnvironment environment;
+			try {
+				environment = prepareEnvironment(listeners, applicationArguments);
+			}
+			finally {
+				timeline.end(step);
+			}
 			Banner printedBanner = printBanner(environment);
-			context = createApplicationContext();
-			prepareContext(context, environment, listeners, applicationArguments,
-					printedBanner);
-			refreshContext(context);
-			afterRefresh(context, applicationArguments);
+			step = timeline.start("application.create-context");
+			try {
+				context = createApplicationContext();
+			}
+			finally {
+				timeline.end(step);
+			}
+			step = timeline.start("application.prepare-context");
+			try {
+				prepareContext(context, environment, listeners, applicationArguments,
+						printedBanner);
+			}
+			finally {
+				timeline.end(step);
+			}
+			step = timeline.start("application.refresh");
+			try {
+				refreshContext(context);
+			}
+			finally {
+				timeline.end(step);
+			}
+			step = timeline.start("application.after-refresh");
+			try {
+				afterRefresh(context, applicationArguments);
+			}
+			finally {
+				timeline.end(step);
+			}
 			listeners.finished(context, null);
 			stopWatch.stop();
 			if (this.logStartupInfo) {
@@ -326,6 +393,25 @@ public class SpringApplication {
 		}
 	}
 
+	private void writeStartupTrace(StartupTimeline timeline, Environment environment) {
+		String traceFile = environment.getProperty(STARTUP_TRACE_FILE_PROPERTY);
+		if (StringUtils.hasLength(traceFile)) {
+			try {
+				Writer writer = new OutputStreamWriter(new FileOutputStream(traceFile),
+						"UTF-8");
+				try {
+					timeline.writeChromeTrace(writer);
+				}
+				finally {
+					writer.close();
+				}
+			}
+			catch (IOException ex) {
+				logger.warn("Unable to write startup trace to " + traceFile, ex);
+			}
+		}
+	}
+
 	private ConfigurableEnvironment prepareEnvironment(
 			SpringApplicationRunListeners listeners,
 			ApplicationArguments applicationArguments) {
@@ -344,6 +430,10 @@ public class SpringApplication {
 			ApplicationArguments applicationArguments, Banner printedBanner) {
 		context.setEnvironment(environment);
 		postProcessApplicationContext(context);
+		if (this.lazyInitialization) {
+			context.addBeanFactoryPostProcessor(
+					new LazyInitializationBeanFactoryPostProcessor());
+		}
 		applyInitializers(context);
 		listeners.contextPrepared(context);
 		if (this.logStartupInfo) {
@@ -354,6 +444,12 @@ public class SpringApplication {
 		// Add boot specific singleton beans
 		context.getBeanFactory().registerSingleton("springApplicationArguments",
 				applicationArguments);
+		StartupTimeline timeline = StartupTimeline.get();
+		if (timeline.isEnabled()) {
+			context.getBeanFactory().registerSingleton("springStartupTimeline", timeline);
+			StartupTimelineBeanPostProcessors.register(context.getBeanFactory(),
+					timeline);
+		}
 		if (printedBanner != null) {
 			context.getBeanFactory().registerSingleton("springBootBanner", printedBanner);
 		}
@@ -992,6 +1088,31 @@ public class SpringApplication {
 		this.logStartupInfo = logStartupInfo;
 	}
 
+	/**
+	 * Sets if beans should be initialized lazily. When {@code true}, bean definitions
+	 * are marked lazy so that beans are only created when they are first needed. Beans
+	 * that must be created eagerly can be excluded using a
+	 * {@link LazyInitializationExcludeFilter} bean. Defaults to {@code false}.
+	 * @param lazyInitialization if initialization should be lazy
+	 * @since 1.4.0
+	 * @see LazyInitializationBeanFactoryPostProcessor
+	 */
+	public void setLazyInitialization(boolean lazyInitialization) {
+		this.lazyInitialization = lazyInitialization;
+	}
+
+	/**
+	 * Sets if a {@link StartupTimeline} should be recorded whilst the application
+	 * starts. The timeline is registered as a bean and can optionally be written as a
+	 * Chrome trace file using the {@code spring.startup.trace-file} property. Defaults
+	 * to {@code false}.
+	 * @param recordStartupTimeline if the startup timeline should be recorded
+	 * @since 1.4.0
+	 */
+	public void setRecordStartupTimeline(boolean recordStartupTimeline) {
+		this.recordStartupTimeline = recordStartupTimeline;
+	}
+
 	/**
 	 * Sets if a {@link CommandLinePropertySource} should be added to the application
 	 * context in order to expose arguments. Defaults to {@code true}.
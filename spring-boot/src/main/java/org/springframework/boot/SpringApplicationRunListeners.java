@@ -22,6 +22,7 @@ import java.util.List;
 
 import org.apache.commons.logging.Log;
 
+import org.springframework.boot.startup.StartupTimeline;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.util.ReflectionUtils;
@@ -44,32 +45,67 @@ class SpringApplicationRunListeners {
 	}
 
 	public void started() {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.started();
+		StartupTimeline timeline = StartupTimeline.get();
+		int step = timeline.start("listeners.started");
+		try {
+			for (SpringApplicationRunListener listener : this.listeners) {
+				listener.started();
+			}
+		}
+		finally {
+			timeline.end(step);
 		}
 	}
 
 	public void environmentPrepared(ConfigurableEnvironment environment) {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.environmentPrepared(environment);
+		StartupTimeline timeline = StartupTimeline.get();
+		int step = timeline.start("listeners.environment-prepared");
+		try {
+			for (SpringApplicationRunListener listener : this.listeners) {
+				listener.environmentPrepared(environment);
+			}
+		}
+		finally {
+			timeline.end(step);
 		}
 	}
 
 	public void contextPrepared(ConfigurableApplicationContext context) {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.contextPrepared(context);
+		StartupTimeline timeline = StartupTimeline.get();
+		int step = timeline.start("listeners.context-prepared");
+		try {
+			for (SpringApplicationRunListener listener : this.listeners) {
+				listener.contextPrepared(context);
+			}
+		}
+		finally {
+			timeline.end(step);
 		}
 	}
 
 	public void contextLoaded(ConfigurableApplicationContext context) {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.contextLoaded(context);
+		StartupTimeline timeline = StartupTimeline.get();
+		int step = timeline.start("listeners.context-loaded");
+		try {
+			for (SpringApplicationRunListener listener : this.listeners) {
+				listener.contextLoaded(context);
+			}
+		}
+		finally {
+			timeline.end(step);
 		}
 	}
 
 	public void finished(ConfigurableApplicationContext context, Throwable exception) {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			callFinishedListener(listener, context, exception);
+		StartupTimeline timeline = StartupTimeline.get();
+		int step = timeline.start("listeners.finished");
+		try {
+			for (SpringApplicationRunListener listener : this.listeners) {
+				callFinishedListener(listener, context, exception);
+			}
+		}
+		finally {
+			timeline.end(step);
 		}
 	}
 
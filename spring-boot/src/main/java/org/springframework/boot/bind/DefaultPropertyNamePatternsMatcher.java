@@ -99,6 +99,15 @@ class DefaultPropertyNamePatternsMatcher implements PropertyNamePatternsMatcher
 		return false;
 	}
 
+	/**
+	 * Return the names used by the matcher. Any matching property name will start with
+	 * one of these names.
+	 * @return the names
+	 */
+	String[] getNames() {
+		return this.names;
+	}
+
 	private boolean isCharMatch(char c1, char c2) {
 		if (this.ignoreCase) {
 			return Character.toLowerCase(c1) == Character.toLowerCase(c2);
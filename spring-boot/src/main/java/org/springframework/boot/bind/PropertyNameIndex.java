@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.bind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Index of the property names of an {@link EnumerablePropertySource} that allows the
+ * names starting with a given prefix to be found without scanning every name. Names are
+ * indexed in lower case so that the index can be used for relaxed matching. Indexes are
+ * shared and only rebuilt when the property names of the source change.
+ *
+ * @author agent
+ */
+final class PropertyNameIndex {
+
+	private static final Map<EnumerablePropertySource<?>, PropertyNameIndex> cache = new ConcurrentReferenceHashMap<EnumerablePropertySource<?>, PropertyNameIndex>();
+
+	private final EnumerablePropertySource<?> source;
+
+	private final String[] names;
+
+	private final String[] sortedNames;
+
+	private final int[] positions;
+
+	private PropertyNameIndex(EnumerablePropertySource<?> source, String[] names) {
+		this.source = source;
+		this.names = names;
+		final String[] lowerCaseNames = new String[names.length];
+		Integer[] order = new Integer[names.length];
+		for (int i = 0; i < names.length; i++) {
+			lowerCaseNames[i] = toLowerCase(names[i]);
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				return lowerCaseNames[o1].compareTo(lowerCaseNames[o2]);
+			}
+
+		});
+		this.sortedNames = new String[names.length];
+		this.positions = new int[names.length];
+		for (int i = 0; i < order.length; i++) {
+			this.sortedNames[i] = lowerCaseNames[order[i]];
+			this.positions[i] = order[i];
+		}
+	}
+
+	private boolean isFor(EnumerablePropertySource<?> source, String[] names) {
+		return this.source == source && Arrays.equals(this.names, names);
+	}
+
+	/**
+	 * Return the property names that start with any of the given prefixes, ignoring
+	 * case. Names are returned in the order that they were provided by the source.
+	 * @param prefixes the prefixes to find
+	 * @return the matching property names
+	 */
+	public List<String> getNamesStartingWith(String... prefixes) {
+		BitSet matches = new BitSet(this.names.length);
+		for (String prefix : prefixes) {
+			String lowerCasePrefix = toLowerCase(prefix);
+			int index = Arrays.binarySearch(this.sortedNames, lowerCasePrefix);
+			index = (index < 0 ? -index - 1 : index);
+			while (index < this.sortedNames.length
+					&& this.sortedNames[index].startsWith(lowerCasePrefix)) {
+				matches.set(this.positions[index]);
+				index++;
+			}
+		}
+		List<String> names = new ArrayList<String>(matches.cardinality());
+		for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+			names.add(this.names[i]);
+		}
+		return names;
+	}
+
+	/**
+	 * Lower case the given string one character at a time, consistent with the
+	 * case-insensitive comparison of {@link DefaultPropertyNamePatternsMatcher}.
+	 * @param name the name to lower case
+	 * @return the lower case name
+	 */
+	private static String toLowerCase(String name) {
+		char[] chars = name.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(chars[i]);
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Return the index for the given source, creating or rebuilding it if the property
+	 * names of the source have changed since it was last indexed.
+	 * @param source the source to index
+	 * @return the property name index
+	 */
+	public static PropertyNameIndex get(EnumerablePropertySource<?> source) {
+		String[] names = source.getPropertyNames();
+		PropertyNameIndex index = cache.get(source);
+		if (index == null || !index.isFor(source, names)) {
+			index = new PropertyNameIndex(source, names);
+			cache.put(source, index);
+		}
+		return index;
+	}
+
+}
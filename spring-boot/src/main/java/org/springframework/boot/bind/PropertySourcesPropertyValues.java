@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.bind;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -125,16 +126,25 @@ public class PropertySourcesPropertyValues implements PropertyValues {
 	private void processEnumerablePropertySource(EnumerablePropertySource<?> source,
 			PropertySourcesPropertyResolver resolver,
 			PropertyNamePatternsMatcher includes) {
-		if (source.getPropertyNames().length > 0) {
-			for (String propertyName : source.getPropertyNames()) {
-				if (includes.matches(propertyName)) {
-					Object value = getEnumerableProperty(source, resolver, propertyName);
-					putIfAbsent(propertyName, value, source);
-				}
+		for (String propertyName : getCandidatePropertyNames(source, includes)) {
+			if (includes.matches(propertyName)) {
+				Object value = getEnumerableProperty(source, resolver, propertyName);
+				putIfAbsent(propertyName, value, source);
 			}
 		}
 	}
 
+	private Collection<String> getCandidatePropertyNames(
+			EnumerablePropertySource<?> source, PropertyNamePatternsMatcher includes) {
+		if (includes instanceof DefaultPropertyNamePatternsMatcher) {
+			// Only names starting with one of the matcher names can match so we can
+			// use the shared index rather than checking every name in the source
+			String[] names = ((DefaultPropertyNamePatternsMatcher) includes).getNames();
+			return PropertyNameIndex.get(source).getNamesStartingWith(names);
+		}
+		return Arrays.asList(source.getPropertyNames());
+	}
+
 	private Object getEnumerableProperty(EnumerablePropertySource<?> source,
 			PropertySourcesPropertyResolver resolver, String propertyName) {
 		try {
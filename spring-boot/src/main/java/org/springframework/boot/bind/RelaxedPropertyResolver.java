@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,14 @@
 
 package org.springframework.boot.bind;
 
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.PropertyResolver;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * {@link PropertyResolver} that attempts to resolve values using {@link RelaxedNames}.
@@ -30,6 +33,8 @@ import org.springframework.util.Assert;
  */
 public class RelaxedPropertyResolver implements PropertyResolver {
 
+	private static final Map<String, String[]> relaxedNamesCache = new ConcurrentReferenceHashMap<String, String[]>();
+
 	private final PropertyResolver resolver;
 
 	private final String prefix;
@@ -74,13 +79,9 @@ public class RelaxedPropertyResolver implements PropertyResolver {
 
 	@Override
 	public <T> T getProperty(String key, Class<T> targetType, T defaultValue) {
-		RelaxedNames prefixes = new RelaxedNames(this.prefix);
-		RelaxedNames keys = new RelaxedNames(key);
-		for (String prefix : prefixes) {
-			for (String relaxedKey : keys) {
-				if (this.resolver.containsProperty(prefix + relaxedKey)) {
-					return this.resolver.getProperty(prefix + relaxedKey, targetType);
-				}
+		for (String relaxedName : getRelaxedNames(key)) {
+			if (this.resolver.containsProperty(relaxedName)) {
+				return this.resolver.getProperty(relaxedName, targetType);
 			}
 		}
 		return defaultValue;
@@ -89,14 +90,9 @@ public class RelaxedPropertyResolver implements PropertyResolver {
 	@Override
 	@Deprecated
 	public <T> Class<T> getPropertyAsClass(String key, Class<T> targetType) {
-		RelaxedNames prefixes = new RelaxedNames(this.prefix);
-		RelaxedNames keys = new RelaxedNames(key);
-		for (String prefix : prefixes) {
-			for (String relaxedKey : keys) {
-				if (this.resolver.containsProperty(prefix + relaxedKey)) {
-					return this.resolver.getPropertyAsClass(prefix + relaxedKey,
-							targetType);
-				}
+		for (String relaxedName : getRelaxedNames(key)) {
+			if (this.resolver.containsProperty(relaxedName)) {
+				return this.resolver.getPropertyAsClass(relaxedName, targetType);
 			}
 		}
 		return null;
@@ -104,18 +100,39 @@ public class RelaxedPropertyResolver implements PropertyResolver {
 
 	@Override
 	public boolean containsProperty(String key) {
-		RelaxedNames prefixes = new RelaxedNames(this.prefix);
-		RelaxedNames keys = new RelaxedNames(key);
-		for (String prefix : prefixes) {
-			for (String relaxedKey : keys) {
-				if (this.resolver.containsProperty(prefix + relaxedKey)) {
-					return true;
-				}
+		for (String relaxedName : getRelaxedNames(key)) {
+			if (this.resolver.containsProperty(relaxedName)) {
+				return true;
 			}
 		}
 		return false;
 	}
 
+	/**
+	 * Return the relaxed variations of the prefix combined with the relaxed variations of
+	 * the given key, in the order that they should be tried. Variations only depend on
+	 * the names so they are shared between resolvers rather than being generated on every
+	 * call.
+	 * @param key the key
+	 * @return the relaxed names
+	 */
+	private String[] getRelaxedNames(String key) {
+		String cacheKey = this.prefix.length() + ":" + this.prefix + key;
+		String[] relaxedNames = relaxedNamesCache.get(cacheKey);
+		if (relaxedNames == null) {
+			Set<String> names = new LinkedHashSet<String>();
+			RelaxedNames keys = new RelaxedNames(key);
+			for (String prefix : new RelaxedNames(this.prefix)) {
+				for (String relaxedKey : keys) {
+					names.add(prefix + relaxedKey);
+				}
+			}
+			relaxedNames = names.toArray(new String[names.size()]);
+			relaxedNamesCache.put(cacheKey, relaxedNames);
+		}
+		return relaxedNames;
+	}
+
 	@Override
 	public String resolvePlaceholders(String text) {
 		throw new UnsupportedOperationException(
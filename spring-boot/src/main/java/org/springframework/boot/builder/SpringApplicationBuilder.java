@@ -339,6 +339,18 @@ public class SpringApplicationBuilder {
 		return this;
 	}
 
+	/**
+	 * Flag to indicate if beans should be initialized lazily.
+	 * @param lazyInitialization if initialization should be lazy
+	 * @return the current builder
+	 * @since 1.4.0
+	 * @see SpringApplication#setLazyInitialization(boolean)
+	 */
+	public SpringApplicationBuilder lazyInitialization(boolean lazyInitialization) {
+		this.application.setLazyInitialization(lazyInitialization);
+		return this;
+	}
+
 	/**
 	 * Sets if the created {@link ApplicationContext} should have a shutdown hook
 	 * registered.
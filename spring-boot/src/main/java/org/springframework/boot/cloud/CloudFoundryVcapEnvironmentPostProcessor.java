@@ -16,28 +16,25 @@
 
 package org.springframework.boot.cloud;
 
-import java.util.Collection;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Properties;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.context.config.ConfigFileApplicationListener;
+import org.springframework.boot.env.CompactPropertySource;
 import org.springframework.boot.env.EnvironmentPostProcessor;
-import org.springframework.boot.json.JsonParser;
-import org.springframework.boot.json.JsonParserFactory;
+import org.springframework.boot.json.FlatteningJsonVisitor;
+import org.springframework.boot.json.JsonVisitor;
+import org.springframework.boot.json.StreamingJsonParser;
 import org.springframework.core.Ordered;
 import org.springframework.core.env.CommandLinePropertySource;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.MutablePropertySources;
-import org.springframework.core.env.PropertiesPropertySource;
-import org.springframework.util.StringUtils;
 
 /**
  * An {@link EnvironmentPostProcessor} that knows where to find VCAP (a.k.a. Cloud
@@ -102,7 +99,7 @@ public class CloudFoundryVcapEnvironmentPostProcessor
 	// Before ConfigFileApplicationListener so values there can use these ones
 	private int order = ConfigFileApplicationListener.DEFAULT_ORDER - 1;
 
-	private final JsonParser parser = JsonParserFactory.getJsonParser();
+	private final StreamingJsonParser parser = new StreamingJsonParser();
 
 	public void setOrder(int order) {
 		this.order = order;
@@ -117,127 +114,266 @@ public class CloudFoundryVcapEnvironmentPostProcessor
 	public void postProcessEnvironment(ConfigurableEnvironment environment,
 			SpringApplication application) {
 		if (CloudPlatform.CLOUD_FOUNDRY.isActive(environment)) {
-			Properties properties = new Properties();
-			addWithPrefix(properties, getPropertiesFromApplication(environment),
-					"vcap.application.");
-			addWithPrefix(properties, getPropertiesFromServices(environment),
-					"vcap.services.");
+			CompactPropertySource.Builder properties = new CompactPropertySource.Builder();
+			addPropertiesFromApplication(properties, environment);
+			addPropertiesFromServices(properties, environment);
 			MutablePropertySources propertySources = environment.getPropertySources();
 			if (propertySources.contains(
 					CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME)) {
 				propertySources.addAfter(
 						CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME,
-						new PropertiesPropertySource("vcap", properties));
+						properties.build("vcap"));
 			}
 			else {
-				propertySources
-						.addFirst(new PropertiesPropertySource("vcap", properties));
+				propertySources.addFirst(properties.build("vcap"));
 			}
 		}
 	}
 
-	private void addWithPrefix(Properties properties, Properties other, String prefix) {
-		for (String key : other.stringPropertyNames()) {
-			String prefixed = prefix + key;
-			properties.setProperty(prefixed, other.getProperty(key));
-		}
-	}
-
-	private Properties getPropertiesFromApplication(Environment environment) {
-		Properties properties = new Properties();
+	private void addPropertiesFromApplication(CompactPropertySource.Builder properties,
+			Environment environment) {
 		try {
 			String property = environment.getProperty(VCAP_APPLICATION, "{}");
-			Map<String, Object> map = this.parser.parseMap(property);
-			extractPropertiesFromApplication(properties, map);
+			Flattener flattener = new Flattener();
+			this.parser.parse(property, flattener);
+			flattener.addTo(properties, "vcap.application.");
 		}
 		catch (Exception ex) {
 			logger.error("Could not parse VCAP_APPLICATION", ex);
 		}
-		return properties;
 	}
 
-	private Properties getPropertiesFromServices(Environment environment) {
-		Properties properties = new Properties();
+	private void addPropertiesFromServices(CompactPropertySource.Builder properties,
+			Environment environment) {
 		try {
 			String property = environment.getProperty(VCAP_SERVICES, "{}");
-			Map<String, Object> map = this.parser.parseMap(property);
-			extractPropertiesFromServices(properties, map);
+			ServicesVisitor visitor = new ServicesVisitor();
+			this.parser.parse(property, visitor);
+			visitor.addTo(properties);
 		}
 		catch (Exception ex) {
 			logger.error("Could not parse VCAP_SERVICES", ex);
 		}
-		return properties;
 	}
 
-	private void extractPropertiesFromApplication(Properties properties,
-			Map<String, Object> map) {
-		if (map != null) {
-			flatten(properties, map, "");
+	/**
+	 * {@link FlatteningJsonVisitor} that collects properties as strings. Arrays are also
+	 * added as a single comma-delimited value.
+	 */
+	private static class Flattener extends FlatteningJsonVisitor {
+
+		private final List<String> names = new ArrayList<String>();
+
+		private final List<String> values = new ArrayList<String>();
+
+		// Open containers, true for objects
+		private final BitSet objects = new BitSet();
+
+		// Open containers that already have an element
+		private final BitSet started = new BitSet();
+
+		private int depth;
+
+		// The comma-delimited values of the open arrays
+		private final List<StringBuilder> arrays = new ArrayList<StringBuilder>();
+
+		// The depth of the elements of each open array
+		private final List<Integer> arrayDepths = new ArrayList<Integer>();
+
+		@Override
+		public void startObject() {
+			appendElement("{");
+			push(true);
+			super.startObject();
+		}
+
+		@Override
+		public void endObject() {
+			pop();
+			append("}");
+			super.endObject();
+		}
+
+		@Override
+		public void startArray() {
+			appendElement("[");
+			push(false);
+			this.arrays.add(new StringBuilder());
+			this.arrayDepths.add(this.depth);
+			super.startArray();
+		}
+
+		@Override
+		public void endArray() {
+			String name = getContainerName();
+			int last = this.arrays.size() - 1;
+			String value = this.arrays.remove(last).toString();
+			this.arrayDepths.remove(last);
+			pop();
+			append("]");
+			super.endArray();
+			add(name, value);
+		}
+
+		@Override
+		public void name(String name) {
+			appendSeparator();
+			append(name);
+			append("=");
+			super.name(name);
+		}
+
+		@Override
+		public void value(Object value) {
+			appendElement(String.valueOf(value));
+			super.value(value);
+		}
+
+		@Override
+		protected void property(String name, Object value) {
+			add(name, value == null ? "" : value.toString());
+		}
+
+		private void add(String name, String value) {
+			this.names.add(name);
+			this.values.add(value);
 		}
-	}
 
-	private void extractPropertiesFromServices(Properties properties,
-			Map<String, Object> map) {
-		if (map != null) {
-			for (Object services : map.values()) {
-				@SuppressWarnings("unchecked")
-				List<Object> list = (List<Object>) services;
-				for (Object object : list) {
-					@SuppressWarnings("unchecked")
-					Map<String, Object> service = (Map<String, Object>) object;
-					String key = (String) service.get("name");
-					if (key == null) {
-						key = (String) service.get("label");
-					}
-					flatten(properties, service, key);
+		private void push(boolean object) {
+			this.objects.set(this.depth, object);
+			this.started.clear(this.depth);
+			this.depth++;
+		}
+
+		private void pop() {
+			this.depth--;
+		}
+
+		private void appendElement(String value) {
+			if (this.depth > 0 && !this.objects.get(this.depth - 1)) {
+				appendSeparator();
+			}
+			append(value);
+		}
+
+		private void appendSeparator() {
+			if (this.started.get(this.depth - 1)) {
+				// Matches StringUtils.collectionToCommaDelimitedString for the
+				// elements of the array and toString() for any nested values
+				for (int i = 0; i < this.arrays.size(); i++) {
+					this.arrays.get(i).append(
+							this.arrayDepths.get(i) == this.depth ? "," : ", ");
 				}
 			}
+			this.started.set(this.depth - 1);
+		}
+
+		private void append(String value) {
+			for (StringBuilder array : this.arrays) {
+				array.append(value);
+			}
 		}
+
+		String getValue(String name) {
+			int index = this.names.indexOf(name);
+			return (index < 0 ? null : this.values.get(index));
+		}
+
+		void addTo(CompactPropertySource.Builder properties, String prefix) {
+			for (int i = 0; i < this.names.size(); i++) {
+				properties.add(prefix + this.names.get(i), this.values.get(i));
+			}
+		}
+
 	}
 
-	@SuppressWarnings("unchecked")
-	private void flatten(Properties properties, Map<String, Object> input, String path) {
-		for (Entry<String, Object> entry : input.entrySet()) {
-			String key = getFullKey(path, entry.getKey());
-			Object value = entry.getValue();
-			if (value instanceof Map) {
-				// Need a compound key
-				flatten(properties, (Map<String, Object>) value, key);
-			}
-			else if (value instanceof Collection) {
-				// Need a compound key
-				Collection<Object> collection = (Collection<Object>) value;
-				properties.put(key,
-						StringUtils.collectionToCommaDelimitedString(collection));
-				int count = 0;
-				for (Object item : collection) {
-					String itemKey = "[" + (count++) + "]";
-					flatten(properties, Collections.singletonMap(itemKey, item), key);
-				}
+	/**
+	 * {@link JsonVisitor} that unwraps the lists of services and flattens each service
+	 * using its name or label.
+	 */
+	private static class ServicesVisitor implements JsonVisitor {
+
+		private static final int SERVICE_DEPTH = 2;
+
+		private final List<Flattener> services = new ArrayList<Flattener>();
+
+		private Flattener service;
+
+		private int depth;
+
+		@Override
+		public void startObject() {
+			if (this.depth == SERVICE_DEPTH) {
+				this.service = new Flattener();
+				this.services.add(this.service);
 			}
-			else if (value instanceof String) {
-				properties.put(key, value);
+			if (this.depth == 1) {
+				throw invalid();
 			}
-			else if (value instanceof Number) {
-				properties.put(key, value.toString());
+			if (this.depth >= SERVICE_DEPTH) {
+				this.service.startObject();
 			}
-			else if (value instanceof Boolean) {
-				properties.put(key, value.toString());
+			this.depth++;
+		}
+
+		@Override
+		public void endObject() {
+			this.depth--;
+			if (this.depth >= SERVICE_DEPTH) {
+				this.service.endObject();
 			}
-			else {
-				properties.put(key, value == null ? "" : value);
+		}
+
+		@Override
+		public void startArray() {
+			if (this.depth != 1 && this.depth <= SERVICE_DEPTH) {
+				throw invalid();
+			}
+			if (this.depth > SERVICE_DEPTH) {
+				this.service.startArray();
 			}
+			this.depth++;
 		}
-	}
 
-	private String getFullKey(String path, String key) {
-		if (!StringUtils.hasText(path)) {
-			return key;
+		@Override
+		public void endArray() {
+			this.depth--;
+			if (this.depth > SERVICE_DEPTH) {
+				this.service.endArray();
+			}
 		}
-		if (key.startsWith("[")) {
-			return path + key;
+
+		@Override
+		public void name(String name) {
+			if (this.depth > SERVICE_DEPTH) {
+				this.service.name(name);
+			}
 		}
-		return path + "." + key;
+
+		@Override
+		public void value(Object value) {
+			if (this.depth <= SERVICE_DEPTH) {
+				throw invalid();
+			}
+			this.service.value(value);
+		}
+
+		private IllegalArgumentException invalid() {
+			return new IllegalArgumentException(
+					"Expected an object containing lists of services");
+		}
+
+		void addTo(CompactPropertySource.Builder properties) {
+			for (Flattener service : this.services) {
+				String key = service.getValue("name");
+				if (key == null) {
+					key = service.getValue("label");
+				}
+				service.addTo(properties,
+						"vcap.services." + (key == null ? "" : key + "."));
+			}
+		}
+
 	}
 
 }
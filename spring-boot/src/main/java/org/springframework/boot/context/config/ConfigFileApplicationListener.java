@@ -16,17 +16,25 @@
 
 package org.springframework.boot.context.config;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 
@@ -34,6 +42,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.CachedIntrospectionResults;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.ApplicationTemp;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.bind.PropertiesConfigurationFactory;
 import org.springframework.boot.bind.RelaxedPropertyResolver;
@@ -41,8 +50,10 @@ import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEven
 import org.springframework.boot.context.event.ApplicationPreparedEvent;
 import org.springframework.boot.env.EnumerableCompositePropertySource;
 import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.env.PropertySourceCache;
 import org.springframework.boot.env.PropertySourcesLoader;
 import org.springframework.boot.logging.DeferredLog;
+import org.springframework.boot.startup.StartupTimeline;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -59,7 +70,9 @@ import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.ResourceUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.BindException;
@@ -86,6 +99,13 @@ import org.springframework.validation.BindException;
  * and the 'spring.config.location' property can be used to specify alternative search
  * locations or specific files.
  * <p>
+ * The 'spring.config.parallel-load' property can be used to resolve and parse the
+ * candidate files for each profile concurrently. Files are still applied in the same
+ * order so the resulting property precedence is unchanged. The 'spring.config.cache'
+ * property can be set to {@code true} to cache parsed files in the
+ * {@link ApplicationTemp application temp directory}, or to the location of a directory,
+ * so that unchanged files are not parsed again on the next start.
+ * <p>
  * Configuration properties are also bound to the {@link SpringApplication}. This makes it
  * possible to set {@link SpringApplication} properties dynamically, like the sources
  * ("spring.main.sources" - a CSV list) the flag to indicate a web environment
@@ -128,6 +148,16 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 	 */
 	public static final String CONFIG_LOCATION_PROPERTY = "spring.config.location";
 
+	/**
+	 * The "parallel load" property name.
+	 */
+	public static final String PARALLEL_LOAD_PROPERTY = "spring.config.parallel-load";
+
+	/**
+	 * The "config cache" property name.
+	 */
+	public static final String CACHE_PROPERTY = "spring.config.cache";
+
 	/**
 	 * The default order for the processor.
 	 */
@@ -208,12 +238,17 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 	protected void addPropertySources(ConfigurableEnvironment environment,
 			ResourceLoader resourceLoader) {
 		RandomValuePropertySource.addToEnvironment(environment);
+		StartupTimeline timeline = StartupTimeline.get();
+		int step = timeline.start("config.load");
 		try {
 			new Loader(environment, resourceLoader).load();
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException("Unable to load configuration files", ex);
 		}
+		finally {
+			timeline.end(step);
+		}
 	}
 
 	/**
@@ -333,6 +368,8 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 
 		private boolean activatedProfiles;
 
+		private ExecutorService executor;
+
 		Loader(ConfigurableEnvironment environment, ResourceLoader resourceLoader) {
 			this.environment = environment;
 			this.resourceLoader = resourceLoader == null ? new DefaultResourceLoader()
@@ -341,6 +378,7 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 
 		public void load() throws IOException {
 			this.propertiesLoader = new PropertySourcesLoader();
+			this.propertiesLoader.setCache(createCache());
 			this.activatedProfiles = false;
 			this.profiles = Collections.asLifoQueue(new LinkedList<Profile>());
 			this.processedProfiles = new LinkedList<Profile>();
@@ -364,26 +402,60 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 			// override any settings in the defaults when the list is reversed later).
 			this.profiles.add(null);
 
-			while (!this.profiles.isEmpty()) {
-				Profile profile = this.profiles.poll();
-				for (String location : getSearchLocations()) {
-					if (!location.endsWith("/")) {
-						// location is a filename already, so don't search for more
-						// filenames
-						load(location, null, profile);
-					}
-					else {
-						for (String name : getSearchNames()) {
-							load(location, name, profile);
+			this.executor = createExecutor();
+			try {
+				while (!this.profiles.isEmpty()) {
+					Profile profile = this.profiles.poll();
+					List<ConfigFileRequest> requests = new ArrayList<ConfigFileRequest>();
+					for (String location : getSearchLocations()) {
+						if (!location.endsWith("/")) {
+							// location is a filename already, so don't search for more
+							// filenames
+							load(requests, location, null, profile);
+						}
+						else {
+							for (String name : getSearchNames()) {
+								load(requests, location, name, profile);
+							}
 						}
 					}
+					load(requests);
+					this.processedProfiles.add(profile);
+				}
+			}
+			finally {
+				if (this.executor != null) {
+					this.executor.shutdownNow();
 				}
-				this.processedProfiles.add(profile);
 			}
 
 			addConfigurationProperties(this.propertiesLoader.getPropertySources());
 		}
 
+		private PropertySourceCache createCache() {
+			String cache = this.environment.getProperty(CACHE_PROPERTY);
+			if (!StringUtils.hasText(cache) || "false".equalsIgnoreCase(cache)) {
+				return null;
+			}
+			if ("true".equalsIgnoreCase(cache)) {
+				return new PropertySourceCache(
+						new File(new ApplicationTemp().getDir(), "config-cache"));
+			}
+			return new PropertySourceCache(new File(cache));
+		}
+
+		private ExecutorService createExecutor() {
+			if (!this.environment.getProperty(PARALLEL_LOAD_PROPERTY, Boolean.class,
+					Boolean.FALSE)) {
+				return null;
+			}
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+					"config-loader-");
+			threadFactory.setDaemon(true);
+			return Executors.newFixedThreadPool(
+					Runtime.getRuntime().availableProcessors(), threadFactory);
+		}
+
 		private Set<Profile> initializeActiveProfiles() {
 			if (!this.environment.containsProperty(ACTIVE_PROFILES_PROPERTY)) {
 				return Collections.emptySet();
@@ -423,48 +495,112 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 			return unprocessedActiveProfiles;
 		}
 
-		private void load(String location, String name, Profile profile)
-				throws IOException {
+		private void load(List<ConfigFileRequest> requests, String location,
+				String name, Profile profile) {
 			String group = "profile=" + (profile == null ? "" : profile);
 			if (!StringUtils.hasText(name)) {
 				// Try to load directly from the location
-				loadIntoGroup(group, location, profile);
+				requests.add(new ConfigFileRequest(group, location, profile));
 			}
 			else {
 				// Search for a file with the given name
 				for (String ext : this.propertiesLoader.getAllFileExtensions()) {
 					if (profile != null) {
 						// Try the profile-specific file
-						loadIntoGroup(group, location + name + "-" + profile + "." + ext,
-								null);
+						requests.add(new ConfigFileRequest(group,
+								location + name + "-" + profile + "." + ext, null));
 						for (Profile processedProfile : this.processedProfiles) {
 							if (processedProfile != null) {
-								loadIntoGroup(group, location + name + "-"
-										+ processedProfile + "." + ext, profile);
+								requests.add(new ConfigFileRequest(group, location + name
+										+ "-" + processedProfile + "." + ext, profile));
 							}
 						}
 						// Sometimes people put "spring.profiles: dev" in
 						// application-dev.yml (gh-340). Arguably we should try and error
 						// out on that, but we can be kind and load it anyway.
-						loadIntoGroup(group, location + name + "-" + profile + "." + ext,
-								profile);
+						requests.add(new ConfigFileRequest(group,
+								location + name + "-" + profile + "." + ext, profile));
 					}
 					// Also try the profile-specific section (if any) of the normal file
-					loadIntoGroup(group, location + name + "." + ext, profile);
+					requests.add(new ConfigFileRequest(group, location + name + "." + ext,
+							profile));
 				}
 			}
 		}
 
-		private PropertySource<?> loadIntoGroup(String identifier, String location,
-				Profile profile) throws IOException {
-			Resource resource = this.resourceLoader.getResource(location);
-			PropertySource<?> propertySource = null;
+		private void load(List<ConfigFileRequest> requests) throws IOException {
+			if (this.executor == null) {
+				for (ConfigFileRequest request : requests) {
+					loadIntoGroup(request, resolve(request));
+				}
+				return;
+			}
+			// Resolve and parse concurrently but always apply in the original order so
+			// that profile activation and precedence are unchanged
+			Map<ConfigFileRequest, Future<ConfigFile>> resolved = new LinkedHashMap<ConfigFileRequest, Future<ConfigFile>>();
+			for (final ConfigFileRequest request : requests) {
+				if (!resolved.containsKey(request)) {
+					resolved.put(request, this.executor.submit(new Callable<ConfigFile>() {
+
+						@Override
+						public ConfigFile call() throws Exception {
+							return resolve(request);
+						}
+
+					}));
+				}
+			}
+			for (ConfigFileRequest request : requests) {
+				loadIntoGroup(request, get(resolved.get(request)));
+			}
+		}
+
+		private ConfigFile get(Future<ConfigFile> future) throws IOException {
+			try {
+				return future.get();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while loading config files",
+						ex);
+			}
+			catch (ExecutionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
+
+		private ConfigFile resolve(ConfigFileRequest request) throws IOException {
+			Resource resource = this.resourceLoader.getResource(request.getLocation());
+			if (resource == null || !resource.exists()) {
+				return new ConfigFile(resource, false, null);
+			}
+			String name = "applicationConfig: [" + request.getLocation() + "]";
+			Profile profile = request.getProfile();
+			PropertySource<?> propertySource = this.propertiesLoader.loadDetached(
+					resource, name, (profile == null ? null : profile.getName()));
+			return new ConfigFile(resource, true, propertySource);
+		}
+
+		private PropertySource<?> loadIntoGroup(ConfigFileRequest request,
+				ConfigFile configFile) {
+			String location = request.getLocation();
+			Profile profile = request.getProfile();
+			Resource resource = configFile.getResource();
+			PropertySource<?> propertySource = configFile.getPropertySource();
 			StringBuilder msg = new StringBuilder();
-			if (resource != null && resource.exists()) {
-				String name = "applicationConfig: [" + location + "]";
-				String group = "applicationConfig: [" + identifier + "]";
-				propertySource = this.propertiesLoader.load(resource, group, name,
-						(profile == null ? null : profile.getName()));
+			if (configFile.exists()) {
+				String group = "applicationConfig: [" + request.getIdentifier() + "]";
+				this.propertiesLoader.addPropertySource(group, propertySource);
 				if (propertySource != null) {
 					msg.append("Loaded ");
 					handleProfileProperties(propertySource);
@@ -481,7 +617,7 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 			if (profile != null) {
 				msg.append(" for profile ").append(profile);
 			}
-			if (resource == null || !resource.exists()) {
+			if (!configFile.exists()) {
 				msg.append(" resource not found");
 				this.logger.trace(msg);
 			}
@@ -631,6 +767,88 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 
 	}
 
+	/**
+	 * A request to load a candidate config file into a group.
+	 */
+	private static class ConfigFileRequest {
+
+		private final String identifier;
+
+		private final String location;
+
+		private final Profile profile;
+
+		ConfigFileRequest(String identifier, String location, Profile profile) {
+			this.identifier = identifier;
+			this.location = location;
+			this.profile = profile;
+		}
+
+		public String getIdentifier() {
+			return this.identifier;
+		}
+
+		public String getLocation() {
+			return this.location;
+		}
+
+		public Profile getProfile() {
+			return this.profile;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.location.hashCode() * 31
+					+ ObjectUtils.nullSafeHashCode(this.profile);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			ConfigFileRequest other = (ConfigFileRequest) obj;
+			return other.identifier.equals(this.identifier)
+					&& other.location.equals(this.location)
+					&& ObjectUtils.nullSafeEquals(other.profile, this.profile);
+		}
+
+	}
+
+	/**
+	 * A resolved and parsed candidate config file.
+	 */
+	private static class ConfigFile {
+
+		private final Resource resource;
+
+		private final boolean exists;
+
+		private final PropertySource<?> propertySource;
+
+		ConfigFile(Resource resource, boolean exists, PropertySource<?> propertySource) {
+			this.resource = resource;
+			this.exists = exists;
+			this.propertySource = propertySource;
+		}
+
+		public Resource getResource() {
+			return this.resource;
+		}
+
+		public boolean exists() {
+			return this.exists;
+		}
+
+		public PropertySource<?> getPropertySource() {
+			return this.propertySource;
+		}
+
+	}
+
 	private static class Profile {
 
 		private final String name;
@@ -36,6 +36,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.Scope;
+import org.springframework.boot.startup.StartupTimeline;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.boot.web.servlet.ServletContextInitializerBeans;
@@ -159,9 +160,16 @@ public class EmbeddedWebApplicationContext extends GenericWebApplicationContext
 		EmbeddedServletContainer localContainer = this.embeddedServletContainer;
 		ServletContext localServletContext = getServletContext();
 		if (localContainer == null && localServletContext == null) {
-			EmbeddedServletContainerFactory containerFactory = getEmbeddedServletContainerFactory();
-			this.embeddedServletContainer = containerFactory
-					.getEmbeddedServletContainer(getSelfInitializer());
+			StartupTimeline timeline = StartupTimeline.get();
+			int step = timeline.start("embedded-container.create");
+			try {
+				EmbeddedServletContainerFactory containerFactory = getEmbeddedServletContainerFactory();
+				this.embeddedServletContainer = containerFactory
+						.getEmbeddedServletContainer(getSelfInitializer());
+			}
+			finally {
+				timeline.end(step);
+			}
 		}
 		else if (localServletContext != null) {
 			try {
@@ -294,7 +302,14 @@ public class EmbeddedWebApplicationContext extends GenericWebApplicationContext
 	private EmbeddedServletContainer startEmbeddedServletContainer() {
 		EmbeddedServletContainer localContainer = this.embeddedServletContainer;
 		if (localContainer != null) {
-			localContainer.start();
+			StartupTimeline timeline = StartupTimeline.get();
+			int step = timeline.start("embedded-container.start");
+			try {
+				localContainer.start();
+			}
+			finally {
+				timeline.end(step);
+			}
 		}
 		return localContainer;
 	}
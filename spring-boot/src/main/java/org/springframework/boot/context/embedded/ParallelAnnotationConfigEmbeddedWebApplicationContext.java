@@ -0,0 +1,241 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link AnnotationConfigEmbeddedWebApplicationContext} that uses a bounded pool of
+ * threads to prepare the classes of non-lazy singleton beans whilst the context is
+ * refreshed. Once all bean definitions are known, the classes of the singletons that
+ * will be pre-instantiated are loaded and introspected in the background, concurrently
+ * with the creation of the embedded servlet container and of the singletons themselves.
+ * <p>
+ * Singletons are still created on the refreshing thread and in the usual order, since the
+ * bean factory creates singletons whilst holding a lock that is shared by all beans.
+ * Preparation only loads classes (without initializing them) and populates thread-safe
+ * reflection caches, any failure is ignored and will be reported by the refreshing
+ * thread when the bean is created.
+ * <p>
+ * Can be used with a {@link org.springframework.boot.SpringApplication} by calling
+ * {@link org.springframework.boot.SpringApplication#setApplicationContextClass(Class)}.
+ *
+ * @author agent
+ * @since 1.4.0
+ * @see #setParallelism(int)
+ */
+public class ParallelAnnotationConfigEmbeddedWebApplicationContext
+		extends AnnotationConfigEmbeddedWebApplicationContext {
+
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	private volatile boolean preparing;
+
+	/**
+	 * Create a new {@link ParallelAnnotationConfigEmbeddedWebApplicationContext} that
+	 * needs to be populated through {@link #register} calls and then manually
+	 * {@linkplain #refresh refreshed}.
+	 */
+	public ParallelAnnotationConfigEmbeddedWebApplicationContext() {
+		super();
+	}
+
+	/**
+	 * Create a new {@link ParallelAnnotationConfigEmbeddedWebApplicationContext},
+	 * deriving bean definitions from the given annotated classes and automatically
+	 * refreshing the context.
+	 * @param annotatedClasses one or more annotated classes, e.g. {@code @Configuration}
+	 * classes
+	 */
+	public ParallelAnnotationConfigEmbeddedWebApplicationContext(
+			Class<?>... annotatedClasses) {
+		this();
+		register(annotatedClasses);
+		refresh();
+	}
+
+	/**
+	 * Set the maximum number of threads used to prepare bean classes. Defaults to the
+	 * number of available processors. A value of {@code 1} or less disables preparation.
+	 * @param parallelism the maximum number of threads
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	@Override
+	protected void registerBeanPostProcessors(
+			ConfigurableListableBeanFactory beanFactory) {
+		// Bean factory post processors have run so all bean definitions are known
+		startPreparingBeanClasses(beanFactory);
+		super.registerBeanPostProcessors(beanFactory);
+	}
+
+	@Override
+	protected void finishBeanFactoryInitialization(
+			ConfigurableListableBeanFactory beanFactory) {
+		try {
+			super.finishBeanFactoryInitialization(beanFactory);
+		}
+		finally {
+			stopPreparingBeanClasses();
+		}
+	}
+
+	@Override
+	protected void cancelRefresh(BeansException ex) {
+		stopPreparingBeanClasses();
+		super.cancelRefresh(ex);
+	}
+
+	private void startPreparingBeanClasses(ConfigurableListableBeanFactory beanFactory) {
+		if (this.parallelism <= 1) {
+			return;
+		}
+		// Collect the class names on this thread so that workers never read bean
+		// definitions that may still be changing
+		Set<String> classNames = getSingletonClassNames(beanFactory);
+		if (classNames.isEmpty()) {
+			return;
+		}
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"context-preparation-");
+		threadFactory.setDaemon(true);
+		ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min(this.parallelism, classNames.size()), threadFactory);
+		this.preparing = true;
+		ClassLoader classLoader = beanFactory.getBeanClassLoader();
+		for (String className : classNames) {
+			executor.execute(new PrepareTask(this, className, classLoader));
+		}
+		executor.shutdown();
+	}
+
+	private Set<String> getSingletonClassNames(
+			ConfigurableListableBeanFactory beanFactory) {
+		Set<String> classNames = new LinkedHashSet<String>();
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			BeanDefinition definition = beanFactory.getMergedBeanDefinition(beanName);
+			if (!definition.isAbstract() && definition.isSingleton()
+					&& !definition.isLazyInit()) {
+				addClassNames(classNames, beanFactory.getBeanDefinition(beanName),
+						definition);
+			}
+		}
+		return classNames;
+	}
+
+	private void addClassNames(Set<String> classNames, BeanDefinition definition,
+			BeanDefinition mergedDefinition) {
+		addClassName(classNames, mergedDefinition.getBeanClassName());
+		if (definition instanceof AnnotatedBeanDefinition) {
+			MethodMetadata factoryMethod = ((AnnotatedBeanDefinition) definition)
+					.getFactoryMethodMetadata();
+			if (factoryMethod != null) {
+				addClassName(classNames, factoryMethod.getReturnTypeName());
+			}
+		}
+	}
+
+	private void addClassName(Set<String> classNames, String className) {
+		if (className != null && !className.startsWith("java.")) {
+			classNames.add(className);
+		}
+	}
+
+	private void stopPreparingBeanClasses() {
+		// Tasks that have not started will do nothing. Running tasks are not
+		// interrupted since that can break class loading.
+		this.preparing = false;
+	}
+
+	private boolean isPreparing() {
+		return this.preparing;
+	}
+
+	/**
+	 * Prepare the given bean class so that creating instances of it is faster. The
+	 * default implementation populates the property descriptor and reflection caches
+	 * used when beans are created and injected. Called concurrently from multiple
+	 * threads, implementations must be thread-safe.
+	 * @param beanClass the bean class to prepare
+	 */
+	protected void prepareBeanClass(Class<?> beanClass) {
+		BeanUtils.getPropertyDescriptors(beanClass);
+		Class<?> candidate = beanClass;
+		while (candidate != null && candidate != Object.class) {
+			ReflectionUtils.getUniqueDeclaredMethods(candidate);
+			candidate.getDeclaredFields();
+			candidate.getDeclaredConstructors();
+			candidate = candidate.getSuperclass();
+		}
+	}
+
+	/**
+	 * Task used to prepare a single bean class.
+	 */
+	private static class PrepareTask implements Runnable {
+
+		private final ParallelAnnotationConfigEmbeddedWebApplicationContext context;
+
+		private final String className;
+
+		private final ClassLoader classLoader;
+
+		PrepareTask(ParallelAnnotationConfigEmbeddedWebApplicationContext context,
+				String className, ClassLoader classLoader) {
+			this.context = context;
+			this.className = className;
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		public void run() {
+			if (!this.context.isPreparing()) {
+				return;
+			}
+			Thread thread = Thread.currentThread();
+			ClassLoader previousClassLoader = thread.getContextClassLoader();
+			thread.setContextClassLoader(this.classLoader);
+			try {
+				this.context.prepareBeanClass(
+						ClassUtils.forName(this.className, this.classLoader));
+			}
+			catch (Throwable ex) {
+				// Ignore, any problem will be reported when the bean is created
+			}
+			finally {
+				thread.setContextClassLoader(previousClassLoader);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.scan;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.StringUtils;
+
+/**
+ * Index of candidate components loaded from all {@value #INDEX_LOCATION} files
+ * generated at build time. Each index only covers the classpath root that contains it
+ * and only the classes that it lists.
+ *
+ * @author agent
+ * @see IndexedCandidateComponentProvider
+ */
+final class CandidateComponentsIndex {
+
+	/**
+	 * The location of the index within a classpath root.
+	 */
+	static final String INDEX_LOCATION = "META-INF/spring.components";
+
+	private static final String CLASS_SUFFIX = ".class";
+
+	private static final Map<ClassLoader, CandidateComponentsIndex> cache = new ConcurrentReferenceHashMap<ClassLoader, CandidateComponentsIndex>();
+
+	private final Map<String, Map<String, Set<String>>> roots;
+
+	private CandidateComponentsIndex(Map<String, Map<String, Set<String>>> roots) {
+		this.roots = roots;
+	}
+
+	/**
+	 * Return {@code true} if no index was found.
+	 * @return if the index is empty
+	 */
+	public boolean isEmpty() {
+		return this.roots.isEmpty();
+	}
+
+	/**
+	 * Return the stereotypes of the class at the given URL. Classes that are not listed
+	 * may have been compiled without the annotation processor (for example by an
+	 * incremental build) so their stereotypes are unknown.
+	 * @param url the URL of the class file
+	 * @return the stereotypes (possibly empty) or {@code null} if the class is not
+	 * listed in an index
+	 */
+	public Set<String> getStereotypes(String url) {
+		String root = getRoot(url);
+		if (root == null || !url.endsWith(CLASS_SUFFIX)) {
+			return null;
+		}
+		String className = url
+				.substring(root.length(), url.length() - CLASS_SUFFIX.length())
+				.replace('/', '.');
+		return this.roots.get(root).get(className);
+	}
+
+	private String getRoot(String url) {
+		String match = null;
+		for (String root : this.roots.keySet()) {
+			// Use the longest match so that nested jars are not covered by their parent
+			if (url.startsWith(root) && (match == null || root.length() > match.length())) {
+				match = root;
+			}
+		}
+		return match;
+	}
+
+	/**
+	 * Return the index for the given class loader.
+	 * @param classLoader the class loader used to find index files
+	 * @return the index
+	 */
+	public static CandidateComponentsIndex get(ClassLoader classLoader) {
+		CandidateComponentsIndex index = cache.get(classLoader);
+		if (index == null) {
+			index = load(classLoader);
+			cache.put(classLoader, index);
+		}
+		return index;
+	}
+
+	private static CandidateComponentsIndex load(ClassLoader classLoader) {
+		try {
+			Map<String, Map<String, Set<String>>> roots = new LinkedHashMap<String, Map<String, Set<String>>>();
+			Enumeration<URL> urls = classLoader.getResources(INDEX_LOCATION);
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				String location = url.toString();
+				String root = location.substring(0,
+						location.length() - INDEX_LOCATION.length());
+				roots.put(root, loadEntries(url));
+			}
+			return new CandidateComponentsIndex(roots);
+		}
+		catch (IOException ex) {
+			throw new IllegalArgumentException(
+					"Unable to load component index from location [" + INDEX_LOCATION
+							+ "]",
+					ex);
+		}
+	}
+
+	private static Map<String, Set<String>> loadEntries(URL url) throws IOException {
+		Properties properties = PropertiesLoaderUtils
+				.loadProperties(new UrlResource(url));
+		Map<String, Set<String>> entries = new LinkedHashMap<String, Set<String>>();
+		for (String className : properties.stringPropertyNames()) {
+			entries.put(className, StringUtils
+					.commaDelimitedListToSet(properties.getProperty(className)));
+		}
+		return entries;
+	}
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.scan;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.ScannedGenericBeanDefinition;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link ClassPathScanningCandidateComponentProvider} that uses the
+ * {@code META-INF/spring.components} index written by
+ * {@code spring-boot-component-index-processor} to avoid reading class files that
+ * are listed without a matching stereotype. Classpath roots without an index, and
+ * classes that their index doesn't list, are scanned as usual.
+ * <p>
+ * The index is only used when every include filter is either a default filter or was
+ * added with {@link #addIncludeAnnotationType(Class)} for {@code @Component} or a
+ * {@code javax} annotation. Other include filters, or a custom resource pattern, cause
+ * the provider to fall back to a full scan.
+ *
+ * @author agent
+ * @since 1.4.0
+ */
+public class IndexedCandidateComponentProvider
+		extends ClassPathScanningCandidateComponentProvider {
+
+	private static final String RESOURCE_PATTERN = "**/*.class";
+
+	private static final String COMPONENT_ANNOTATION = "org.springframework.stereotype.Component";
+
+	private static final String STANDARD_PACKAGE_PREFIX = "javax.";
+
+	private static final String[] DEFAULT_STEREOTYPES = { COMPONENT_ANNOTATION,
+			"javax.annotation.ManagedBean", "javax.inject.Named" };
+
+	// Not initialized inline since the super constructor registers default filters
+	private Set<String> stereotypes;
+
+	private boolean indexableFilters;
+
+	private boolean customResourcePattern;
+
+	/**
+	 * Create a new {@link IndexedCandidateComponentProvider} instance.
+	 * @param useDefaultFilters whether to register the default filters for the
+	 * {@code @Component} stereotypes
+	 */
+	public IndexedCandidateComponentProvider(boolean useDefaultFilters) {
+		super(useDefaultFilters);
+		initializeStereotypes();
+	}
+
+	/**
+	 * Create a new {@link IndexedCandidateComponentProvider} instance.
+	 * @param useDefaultFilters whether to register the default filters for the
+	 * {@code @Component} stereotypes
+	 * @param environment the environment to use
+	 */
+	public IndexedCandidateComponentProvider(boolean useDefaultFilters,
+			Environment environment) {
+		super(useDefaultFilters, environment);
+		initializeStereotypes();
+	}
+
+	private void initializeStereotypes() {
+		if (this.stereotypes == null) {
+			this.stereotypes = new HashSet<String>();
+			this.indexableFilters = true;
+		}
+	}
+
+	/**
+	 * Add an include filter for the given annotation type. Unlike
+	 * {@link #addIncludeFilter(TypeFilter)}, the filter can be served from the index.
+	 * @param annotationType the annotation type to include
+	 */
+	public void addIncludeAnnotationType(Class<? extends Annotation> annotationType) {
+		super.addIncludeFilter(new AnnotationTypeFilter(annotationType));
+		String name = annotationType.getName();
+		if (COMPONENT_ANNOTATION.equals(name)
+				|| name.startsWith(STANDARD_PACKAGE_PREFIX)) {
+			getStereotypes().add(name);
+		}
+		else {
+			this.indexableFilters = false;
+		}
+	}
+
+	@Override
+	public void addIncludeFilter(TypeFilter includeFilter) {
+		super.addIncludeFilter(includeFilter);
+		this.indexableFilters = false;
+	}
+
+	@Override
+	public void resetFilters(boolean useDefaultFilters) {
+		getStereotypes().clear();
+		this.indexableFilters = true;
+		super.resetFilters(useDefaultFilters);
+	}
+
+	@Override
+	protected void registerDefaultFilters() {
+		super.registerDefaultFilters();
+		getStereotypes().addAll(Arrays.asList(DEFAULT_STEREOTYPES));
+		this.indexableFilters = true;
+	}
+
+	@Override
+	public void setResourcePattern(String resourcePattern) {
+		super.setResourcePattern(resourcePattern);
+		this.customResourcePattern = !RESOURCE_PATTERN.equals(resourcePattern);
+	}
+
+	private Set<String> getStereotypes() {
+		if (this.stereotypes == null) {
+			this.stereotypes = new HashSet<String>();
+		}
+		return this.stereotypes;
+	}
+
+	@Override
+	public Set<BeanDefinition> findCandidateComponents(String basePackage) {
+		CandidateComponentsIndex index = CandidateComponentsIndex.get(getClassLoader());
+		if (!this.indexableFilters || this.customResourcePattern || index.isEmpty()) {
+			return super.findCandidateComponents(basePackage);
+		}
+		Set<BeanDefinition> candidates = new LinkedHashSet<BeanDefinition>();
+		try {
+			String pattern = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
+					+ resolveBasePackage(basePackage) + "/" + RESOURCE_PATTERN;
+			for (Resource resource : getResourcePatternResolver()
+					.getResources(pattern)) {
+				if (resource.isReadable() && isIndexedCandidate(index, resource)) {
+					addCandidateComponent(candidates, resource);
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new BeanDefinitionStoreException(
+					"I/O failure during classpath scanning", ex);
+		}
+		return candidates;
+	}
+
+	private boolean isIndexedCandidate(CandidateComponentsIndex index,
+			Resource resource) throws IOException {
+		Set<String> stereotypes = index.getStereotypes(resource.getURL().toString());
+		if (stereotypes == null) {
+			return true;
+		}
+		for (String stereotype : stereotypes) {
+			if (this.stereotypes.contains(stereotype)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void addCandidateComponent(Set<BeanDefinition> candidates,
+			Resource resource) {
+		try {
+			MetadataReader metadataReader = getMetadataReaderFactory()
+					.getMetadataReader(resource);
+			if (isCandidateComponent(metadataReader)) {
+				ScannedGenericBeanDefinition beanDefinition = new ScannedGenericBeanDefinition(
+						metadataReader);
+				beanDefinition.setResource(resource);
+				beanDefinition.setSource(resource);
+				if (isCandidateComponent(beanDefinition)) {
+					if (this.logger.isDebugEnabled()) {
+						this.logger.debug("Identified indexed candidate component class: "
+								+ resource);
+					}
+					candidates.add(beanDefinition);
+				}
+			}
+		}
+		catch (Throwable ex) {
+			throw new BeanDefinitionStoreException(
+					"Failed to read candidate component class: " + resource, ex);
+		}
+	}
+
+	private ResourcePatternResolver getResourcePatternResolver() {
+		return ResourcePatternUtils.getResourcePatternResolver(getResourceLoader());
+	}
+
+	private ClassLoader getClassLoader() {
+		ClassLoader classLoader = getResourceLoader().getClassLoader();
+		return (classLoader == null ? ClassUtils.getDefaultClassLoader() : classLoader);
+	}
+
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.util.Assert;
+
+/**
+ * An immutable {@link EnumerablePropertySource} with a compact in-memory representation,
+ * suitable for large sources with long and repetitive property names such as those
+ * flattened from JSON. Names are sorted and front-coded: they are grouped into blocks and
+ * each name, other than the first in a block, is stored as the length of the prefix that
+ * it shares with the previous name followed by its remaining characters. Property lookup
+ * is a binary search over the blocks followed by a short scan and does not allocate.
+ * <p>
+ * {@link #getPropertyNames()} decodes the names each time that it is called and returns
+ * them in sorted order. Use a {@link Builder} to create instances.
+ *
+ * @author agent
+ * @since 1.4.0
+ */
+public final class CompactPropertySource extends EnumerablePropertySource<Object> {
+
+	private static final int BLOCK_SIZE = 16;
+
+	private final char[] names;
+
+	private final int[] blocks;
+
+	private final Object[] values;
+
+	private final int maxNameLength;
+
+	private CompactPropertySource(String name, char[] names, int[] blocks,
+			Object[] values, int maxNameLength) {
+		super(name);
+		this.names = names;
+		this.blocks = blocks;
+		this.values = values;
+		this.maxNameLength = maxNameLength;
+	}
+
+	/**
+	 * Return the number of properties in this source.
+	 * @return the number of properties
+	 */
+	public int size() {
+		return this.values.length;
+	}
+
+	@Override
+	public boolean containsProperty(String name) {
+		return indexOf(name) >= 0;
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		int index = indexOf(name);
+		return (index < 0 ? null : this.values[index]);
+	}
+
+	@Override
+	public String[] getPropertyNames() {
+		String[] result = new String[this.values.length];
+		char[] buffer = new char[this.maxNameLength];
+		int offset = 0;
+		for (int i = 0; i < result.length; i++) {
+			int shared = this.names[offset];
+			int length = this.names[offset + 1];
+			System.arraycopy(this.names, offset + 2, buffer, shared, length);
+			result[i] = new String(buffer, 0, shared + length);
+			offset += 2 + length;
+		}
+		return result;
+	}
+
+	private int indexOf(String name) {
+		int block = findBlock(name);
+		if (block < 0) {
+			return -1;
+		}
+		int offset = this.blocks[block];
+		int end = Math.min((block + 1) * BLOCK_SIZE, this.values.length);
+		// The number of leading characters that the previous entry shares with name
+		int matched = 0;
+		for (int index = block * BLOCK_SIZE; index < end; index++) {
+			int shared = this.names[offset];
+			int length = this.names[offset + 1];
+			if (shared < matched) {
+				// Differs from name where the previous entry did not, so it's greater
+				return -1;
+			}
+			if (shared == matched) {
+				int i = 0;
+				while (i < length && matched < name.length()
+						&& name.charAt(matched) == this.names[offset + 2 + i]) {
+					i++;
+					matched++;
+				}
+				if (i == length && matched == name.length()) {
+					return index;
+				}
+				if (i < length && (matched == name.length()
+						|| name.charAt(matched) < this.names[offset + 2 + i])) {
+					return -1;
+				}
+			}
+			offset += 2 + length;
+		}
+		return -1;
+	}
+
+	private int findBlock(String name) {
+		int low = 0;
+		int high = this.blocks.length - 1;
+		int result = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (compareFirstName(mid, name) <= 0) {
+				result = mid;
+				low = mid + 1;
+			}
+			else {
+				high = mid - 1;
+			}
+		}
+		return result;
+	}
+
+	private int compareFirstName(int block, String name) {
+		int offset = this.blocks[block];
+		int length = this.names[offset + 1];
+		int limit = Math.min(length, name.length());
+		for (int i = 0; i < limit; i++) {
+			char ch = this.names[offset + 2 + i];
+			if (ch != name.charAt(i)) {
+				return ch - name.charAt(i);
+			}
+		}
+		return length - name.length();
+	}
+
+	/**
+	 * Builder used to create a {@link CompactPropertySource}.
+	 */
+	public static class Builder {
+
+		private final List<String> names = new ArrayList<String>();
+
+		private final List<Object> values = new ArrayList<Object>();
+
+		/**
+		 * Add a property. If a property with the same name has already been added it is
+		 * replaced.
+		 * @param name the property name
+		 * @param value the property value (may be {@code null})
+		 * @return this builder
+		 */
+		public Builder add(String name, Object value) {
+			Assert.notNull(name, "Name must not be null");
+			Assert.isTrue(name.length() <= Character.MAX_VALUE,
+					"Name must not be longer than " + (int) Character.MAX_VALUE
+							+ " characters");
+			this.names.add(name);
+			this.values.add(value);
+			return this;
+		}
+
+		/**
+		 * Build a new {@link CompactPropertySource} containing the properties that have
+		 * been added.
+		 * @param name the name of the property source
+		 * @return the property source
+		 */
+		public CompactPropertySource build(String name) {
+			Integer[] order = sort();
+			int capacity = 0;
+			for (String propertyName : this.names) {
+				capacity += 2 + propertyName.length();
+			}
+			char[] names = new char[capacity];
+			List<Object> values = new ArrayList<Object>(order.length);
+			List<Integer> blocks = new ArrayList<Integer>();
+			int maxNameLength = 0;
+			int offset = 0;
+			String previous = "";
+			for (int i = 0; i < order.length; i++) {
+				String current = this.names.get(order[i]);
+				if (i + 1 < order.length
+						&& current.equals(this.names.get(order[i + 1]))) {
+					// Replaced by a later value
+					continue;
+				}
+				int shared = 0;
+				if (values.size() % BLOCK_SIZE == 0) {
+					blocks.add(offset);
+				}
+				else {
+					shared = getSharedLength(previous, current);
+				}
+				int length = current.length() - shared;
+				names[offset] = (char) shared;
+				names[offset + 1] = (char) length;
+				current.getChars(shared, current.length(), names, offset + 2);
+				offset += 2 + length;
+				values.add(this.values.get(order[i]));
+				maxNameLength = Math.max(maxNameLength, current.length());
+				previous = current;
+			}
+			int[] blockOffsets = new int[blocks.size()];
+			for (int i = 0; i < blockOffsets.length; i++) {
+				blockOffsets[i] = blocks.get(i);
+			}
+			return new CompactPropertySource(name, Arrays.copyOf(names, offset),
+					blockOffsets, values.toArray(), maxNameLength);
+		}
+
+		private Integer[] sort() {
+			Integer[] order = new Integer[this.names.size()];
+			for (int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+			// A stable sort so that the last of any duplicates remains last
+			Arrays.sort(order, new Comparator<Integer>() {
+
+				@Override
+				public int compare(Integer o1, Integer o2) {
+					String name1 = Builder.this.names.get(o1);
+					return name1.compareTo(Builder.this.names.get(o2));
+				}
+
+			});
+			return order;
+		}
+
+		private int getSharedLength(String previous, String current) {
+			int limit = Math.min(previous.length(), current.length());
+			int length = 0;
+			while (length < limit && previous.charAt(length) == current.charAt(length)) {
+				length++;
+			}
+			return length;
+		}
+
+	}
+
+}
@@ -0,0 +1,398 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.UsesJava7;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Cache of the {@link PropertySource properties} loaded by a {@link PropertySourceLoader}
+ * stored in a compact binary format. Entries are keyed by a hash of the loader, the
+ * profile, the description and the content of the resource so unchanged files can be
+ * loaded without being parsed again. Only sources containing simple values are cached,
+ * anything else is always loaded by the {@link PropertySourceLoader}. Entries that are
+ * replaced because their resource has changed are deleted. Caching requires Java 7 or
+ * later.
+ *
+ * @author agent
+ * @since 1.4.0
+ * @see PropertySourcesLoader#setCache(PropertySourceCache)
+ */
+public class PropertySourceCache {
+
+	private static final Log logger = LogFactory.getLog(PropertySourceCache.class);
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final int MAGIC = 0x53425043;
+
+	private static final byte VERSION = 1;
+
+	private static final byte EMPTY = 0;
+
+	private static final byte PROPERTIES = 1;
+
+	private static final byte STRING = 1;
+
+	private static final byte BOOLEAN = 2;
+
+	private static final byte INTEGER = 3;
+
+	private static final byte LONG = 4;
+
+	private static final byte FLOAT = 5;
+
+	private static final byte DOUBLE = 6;
+
+	private static final byte BIG_INTEGER = 7;
+
+	private static final byte BIG_DECIMAL = 8;
+
+	private static final byte DATE = 9;
+
+	private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+	private static final String FILE_SUFFIX = ".bin";
+
+	private static final String DIRECTORY_PERMISSIONS = "rwx------";
+
+	private static final String FILE_PERMISSIONS = "rw-------";
+
+	private final File directory;
+
+	private Boolean directoryUsable;
+
+	/**
+	 * Create a new {@link PropertySourceCache} instance. The directory is created if
+	 * necessary and is restricted to the current user. A directory owned by another user
+	 * is not used.
+	 * @param directory the directory used to store cache entries
+	 */
+	public PropertySourceCache(File directory) {
+		Assert.notNull(directory, "Directory must not be null");
+		this.directory = directory;
+	}
+
+	/**
+	 * Load the property source from the cache or, if it is not cached, by using the
+	 * given loader. Sources loaded by the loader will be cached when possible. Sources
+	 * loaded by a {@link PropertiesPropertySourceLoader} are never cached since they are
+	 * as quick to parse as to read from the cache.
+	 * @param loader the loader used when the source is not cached
+	 * @param name the name of the property source
+	 * @param resource the resource to load
+	 * @param profile the name of the profile to load or {@code null}
+	 * @return the property source (may be {@code null})
+	 * @throws IOException if the source cannot be loaded
+	 */
+	public PropertySource<?> load(PropertySourceLoader loader, String name,
+			Resource resource, String profile) throws IOException {
+		if (loader instanceof PropertiesPropertySourceLoader || !isDirectoryUsable()) {
+			return loader.load(name, resource, profile);
+		}
+		String prefix = getPrefix(loader, resource, profile);
+		File file = new File(this.directory,
+				prefix + getContentHash(resource) + FILE_SUFFIX);
+		if (file.isFile()) {
+			try {
+				return read(name, file);
+			}
+			catch (Exception ex) {
+				logger.debug("Unable to read cached properties from " + file, ex);
+			}
+		}
+		PropertySource<?> source = loader.load(name, resource, profile);
+		if (source == null || source.getClass() == MapPropertySource.class) {
+			try {
+				write(prefix, file, (MapPropertySource) source);
+			}
+			catch (Exception ex) {
+				logger.debug("Unable to cache properties to " + file, ex);
+			}
+		}
+		return source;
+	}
+
+	private synchronized boolean isDirectoryUsable() {
+		if (this.directoryUsable == null) {
+			this.directoryUsable = checkDirectory();
+		}
+		return this.directoryUsable;
+	}
+
+	@UsesJava7
+	private boolean checkDirectory() {
+		try {
+			Path path = this.directory.toPath();
+			Files.createDirectories(path);
+			UserPrincipal currentUser = path.getFileSystem()
+					.getUserPrincipalLookupService()
+					.lookupPrincipalByName(System.getProperty("user.name"));
+			if (!currentUser.equals(Files.getOwner(path))) {
+				logger.warn("Not caching config files in " + this.directory
+						+ " since it is not owned by the current user");
+				return false;
+			}
+			restrictToOwner(this.directory, DIRECTORY_PERMISSIONS);
+			return true;
+		}
+		catch (Throwable ex) {
+			logger.debug("Unable to cache config files in " + this.directory, ex);
+			return false;
+		}
+	}
+
+	@UsesJava7
+	private void restrictToOwner(File file, String permissions) throws IOException {
+		Path path = file.toPath();
+		if (Files.getFileStore(path)
+				.supportsFileAttributeView(PosixFileAttributeView.class)) {
+			Files.setPosixFilePermissions(path,
+					PosixFilePermissions.fromString(permissions));
+		}
+	}
+
+	private String getPrefix(PropertySourceLoader loader, Resource resource,
+			String profile) {
+		MessageDigest digest = getDigest();
+		digest.update(loader.getClass().getName().getBytes(UTF_8));
+		digest.update((byte) 0);
+		if (profile != null) {
+			digest.update(profile.getBytes(UTF_8));
+		}
+		digest.update((byte) 0);
+		digest.update(resource.getDescription().getBytes(UTF_8));
+		return toHexString(digest.digest()) + "-";
+	}
+
+	private String getContentHash(Resource resource) throws IOException {
+		MessageDigest digest = getDigest();
+		InputStream inputStream = resource.getInputStream();
+		try {
+			digest.update(StreamUtils.copyToByteArray(inputStream));
+		}
+		finally {
+			inputStream.close();
+		}
+		return toHexString(digest.digest());
+	}
+
+	private MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private String toHexString(byte[] bytes) {
+		char[] hex = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			int b = bytes[i] & 0xFF;
+			hex[i * 2] = HEX_CHARS[b >>> 4];
+			hex[i * 2 + 1] = HEX_CHARS[b & 0x0F];
+		}
+		return new String(hex);
+	}
+
+	private PropertySource<?> read(String name, File file) throws IOException {
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = randomAccessFile.getChannel();
+			ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			Assert.state(buffer.getInt() == MAGIC && buffer.get() == VERSION,
+					"Unsupported cache file " + file);
+			if (buffer.get() == EMPTY) {
+				return null;
+			}
+			int size = buffer.getInt();
+			Map<String, Object> properties = new LinkedHashMap<String, Object>(
+					size * 4 / 3 + 1);
+			for (int i = 0; i < size; i++) {
+				String key = readString(buffer);
+				properties.put(key, readValue(buffer));
+			}
+			return new MapPropertySource(name, properties);
+		}
+		finally {
+			randomAccessFile.close();
+		}
+	}
+
+	private Object readValue(ByteBuffer buffer) {
+		byte type = buffer.get();
+		switch (type) {
+		case STRING:
+			return readString(buffer);
+		case BOOLEAN:
+			return buffer.get() != 0;
+		case INTEGER:
+			return buffer.getInt();
+		case LONG:
+			return buffer.getLong();
+		case FLOAT:
+			return buffer.getFloat();
+		case DOUBLE:
+			return buffer.getDouble();
+		case BIG_INTEGER:
+			return new BigInteger(readString(buffer));
+		case BIG_DECIMAL:
+			return new BigDecimal(readString(buffer));
+		case DATE:
+			return new Date(buffer.getLong());
+		}
+		throw new IllegalStateException("Unknown value type " + type);
+	}
+
+	private String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	private void write(String prefix, File file, MapPropertySource source)
+			throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(content);
+		output.writeInt(MAGIC);
+		output.writeByte(VERSION);
+		if (source == null) {
+			output.writeByte(EMPTY);
+		}
+		else {
+			output.writeByte(PROPERTIES);
+			output.writeInt(source.getSource().size());
+			for (Map.Entry<String, Object> entry : source.getSource().entrySet()) {
+				writeString(output, entry.getKey());
+				if (!writeValue(output, entry.getValue())) {
+					return;
+				}
+			}
+		}
+		output.flush();
+		File tempFile = File.createTempFile("properties", ".tmp", this.directory);
+		restrictToOwner(tempFile, FILE_PERMISSIONS);
+		FileOutputStream outputStream = new FileOutputStream(tempFile);
+		try {
+			content.writeTo(outputStream);
+		}
+		finally {
+			outputStream.close();
+		}
+		if (!tempFile.renameTo(file)) {
+			tempFile.delete();
+			return;
+		}
+		deleteStaleEntries(prefix, file);
+	}
+
+	private void deleteStaleEntries(String prefix, File file) {
+		File[] entries = this.directory.listFiles();
+		if (entries != null) {
+			for (File entry : entries) {
+				String name = entry.getName();
+				if (name.startsWith(prefix) && name.endsWith(FILE_SUFFIX)
+						&& !entry.equals(file)) {
+					entry.delete();
+				}
+			}
+		}
+	}
+
+	private boolean writeValue(DataOutputStream output, Object value)
+			throws IOException {
+		if (value instanceof String) {
+			output.writeByte(STRING);
+			writeString(output, (String) value);
+		}
+		else if (value instanceof Boolean) {
+			output.writeByte(BOOLEAN);
+			output.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Integer) {
+			output.writeByte(INTEGER);
+			output.writeInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			output.writeByte(LONG);
+			output.writeLong((Long) value);
+		}
+		else if (value instanceof Float) {
+			output.writeByte(FLOAT);
+			output.writeFloat((Float) value);
+		}
+		else if (value instanceof Double) {
+			output.writeByte(DOUBLE);
+			output.writeDouble((Double) value);
+		}
+		else if (value instanceof BigInteger) {
+			output.writeByte(BIG_INTEGER);
+			writeString(output, value.toString());
+		}
+		else if (value instanceof BigDecimal) {
+			output.writeByte(BIG_DECIMAL);
+			writeString(output, value.toString());
+		}
+		else if (value != null && value.getClass() == Date.class) {
+			output.writeByte(DATE);
+			output.writeLong(((Date) value).getTime());
+		}
+		else {
+			return false;
+		}
+		return true;
+	}
+
+	private void writeString(DataOutputStream output, String value) throws IOException {
+		byte[] bytes = value.getBytes(UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -46,6 +46,8 @@ public class PropertySourcesLoader {
 
 	private final List<PropertySourceLoader> loaders;
 
+	private PropertySourceCache cache;
+
 	/**
 	 * Create a new {@link PropertySourceLoader} instance backed by a new
 	 * {@link MutablePropertySources}.
@@ -66,6 +68,16 @@ public class PropertySourcesLoader {
 				getClass().getClassLoader());
 	}
 
+	/**
+	 * Set the {@link PropertySourceCache} that should be used to avoid parsing unchanged
+	 * resources.
+	 * @param cache the cache or {@code null} if no cache should be used
+	 * @since 1.4.0
+	 */
+	public void setCache(PropertySourceCache cache) {
+		this.cache = cache;
+	}
+
 	/**
 	 * Load the specified resource (if possible) and add it as the first source.
 	 * @param resource the source resource (may be {@code null}).
@@ -120,14 +132,33 @@ public class PropertySourcesLoader {
 	 */
 	public PropertySource<?> load(Resource resource, String group, String name,
 			String profile) throws IOException {
+		PropertySource<?> specific = loadDetached(resource, name, profile);
+		addPropertySource(group, specific);
+		return specific;
+	}
+
+	/**
+	 * Load the profile-specific properties from the specified resource (if any) and give
+	 * the name provided, without adding it to the property sources being assembled. This
+	 * method can be called concurrently, the returned source can then be added using
+	 * {@link #addPropertySource(String, PropertySource)}.
+	 * @param resource the source resource (may be {@code null}).
+	 * @param name the root property name (may be {@code null}).
+	 * @param profile a specific profile to load or {@code null} to load the default.
+	 * @return the loaded property source or {@code null}
+	 * @throws IOException if the source cannot be loaded
+	 * @since 1.4.0
+	 */
+	public PropertySource<?> loadDetached(Resource resource, String name,
+			String profile) throws IOException {
 		if (isFile(resource)) {
 			String sourceName = generatePropertySourceName(name, profile);
 			for (PropertySourceLoader loader : this.loaders) {
 				if (canLoadFileExtension(loader, resource)) {
-					PropertySource<?> specific = loader.load(sourceName, resource,
-							profile);
-					addPropertySource(group, specific, profile);
-					return specific;
+					if (this.cache != null) {
+						return this.cache.load(loader, sourceName, resource, profile);
+					}
+					return loader.load(sourceName, resource, profile);
 				}
 			}
 		}
@@ -153,26 +184,35 @@ public class PropertySourcesLoader {
 		return false;
 	}
 
-	private void addPropertySource(String basename, PropertySource<?> source,
-			String profile) {
+	/**
+	 * Add a property source, usually obtained from
+	 * {@link #loadDetached(Resource, String, String)}, to a group of property sources
+	 * identified by the group name. Follows the same ordering rules as
+	 * {@link #load(Resource, String, String, String)}.
+	 * @param group an identifier for the group that the source belongs to (may be
+	 * {@code null} to add the source last)
+	 * @param source the source to add (may be {@code null})
+	 * @since 1.4.0
+	 */
+	public void addPropertySource(String group, PropertySource<?> source) {
 
 		if (source == null) {
 			return;
 		}
 
-		if (basename == null) {
+		if (group == null) {
 			this.propertySources.addLast(source);
 			return;
 		}
 
-		EnumerableCompositePropertySource group = getGeneric(basename);
-		group.add(source);
-		logger.trace("Adding PropertySource: " + source + " in group: " + basename);
-		if (this.propertySources.contains(group.getName())) {
-			this.propertySources.replace(group.getName(), group);
+		EnumerableCompositePropertySource composite = getGeneric(group);
+		composite.add(source);
+		logger.trace("Adding PropertySource: " + source + " in group: " + group);
+		if (this.propertySources.contains(composite.getName())) {
+			this.propertySources.replace(composite.getName(), composite);
 		}
 		else {
-			this.propertySources.addFirst(group);
+			this.propertySources.addFirst(composite);
 		}
 
 	}
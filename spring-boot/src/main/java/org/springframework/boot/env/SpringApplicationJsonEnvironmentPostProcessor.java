@@ -16,20 +16,15 @@
 
 package org.springframework.boot.env;
 
-import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.json.JsonParser;
-import org.springframework.boot.json.JsonParserFactory;
+import org.springframework.boot.json.FlatteningJsonVisitor;
+import org.springframework.boot.json.StreamingJsonParser;
 import org.springframework.core.Ordered;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
-import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.StandardEnvironment;
@@ -40,8 +35,9 @@ import org.springframework.web.context.support.StandardServletEnvironment;
 /**
  * An {@link EnvironmentPostProcessor} that parses JSON from
  * {@code spring.application.json} or equivalently {@code SPRING_APPLICATION_JSON} and
- * adds it as a map property source to the {@link Environment}. The new properties are
- * added with higher priority than the system properties.
+ * adds it as a property source to the {@link Environment}. The JSON is flattened as it is
+ * parsed into a {@link CompactPropertySource}. The new properties are added with higher
+ * priority than the system properties.
  *
  * @author Dave Syer
  * @author Phillip Webb
@@ -84,11 +80,11 @@ public class SpringApplicationJsonEnvironmentPostProcessor
 
 	private void processJson(ConfigurableEnvironment environment, String json) {
 		try {
-			JsonParser parser = JsonParserFactory.getJsonParser();
-			Map<String, Object> map = parser.parseMap(json);
-			if (!map.isEmpty()) {
-				addJsonPropertySource(environment,
-						new MapPropertySource("spring.application.json", flatten(map)));
+			CompactPropertySource.Builder builder = new CompactPropertySource.Builder();
+			new StreamingJsonParser().parse(json, new PropertySourceFlattener(builder));
+			CompactPropertySource source = builder.build("spring.application.json");
+			if (source.size() > 0) {
+				addJsonPropertySource(environment, source);
 			}
 		}
 		catch (Exception ex) {
@@ -96,42 +92,6 @@ public class SpringApplicationJsonEnvironmentPostProcessor
 		}
 	}
 
-	/**
-	 * Flatten the map keys using period separator.
-	 * @param map The map that should be flattened
-	 * @return the flattened map
-	 */
-	private Map<String, Object> flatten(Map<String, Object> map) {
-		Map<String, Object> result = new LinkedHashMap<String, Object>();
-		flatten(null, result, map);
-		return result;
-	}
-
-	private void flatten(String prefix, Map<String, Object> result,
-			Map<String, Object> map) {
-		prefix = (prefix == null ? "" : prefix + ".");
-		for (Map.Entry<String, Object> entry : map.entrySet()) {
-			extract(prefix + entry.getKey(), result, entry.getValue());
-		}
-	}
-
-	@SuppressWarnings("unchecked")
-	private void extract(String name, Map<String, Object> result, Object value) {
-		if (value instanceof Map) {
-			flatten(name, result, (Map<String, Object>) value);
-		}
-		else if (value instanceof Collection) {
-			int index = 0;
-			for (Object object : (Collection<Object>) value) {
-				extract(name + "[" + index + "]", result, object);
-				index++;
-			}
-		}
-		else {
-			result.put(name, value);
-		}
-	}
-
 	private void addJsonPropertySource(ConfigurableEnvironment environment,
 			PropertySource<?> source) {
 		MutablePropertySources sources = environment.getPropertySources();
@@ -153,4 +113,23 @@ public class SpringApplicationJsonEnvironmentPostProcessor
 		return StandardEnvironment.SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME;
 	}
 
+	/**
+	 * {@link FlatteningJsonVisitor} that adds properties to a
+	 * {@link CompactPropertySource.Builder}.
+	 */
+	private static class PropertySourceFlattener extends FlatteningJsonVisitor {
+
+		private final CompactPropertySource.Builder builder;
+
+		PropertySourceFlattener(CompactPropertySource.Builder builder) {
+			this.builder = builder;
+		}
+
+		@Override
+		protected void property(String name, Object value) {
+			this.builder.add(name, value);
+		}
+
+	}
+
 }
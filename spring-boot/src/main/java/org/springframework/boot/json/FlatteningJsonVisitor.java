@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.json;
+
+import java.util.Arrays;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link JsonVisitor} that flattens a JSON object into named properties. Members of
+ * nested objects are named using a period separator (for example {@code a.b}) and array
+ * elements using an index (for example {@code a[0]}). Names are built in a single buffer
+ * that is reused for the whole document so that no intermediate maps, lists or partial
+ * names are created.
+ *
+ * @author agent
+ * @since 1.4.0
+ * @see StreamingJsonParser#parse(String, JsonVisitor)
+ */
+public abstract class FlatteningJsonVisitor implements JsonVisitor {
+
+	private static final int INITIAL_DEPTH = 16;
+
+	private final StringBuilder path;
+
+	// The length of the path when each open container was started
+	private int[] starts = new int[INITIAL_DEPTH];
+
+	// The index of the next element of each open array or -1 for an object
+	private int[] indexes = new int[INITIAL_DEPTH];
+
+	private int depth;
+
+	/**
+	 * Create a new {@link FlatteningJsonVisitor} instance.
+	 */
+	protected FlatteningJsonVisitor() {
+		this("");
+	}
+
+	/**
+	 * Create a new {@link FlatteningJsonVisitor} instance that prefixes all property
+	 * names with the given value.
+	 * @param prefix the prefix (without a trailing period) or an empty string
+	 */
+	protected FlatteningJsonVisitor(String prefix) {
+		Assert.notNull(prefix, "Prefix must not be null");
+		this.path = new StringBuilder(prefix);
+	}
+
+	@Override
+	public void startObject() {
+		startValue(true);
+		push(-1);
+	}
+
+	@Override
+	public void endObject() {
+		pop();
+	}
+
+	@Override
+	public void startArray() {
+		startValue(false);
+		push(0);
+	}
+
+	@Override
+	public void endArray() {
+		pop();
+	}
+
+	@Override
+	public void name(String name) {
+		this.path.setLength(this.starts[this.depth - 1]);
+		if (this.path.length() > 0) {
+			this.path.append('.');
+		}
+		this.path.append(name);
+	}
+
+	@Override
+	public void value(Object value) {
+		startValue(false);
+		property(this.path.toString(), value);
+	}
+
+	/**
+	 * Return the name of the innermost open object or array.
+	 * @return the container name
+	 */
+	protected final String getContainerName() {
+		return this.path.substring(0, this.starts[this.depth - 1]);
+	}
+
+	/**
+	 * Called with each flattened property.
+	 * @param name the property name
+	 * @param value the scalar value, as reported to {@link #value(Object)}
+	 */
+	protected abstract void property(String name, Object value);
+
+	private void startValue(boolean object) {
+		if (this.depth == 0) {
+			if (!object) {
+				throw new IllegalArgumentException(
+						"Cannot flatten JSON: expected an object");
+			}
+			return;
+		}
+		int container = this.depth - 1;
+		if (this.indexes[container] >= 0) {
+			this.path.setLength(this.starts[container]);
+			this.path.append('[').append(this.indexes[container]++).append(']');
+		}
+	}
+
+	private void push(int index) {
+		if (this.depth == this.starts.length) {
+			this.starts = Arrays.copyOf(this.starts, this.depth * 2);
+			this.indexes = Arrays.copyOf(this.indexes, this.depth * 2);
+		}
+		this.starts[this.depth] = this.path.length();
+		this.indexes[this.depth] = index;
+		this.depth++;
+	}
+
+	private void pop() {
+		this.depth--;
+		this.path.setLength(this.starts[this.depth]);
+	}
+
+}
@@ -25,6 +25,7 @@ import java.util.Map;
  * @author Dave Syer
  * @see JsonParserFactory
  * @see BasicJsonParser
+ * @see StreamingJsonParser
  * @see JacksonJsonParser
  * @see GsonJsonParser
  * @see YamlJsonParser
@@ -27,14 +27,14 @@ import org.springframework.util.ClassUtils;
  * @see YamlJsonParser
  * @see JsonSimpleJsonParser
  * @see JsonJsonParser
- * @see BasicJsonParser
+ * @see StreamingJsonParser
  */
 public abstract class JsonParserFactory {
 
 	/**
 	 * Static factory for the "best" JSON parser available on the classpath. Tries Jackson
 	 * 2, then Gson, Snake YAML, Simple JSON, JSON (from eclipse), and then falls back to
-	 * the {@link BasicJsonParser}.
+	 * the {@link StreamingJsonParser}.
 	 * @return a {@link JsonParser}
 	 */
 	public static JsonParser getJsonParser() {
@@ -53,7 +53,7 @@ public abstract class JsonParserFactory {
 		if (ClassUtils.isPresent("org.json.JSONObject", null)) {
 			return new JsonJsonParser();
 		}
-		return new BasicJsonParser();
+		return new StreamingJsonParser();
 	}
 
 }
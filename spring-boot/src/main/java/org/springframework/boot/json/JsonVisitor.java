@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.json;
+
+/**
+ * Callback interface used by {@link StreamingJsonParser} to report the structure of a
+ * JSON document as it is read. Allows JSON to be processed, for example flattened into
+ * properties, without first building nested {@link java.util.Map Maps} and
+ * {@link java.util.List Lists}.
+ * <p>
+ * Events are reported in document order. Each member of an object is reported as a call
+ * to {@link #name(String)} followed by the events for its value. Array elements are
+ * reported without a preceding name.
+ *
+ * @author agent
+ * @since 1.4.0
+ * @see StreamingJsonParser#parse(String, JsonVisitor)
+ */
+public interface JsonVisitor {
+
+	/**
+	 * Called at the start of an object.
+	 */
+	void startObject();
+
+	/**
+	 * Called at the end of an object.
+	 */
+	void endObject();
+
+	/**
+	 * Called at the start of an array.
+	 */
+	void startArray();
+
+	/**
+	 * Called at the end of an array.
+	 */
+	void endArray();
+
+	/**
+	 * Called with the name of an object member, before the member's value.
+	 * @param name the member name
+	 */
+	void name(String name);
+
+	/**
+	 * Called with a scalar value.
+	 * @param value the value, either a {@link String}, a {@link Boolean}, a {@link Long},
+	 * a {@link java.math.BigInteger} (for integers that do not fit a {@code long}), a
+	 * {@link Double} or {@code null}
+	 */
+	void value(Object value);
+
+}
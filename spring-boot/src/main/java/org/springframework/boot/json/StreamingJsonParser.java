@@ -0,0 +1,431 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.json;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link JsonParser} that reads JSON in a single pass over a {@code char} array without
+ * any third-party library. In addition to building {@link Map Maps} and {@link List
+ * Lists} the parser can report the document to a {@link JsonVisitor} so that callers
+ * can process large documents without building intermediate structures.
+ * <p>
+ * Objects are read as {@link LinkedHashMap LinkedHashMaps} and arrays as
+ * {@link ArrayList ArrayLists}. Integers are read as {@link Long Longs} (or
+ * {@link BigInteger BigIntegers} when they are too large), other numbers as
+ * {@link Double Doubles}.
+ *
+ * @author agent
+ * @since 1.4.0
+ * @see JsonParserFactory
+ */
+public class StreamingJsonParser implements JsonParser {
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> parseMap(String json) {
+		return (Map<String, Object>) build(json, '{');
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Object> parseList(String json) {
+		return (List<Object>) build(json, '[');
+	}
+
+	private Object build(String json, char start) {
+		ObjectBuilder builder = new ObjectBuilder();
+		parse(json, start, builder);
+		return builder.getResult();
+	}
+
+	/**
+	 * Parse the specified JSON string, reporting its structure to the given visitor.
+	 * @param json the JSON to parse
+	 * @param visitor the visitor that receives parse events
+	 */
+	public void parse(String json, JsonVisitor visitor) {
+		Assert.notNull(visitor, "Visitor must not be null");
+		parse(json, (char) 0, visitor);
+	}
+
+	private void parse(String json, char start, JsonVisitor visitor) {
+		if (json == null) {
+			throw new IllegalArgumentException("Cannot parse JSON");
+		}
+		new Reader(json.toCharArray(), visitor).readDocument(start);
+	}
+
+	/**
+	 * Reads a document and reports it to a {@link JsonVisitor}.
+	 */
+	private static final class Reader {
+
+		private static final int MAX_LONG_DIGITS = 18;
+
+		private final char[] chars;
+
+		private final JsonVisitor visitor;
+
+		private int pos;
+
+		private StringBuilder buffer;
+
+		Reader(char[] chars, JsonVisitor visitor) {
+			this.chars = chars;
+			this.visitor = visitor;
+		}
+
+		void readDocument(char start) {
+			skipWhitespace();
+			if (start != 0 && peek() != start) {
+				throw error("expected '" + start + "'");
+			}
+			readValue();
+			skipWhitespace();
+			if (this.pos < this.chars.length) {
+				throw error("unexpected content");
+			}
+		}
+
+		private void readValue() {
+			char ch = peek();
+			switch (ch) {
+			case '{':
+				readObject();
+				break;
+			case '[':
+				readArray();
+				break;
+			case '"':
+				this.visitor.value(readString());
+				break;
+			case 't':
+				readLiteral("true");
+				this.visitor.value(Boolean.TRUE);
+				break;
+			case 'f':
+				readLiteral("false");
+				this.visitor.value(Boolean.FALSE);
+				break;
+			case 'n':
+				readLiteral("null");
+				this.visitor.value(null);
+				break;
+			default:
+				this.visitor.value(readNumber());
+			}
+		}
+
+		private void readObject() {
+			this.pos++;
+			this.visitor.startObject();
+			skipWhitespace();
+			if (peek() == '}') {
+				this.pos++;
+			}
+			else {
+				do {
+					skipWhitespace();
+					if (peek() != '"') {
+						throw error("expected member name");
+					}
+					String name = readString();
+					skipWhitespace();
+					read(':');
+					skipWhitespace();
+					this.visitor.name(name);
+					readValue();
+					skipWhitespace();
+				}
+				while (readSeparator('}'));
+			}
+			this.visitor.endObject();
+		}
+
+		private void readArray() {
+			this.pos++;
+			this.visitor.startArray();
+			skipWhitespace();
+			if (peek() == ']') {
+				this.pos++;
+			}
+			else {
+				do {
+					skipWhitespace();
+					readValue();
+					skipWhitespace();
+				}
+				while (readSeparator(']'));
+			}
+			this.visitor.endArray();
+		}
+
+		private boolean readSeparator(char end) {
+			char ch = peek();
+			this.pos++;
+			if (ch == ',') {
+				return true;
+			}
+			if (ch == end) {
+				return false;
+			}
+			this.pos--;
+			throw error("expected ',' or '" + end + "'");
+		}
+
+		private String readString() {
+			int start = ++this.pos;
+			while (this.pos < this.chars.length) {
+				char ch = this.chars[this.pos];
+				if (ch == '"') {
+					this.pos++;
+					return new String(this.chars, start, this.pos - start - 1);
+				}
+				if (ch == '\\') {
+					return readEscapedString(start);
+				}
+				this.pos++;
+			}
+			throw error("unterminated string");
+		}
+
+		private String readEscapedString(int start) {
+			StringBuilder buffer = getBuffer();
+			buffer.append(this.chars, start, this.pos - start);
+			while (this.pos < this.chars.length) {
+				char ch = this.chars[this.pos++];
+				if (ch == '"') {
+					return buffer.toString();
+				}
+				buffer.append(ch == '\\' ? readEscape() : ch);
+			}
+			throw error("unterminated string");
+		}
+
+		private char readEscape() {
+			char ch = peek();
+			this.pos++;
+			switch (ch) {
+			case '"':
+			case '\\':
+			case '/':
+				return ch;
+			case 'b':
+				return '\b';
+			case 'f':
+				return '\f';
+			case 'n':
+				return '\n';
+			case 'r':
+				return '\r';
+			case 't':
+				return '\t';
+			case 'u':
+				if (this.pos + 4 > this.chars.length) {
+					throw error("invalid unicode escape");
+				}
+				int value = 0;
+				for (int i = 0; i < 4; i++) {
+					int digit = Character.digit(this.chars[this.pos++], 16);
+					if (digit < 0) {
+						throw error("invalid unicode escape");
+					}
+					value = (value << 4) | digit;
+				}
+				return (char) value;
+			}
+			this.pos--;
+			throw error("invalid escape");
+		}
+
+		private StringBuilder getBuffer() {
+			if (this.buffer == null) {
+				this.buffer = new StringBuilder();
+			}
+			this.buffer.setLength(0);
+			return this.buffer;
+		}
+
+		private void readLiteral(String literal) {
+			for (int i = 0; i < literal.length(); i++) {
+				if (this.pos >= this.chars.length
+						|| this.chars[this.pos] != literal.charAt(i)) {
+					throw error("expected '" + literal + "'");
+				}
+				this.pos++;
+			}
+		}
+
+		private Object readNumber() {
+			int start = this.pos;
+			boolean negative = (peek() == '-');
+			if (negative) {
+				this.pos++;
+			}
+			int digitsStart = this.pos;
+			long value = 0;
+			while (this.pos < this.chars.length && isDigit(this.chars[this.pos])) {
+				value = value * 10 + (this.chars[this.pos++] - '0');
+			}
+			int digits = this.pos - digitsStart;
+			if (digits == 0) {
+				throw error("unexpected character");
+			}
+			if (this.pos < this.chars.length && isFraction(this.chars[this.pos])) {
+				return readDouble(start);
+			}
+			if (digits <= MAX_LONG_DIGITS) {
+				return (negative ? -value : value);
+			}
+			BigInteger bigValue = new BigInteger(
+					new String(this.chars, start, this.pos - start));
+			return (bigValue.bitLength() < 64 ? (Object) bigValue.longValue() : bigValue);
+		}
+
+		private Double readDouble(int start) {
+			while (this.pos < this.chars.length && (isDigit(this.chars[this.pos])
+					|| isFraction(this.chars[this.pos]) || this.chars[this.pos] == '+'
+					|| this.chars[this.pos] == '-')) {
+				this.pos++;
+			}
+			try {
+				return Double.valueOf(new String(this.chars, start, this.pos - start));
+			}
+			catch (NumberFormatException ex) {
+				throw error("invalid number");
+			}
+		}
+
+		private boolean isDigit(char ch) {
+			return ch >= '0' && ch <= '9';
+		}
+
+		private boolean isFraction(char ch) {
+			return ch == '.' || ch == 'e' || ch == 'E';
+		}
+
+		private void read(char expected) {
+			if (peek() != expected) {
+				throw error("expected '" + expected + "'");
+			}
+			this.pos++;
+		}
+
+		private char peek() {
+			if (this.pos >= this.chars.length) {
+				throw error("unexpected end of input");
+			}
+			return this.chars[this.pos];
+		}
+
+		private void skipWhitespace() {
+			while (this.pos < this.chars.length) {
+				char ch = this.chars[this.pos];
+				if (ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r') {
+					return;
+				}
+				this.pos++;
+			}
+		}
+
+		private IllegalArgumentException error(String message) {
+			return new IllegalArgumentException(
+					"Cannot parse JSON: " + message + " at position " + this.pos);
+		}
+
+	}
+
+	/**
+	 * {@link JsonVisitor} that builds {@link Map Maps} and {@link List Lists}.
+	 */
+	private static final class ObjectBuilder implements JsonVisitor {
+
+		private final List<Object> containers = new ArrayList<Object>();
+
+		private final List<String> names = new ArrayList<String>();
+
+		private String name;
+
+		private Object result;
+
+		@Override
+		public void startObject() {
+			start(new LinkedHashMap<String, Object>());
+		}
+
+		@Override
+		public void endObject() {
+			end();
+		}
+
+		@Override
+		public void startArray() {
+			start(new ArrayList<Object>());
+		}
+
+		@Override
+		public void endArray() {
+			end();
+		}
+
+		private void start(Object container) {
+			this.containers.add(container);
+			this.names.add(this.name);
+		}
+
+		private void end() {
+			int last = this.containers.size() - 1;
+			Object container = this.containers.remove(last);
+			this.name = this.names.remove(last);
+			value(container);
+		}
+
+		@Override
+		public void name(String name) {
+			this.name = name;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void value(Object value) {
+			if (this.containers.isEmpty()) {
+				this.result = value;
+				return;
+			}
+			Object container = this.containers.get(this.containers.size() - 1);
+			if (container instanceof Map) {
+				((Map<String, Object>) container).put(this.name, value);
+			}
+			else {
+				((List<Object>) container).add(value);
+			}
+		}
+
+		Object getResult() {
+			return this.result;
+		}
+
+	}
+
+}
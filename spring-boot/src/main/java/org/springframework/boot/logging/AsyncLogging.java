@@ -0,0 +1,136 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging;
+
+import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Settings used when the default logging configuration should write events
+ * asynchronously. Events are added to a bounded queue and written by a background
+ * thread, file output is flushed once per batch rather than once per event. Created from
+ * the {@code logging.async.*} properties, see {@link #get(PropertyResolver)}.
+ *
+ * @author agent
+ * @since 1.4.0
+ * @see LoggingSystem#getAsyncStatistics()
+ */
+public class AsyncLogging {
+
+	/**
+	 * The default queue size.
+	 */
+	public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+	private final int queueSize;
+
+	private final DiscardPolicy discardPolicy;
+
+	/**
+	 * Create a new {@link AsyncLogging} instance.
+	 * @param queueSize the maximum number of events that can be queued
+	 * @param discardPolicy the policy applied when the queue is full
+	 */
+	public AsyncLogging(int queueSize, DiscardPolicy discardPolicy) {
+		Assert.isTrue(queueSize > 0, "QueueSize must be positive");
+		Assert.notNull(discardPolicy, "DiscardPolicy must not be null");
+		this.queueSize = queueSize;
+		this.discardPolicy = discardPolicy;
+	}
+
+	/**
+	 * Return the maximum number of events that can be queued.
+	 * @return the queue size
+	 */
+	public int getQueueSize() {
+		return this.queueSize;
+	}
+
+	/**
+	 * Return the policy applied when the queue is full.
+	 * @return the discard policy
+	 */
+	public DiscardPolicy getDiscardPolicy() {
+		return this.discardPolicy;
+	}
+
+	@Override
+	public String toString() {
+		return "queueSize=" + this.queueSize + ", discardPolicy=" + this.discardPolicy;
+	}
+
+	/**
+	 * Get an {@link AsyncLogging} from the given Spring {@link PropertyResolver}. Uses
+	 * the {@code logging.async.enabled}, {@code logging.async.queue-size} and
+	 * {@code logging.async.discard-policy} properties.
+	 * @param propertyResolver the {@link PropertyResolver} used to obtain the logging
+	 * properties (may be {@code null})
+	 * @return an {@link AsyncLogging} or {@code null} if asynchronous logging has not
+	 * been enabled
+	 */
+	public static AsyncLogging get(PropertyResolver propertyResolver) {
+		if (propertyResolver == null) {
+			return null;
+		}
+		RelaxedPropertyResolver resolver = new RelaxedPropertyResolver(propertyResolver,
+				"logging.async.");
+		if (!resolver.getProperty("enabled", Boolean.class, false)) {
+			return null;
+		}
+		int queueSize = resolver.getProperty("queue-size", Integer.class,
+				DEFAULT_QUEUE_SIZE);
+		String discardPolicy = resolver.getProperty("discard-policy");
+		return new AsyncLogging(queueSize, (StringUtils.hasText(discardPolicy)
+				? DiscardPolicy.forValue(discardPolicy) : DiscardPolicy.BELOW_WARN));
+	}
+
+	/**
+	 * Policies that can be applied when the queue is full.
+	 */
+	public enum DiscardPolicy {
+
+		/**
+		 * Never discard events, threads that log wait until there is space in the queue.
+		 */
+		NEVER,
+
+		/**
+		 * Discard {@code TRACE}, {@code DEBUG} and {@code INFO} events. {@code WARN} and
+		 * {@code ERROR} events are never discarded.
+		 */
+		BELOW_WARN,
+
+		/**
+		 * Discard any event, threads that log never wait.
+		 */
+		ALL;
+
+		static DiscardPolicy forValue(String value) {
+			String name = value.trim().toUpperCase().replace('-', '_');
+			for (DiscardPolicy candidate : values()) {
+				if (candidate.name().equals(name)) {
+					return candidate;
+				}
+			}
+			throw new IllegalArgumentException("Unknown discard policy '" + value + "'");
+		}
+
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging;
+
+/**
+ * A snapshot of the queue used for {@link AsyncLogging asynchronous logging}.
+ *
+ * @author agent
+ * @since 1.4.0
+ * @see LoggingSystem#getAsyncStatistics()
+ */
+public final class AsyncLoggingStatistics {
+
+	private final int capacity;
+
+	private final int depth;
+
+	private final long discarded;
+
+	/**
+	 * Create a new {@link AsyncLoggingStatistics} instance.
+	 * @param capacity the capacity of the queue
+	 * @param depth the number of events in the queue
+	 * @param discarded the number of events discarded because the queue was full
+	 */
+	public AsyncLoggingStatistics(int capacity, int depth, long discarded) {
+		this.capacity = capacity;
+		this.depth = depth;
+		this.discarded = discarded;
+	}
+
+	/**
+	 * Return the capacity of the queue.
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Return the number of events waiting in the queue.
+	 * @return the depth of the queue
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+
+	/**
+	 * Return the number of events that have been discarded because the queue was full.
+	 * @return the number of discarded events
+	 */
+	public long getDiscarded() {
+		return this.discarded;
+	}
+
+	/**
+	 * Return new statistics that combine these statistics with those of another queue.
+	 * @param statistics the statistics to add
+	 * @return the combined statistics
+	 */
+	public AsyncLoggingStatistics add(AsyncLoggingStatistics statistics) {
+		return new AsyncLoggingStatistics(this.capacity + statistics.capacity,
+				this.depth + statistics.depth, this.discarded + statistics.discarded);
+	}
+
+	@Override
+	public String toString() {
+		return "capacity=" + this.capacity + ", depth=" + this.depth + ", discarded="
+				+ this.discarded;
+	}
+
+}
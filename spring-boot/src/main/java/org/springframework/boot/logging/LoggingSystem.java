@@ -99,6 +99,17 @@ public abstract class LoggingSystem {
 	 */
 	public abstract void setLogLevel(String loggerName, LogLevel level);
 
+	/**
+	 * Returns statistics for the queue used when {@link AsyncLogging asynchronous
+	 * logging} is enabled. The default implementation returns {@code null}.
+	 * @return the statistics or {@code null} if events are not being logged
+	 * asynchronously
+	 * @since 1.4.0
+	 */
+	public AsyncLoggingStatistics getAsyncStatistics() {
+		return null;
+	}
+
 	/**
 	 * Detect and return the logging system in use. Supports Logback and Java Logging.
 	 * @param classLoader the classloader
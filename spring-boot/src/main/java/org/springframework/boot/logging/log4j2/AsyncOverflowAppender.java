@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.log4j2;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.appender.AsyncAppender;
+
+import org.springframework.boot.logging.AsyncLogging.DiscardPolicy;
+
+/**
+ * {@link Appender} used as the error appender of a non-blocking {@link AsyncAppender}
+ * that receives the events that could not be queued. Events are counted and discarded
+ * unless the {@link DiscardPolicy} requires them to be written, in which case they are
+ * written synchronously to the appenders of the {@link AsyncAppender} and flushed.
+ *
+ * @author agent
+ */
+class AsyncOverflowAppender extends AbstractAppender {
+
+	private final DiscardPolicy discardPolicy;
+
+	private final List<Appender> appenders;
+
+	private final AtomicLong discarded = new AtomicLong();
+
+	AsyncOverflowAppender(String name, DiscardPolicy discardPolicy,
+			Collection<Appender> appenders) {
+		super(name, null, null);
+		this.discardPolicy = discardPolicy;
+		this.appenders = new ArrayList<Appender>(appenders);
+	}
+
+	@Override
+	public void append(LogEvent event) {
+		if (this.discardPolicy == DiscardPolicy.BELOW_WARN
+				&& event.getLevel().isMoreSpecificThan(Level.WARN)) {
+			// Targets may not flush immediately, mark the end of a batch so that the
+			// event isn't left buffered
+			event.setEndOfBatch(true);
+			for (Appender appender : this.appenders) {
+				appender.append(event);
+			}
+		}
+		else {
+			this.discarded.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Return the number of events that have been discarded.
+	 * @return the number of discarded events
+	 */
+	long getDiscarded() {
+		return this.discarded.get();
+	}
+
+}
@@ -28,16 +28,23 @@ import java.util.Map;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AsyncAppender;
+import org.apache.logging.log4j.core.config.AppenderRef;
+import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.ConfigurationFactory;
 import org.apache.logging.log4j.core.config.ConfigurationSource;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.filter.AbstractFilter;
 import org.apache.logging.log4j.message.Message;
 
+import org.springframework.boot.logging.AsyncLogging;
+import org.springframework.boot.logging.AsyncLogging.DiscardPolicy;
+import org.springframework.boot.logging.AsyncLoggingStatistics;
 import org.springframework.boot.logging.LogFile;
 import org.springframework.boot.logging.LogLevel;
 import org.springframework.boot.logging.LoggingInitializationContext;
@@ -60,6 +67,12 @@ public class Log4J2LoggingSystem extends Slf4JLoggingSystem {
 
 	private static final String FILE_PROTOCOL = "file";
 
+	private static final String FILE_IMMEDIATE_FLUSH_PROPERTY = "LOG_FILE_IMMEDIATE_FLUSH";
+
+	private static final String ASYNC_APPENDER_NAME = "Async";
+
+	private static final String ASYNC_OVERFLOW_APPENDER_NAME = "AsyncOverflow";
+
 	private static final Map<LogLevel, Level> LEVELS;
 
 	static {
@@ -143,12 +156,48 @@ public class Log4J2LoggingSystem extends Slf4JLoggingSystem {
 	@Override
 	protected void loadDefaults(LoggingInitializationContext initializationContext,
 			LogFile logFile) {
+		AsyncLogging asyncLogging = (initializationContext == null ? null
+				: AsyncLogging.get(initializationContext.getEnvironment()));
 		if (logFile != null) {
+			// The async appender marks the end of each batch, flushing when it is
+			// written is sufficient
+			System.setProperty(FILE_IMMEDIATE_FLUSH_PROPERTY,
+					Boolean.toString(asyncLogging == null));
 			loadConfiguration(getPackagedConfigFile("log4j2-file.xml"), logFile);
 		}
 		else {
 			loadConfiguration(getPackagedConfigFile("log4j2.xml"), logFile);
 		}
+		if (asyncLogging != null) {
+			applyAsyncLogging(asyncLogging);
+		}
+	}
+
+	private void applyAsyncLogging(AsyncLogging asyncLogging) {
+		Configuration configuration = getLoggerContext().getConfiguration();
+		LoggerConfig rootLogger = configuration.getRootLogger();
+		Map<String, Appender> appenders = rootLogger.getAppenders();
+		List<AppenderRef> appenderRefs = new ArrayList<AppenderRef>();
+		for (String name : appenders.keySet()) {
+			appenderRefs.add(AppenderRef.createAppenderRef(name, null, null));
+		}
+		AsyncOverflowAppender overflowAppender = new AsyncOverflowAppender(
+				ASYNC_OVERFLOW_APPENDER_NAME, asyncLogging.getDiscardPolicy(),
+				appenders.values());
+		overflowAppender.start();
+		configuration.addAppender(overflowAppender);
+		boolean blocking = asyncLogging.getDiscardPolicy() == DiscardPolicy.NEVER;
+		AsyncAppender asyncAppender = AsyncAppender.createAppender(
+				appenderRefs.toArray(new AppenderRef[appenderRefs.size()]),
+				ASYNC_OVERFLOW_APPENDER_NAME, blocking, 0, asyncLogging.getQueueSize(),
+				ASYNC_APPENDER_NAME, false, null, configuration, true);
+		asyncAppender.start();
+		configuration.addAppender(asyncAppender);
+		for (AppenderRef appenderRef : appenderRefs) {
+			rootLogger.removeAppender(appenderRef.getRef());
+		}
+		rootLogger.addAppender(asyncAppender, null, null);
+		getLoggerContext().updateLoggers();
 	}
 
 	@Override
@@ -199,6 +248,29 @@ public class Log4J2LoggingSystem extends Slf4JLoggingSystem {
 		getLoggerContext().updateLoggers();
 	}
 
+	@Override
+	public AsyncLoggingStatistics getAsyncStatistics() {
+		Configuration configuration = getLoggerContext().getConfiguration();
+		Appender asyncAppender = configuration.getRootLogger().getAppenders()
+				.get(ASYNC_APPENDER_NAME);
+		Appender overflowAppender = configuration
+				.getAppender(ASYNC_OVERFLOW_APPENDER_NAME);
+		if (asyncAppender instanceof AsyncAppender
+				&& overflowAppender instanceof AsyncOverflowAppender) {
+			int capacity = ((AsyncAppender) asyncAppender).getQueueCapacity();
+			int remaining = ((AsyncAppender) asyncAppender).getQueueRemainingCapacity();
+			return new AsyncLoggingStatistics(capacity, capacity - remaining,
+					((AsyncOverflowAppender) overflowAppender).getDiscarded());
+		}
+		return null;
+	}
+
+	@Override
+	public void cleanUp() {
+		super.cleanUp();
+		System.clearProperty(FILE_IMMEDIATE_FLUSH_PROPERTY);
+	}
+
 	@Override
 	public Runnable getShutdownHandler() {
 		return new ShutdownHandler();
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import java.io.IOException;
+
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * {@link PatternLayoutEncoder} used with a {@link DiscardCountingAsyncAppender} that
+ * flushes once the last queued event has been written rather than after every event.
+ *
+ * @author agent
+ */
+class BatchFlushingPatternLayoutEncoder extends PatternLayoutEncoder {
+
+	private final DiscardCountingAsyncAppender asyncAppender;
+
+	BatchFlushingPatternLayoutEncoder(DiscardCountingAsyncAppender asyncAppender) {
+		this.asyncAppender = asyncAppender;
+		setImmediateFlush(false);
+	}
+
+	@Override
+	public void doEncode(ILoggingEvent event) throws IOException {
+		super.doEncode(event);
+		if (this.asyncAppender.isQueueEmpty()) {
+			this.outputStream.flush();
+		}
+	}
+
+}
@@ -29,6 +29,7 @@ import ch.qos.logback.core.rolling.SizeBasedTriggeringPolicy;
 import ch.qos.logback.core.util.OptionHelper;
 
 import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.boot.logging.AsyncLogging;
 import org.springframework.boot.logging.LogFile;
 import org.springframework.boot.logging.LoggingInitializationContext;
 import org.springframework.core.env.Environment;
@@ -59,10 +60,13 @@ class DefaultLogbackConfiguration {
 
 	private final LogFile logFile;
 
+	private final AsyncLogging asyncLogging;
+
 	DefaultLogbackConfiguration(LoggingInitializationContext initializationContext,
 			LogFile logFile) {
 		this.patterns = getPatternsResolver(initializationContext.getEnvironment());
 		this.logFile = logFile;
+		this.asyncLogging = AsyncLogging.get(initializationContext.getEnvironment());
 	}
 
 	private PropertyResolver getPatternsResolver(Environment environment) {
@@ -121,13 +125,23 @@ class DefaultLogbackConfiguration {
 		config.start(encoder);
 		appender.setEncoder(encoder);
 		config.appender("CONSOLE", appender);
+		if (this.asyncLogging != null) {
+			return asyncAppender(config, "ASYNC_CONSOLE", appender,
+					new DiscardCountingAsyncAppender(this.asyncLogging));
+		}
 		return appender;
 	}
 
 	private Appender<ILoggingEvent> fileAppender(LogbackConfigurator config,
 			String logFile) {
 		RollingFileAppender<ILoggingEvent> appender = new RollingFileAppender<ILoggingEvent>();
+		DiscardCountingAsyncAppender asyncAppender = null;
 		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		if (this.asyncLogging != null) {
+			// Flush once the queue has been drained rather than after every event
+			asyncAppender = new DiscardCountingAsyncAppender(this.asyncLogging);
+			encoder = new BatchFlushingPatternLayoutEncoder(asyncAppender);
+		}
 		String logPattern = this.patterns.getProperty("file", FILE_LOG_PATTERN);
 		encoder.setPattern(OptionHelper.substVars(logPattern, config.getContext()));
 		appender.setEncoder(encoder);
@@ -147,7 +161,18 @@ class DefaultLogbackConfiguration {
 		config.start(triggeringPolicy);
 
 		config.appender("FILE", appender);
+		if (asyncAppender != null) {
+			return asyncAppender(config, "ASYNC_FILE", appender, asyncAppender);
+		}
 		return appender;
 	}
 
+	private Appender<ILoggingEvent> asyncAppender(LogbackConfigurator config,
+			String name, Appender<ILoggingEvent> appender,
+			DiscardCountingAsyncAppender asyncAppender) {
+		asyncAppender.addAppender(appender);
+		config.appender(name, asyncAppender);
+		return asyncAppender;
+	}
+
 }
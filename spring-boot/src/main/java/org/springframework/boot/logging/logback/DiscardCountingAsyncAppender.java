@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import org.springframework.boot.logging.AsyncLogging;
+import org.springframework.boot.logging.AsyncLogging.DiscardPolicy;
+import org.springframework.boot.logging.AsyncLoggingStatistics;
+
+/**
+ * {@link AsyncAppender} configured from {@link AsyncLogging} that only discards events
+ * once its queue is full and that counts the events that it discards.
+ *
+ * @author agent
+ */
+class DiscardCountingAsyncAppender extends AsyncAppender {
+
+	private final AtomicLong discarded = new AtomicLong();
+
+	private final boolean discardAll;
+
+	DiscardCountingAsyncAppender(AsyncLogging asyncLogging) {
+		DiscardPolicy discardPolicy = asyncLogging.getDiscardPolicy();
+		setQueueSize(asyncLogging.getQueueSize());
+		// A threshold of one discards when no capacity remains, zero never discards
+		setDiscardingThreshold(discardPolicy == DiscardPolicy.NEVER ? 0 : 1);
+		setNeverBlock(discardPolicy == DiscardPolicy.ALL);
+		this.discardAll = (discardPolicy == DiscardPolicy.ALL);
+	}
+
+	@Override
+	protected boolean isDiscardable(ILoggingEvent event) {
+		boolean discardable = this.discardAll || super.isDiscardable(event);
+		if (discardable) {
+			this.discarded.incrementAndGet();
+		}
+		return discardable;
+	}
+
+	/**
+	 * Return {@code true} if no events are waiting to be written.
+	 * @return if the queue is empty
+	 */
+	boolean isQueueEmpty() {
+		return getNumberOfElementsInQueue() == 0;
+	}
+
+	/**
+	 * Return statistics for the queue.
+	 * @return the statistics
+	 */
+	AsyncLoggingStatistics getStatistics() {
+		return new AsyncLoggingStatistics(getQueueSize(), getNumberOfElementsInQueue(),
+				this.discarded.get());
+	}
+
+}
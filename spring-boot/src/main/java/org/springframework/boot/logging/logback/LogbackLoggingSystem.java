@@ -21,6 +21,7 @@ import java.security.CodeSource;
 import java.security.ProtectionDomain;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -28,8 +29,10 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.joran.JoranConfigurator;
 import ch.qos.logback.classic.jul.LevelChangePropagator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.turbo.TurboFilter;
 import ch.qos.logback.classic.util.ContextInitializer;
+import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.joran.spi.JoranException;
 import ch.qos.logback.core.spi.FilterReply;
 import ch.qos.logback.core.status.Status;
@@ -38,6 +41,7 @@ import org.slf4j.Logger;
 import org.slf4j.Marker;
 import org.slf4j.impl.StaticLoggerBinder;
 
+import org.springframework.boot.logging.AsyncLoggingStatistics;
 import org.springframework.boot.logging.LogFile;
 import org.springframework.boot.logging.LogLevel;
 import org.springframework.boot.logging.LoggingInitializationContext;
@@ -204,6 +208,22 @@ public class LogbackLoggingSystem extends Slf4JLoggingSystem {
 		getLogger(loggerName).setLevel(LEVELS.get(level));
 	}
 
+	@Override
+	public AsyncLoggingStatistics getAsyncStatistics() {
+		AsyncLoggingStatistics statistics = null;
+		Iterator<Appender<ILoggingEvent>> appenders = getLogger(null)
+				.iteratorForAppenders();
+		while (appenders.hasNext()) {
+			Appender<ILoggingEvent> appender = appenders.next();
+			if (appender instanceof DiscardCountingAsyncAppender) {
+				AsyncLoggingStatistics queue = ((DiscardCountingAsyncAppender) appender)
+						.getStatistics();
+				statistics = (statistics == null ? queue : statistics.add(queue));
+			}
+		}
+		return statistics;
+	}
+
 	@Override
 	public Runnable getShutdownHandler() {
 		return new ShutdownHandler();
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.startup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * Records nested, timed steps that occur whilst an application starts. Steps are stored
+ * in buffers that are allocated up-front so that recording is cheap, steps that do not
+ * fit are dropped. When recording is disabled (the default) the {@link #get() current}
+ * timeline does nothing and the cost of a step is a single field read.
+ * <p>
+ * Typical usage is: <pre class="code">
+ * StartupTimeline timeline = StartupTimeline.get();
+ * int step = timeline.start("my.step");
+ * try {
+ *     // ...
+ * }
+ * finally {
+ *     timeline.end(step);
+ * }
+ * </pre>
+ *
+ * @author agent
+ * @since 1.4.0
+ */
+public final class StartupTimeline {
+
+	/**
+	 * The default maximum number of steps that are recorded.
+	 */
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	private static final StartupTimeline DISABLED = new StartupTimeline(0);
+
+	private static volatile StartupTimeline current = DISABLED;
+
+	private final boolean enabled;
+
+	private final long startTime;
+
+	private final long startNanos;
+
+	private final String[] names;
+
+	private final long[] starts;
+
+	private final long[] ends;
+
+	private final int[] parents;
+
+	private final long[] threads;
+
+	private final ThreadLocal<Integer> currentStep = new ThreadLocal<Integer>();
+
+	private int count;
+
+	private int dropped;
+
+	private StartupTimeline(int capacity) {
+		this.enabled = capacity > 0;
+		this.startTime = System.currentTimeMillis();
+		this.startNanos = System.nanoTime();
+		this.names = new String[capacity];
+		this.starts = new long[capacity];
+		this.ends = new long[capacity];
+		this.parents = new int[capacity];
+		this.threads = new long[capacity];
+	}
+
+	/**
+	 * Return {@code true} if steps are being recorded. Can be used to avoid building
+	 * step names when the timeline is disabled.
+	 * @return if the timeline is enabled
+	 */
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * Start a new step, nested within the current step of the calling thread.
+	 * @param name the name of the step
+	 * @return an identifier that must be passed to {@link #end(int)} or {@code -1} if
+	 * the step is not being recorded
+	 */
+	public int start(String name) {
+		if (!this.enabled) {
+			return -1;
+		}
+		long start = System.nanoTime();
+		Integer parent = this.currentStep.get();
+		int step;
+		synchronized (this) {
+			if (this.count == this.names.length) {
+				this.dropped++;
+				return -1;
+			}
+			step = this.count++;
+			this.names[step] = name;
+			this.starts[step] = start;
+			this.ends[step] = -1;
+			this.parents[step] = (parent == null ? -1 : parent);
+			this.threads[step] = Thread.currentThread().getId();
+		}
+		this.currentStep.set(step);
+		return step;
+	}
+
+	/**
+	 * End a step previously started with {@link #start(String)}.
+	 * @param step the step identifier
+	 */
+	public void end(int step) {
+		if (step < 0) {
+			return;
+		}
+		long end = System.nanoTime();
+		int parent;
+		synchronized (this) {
+			this.ends[step] = end;
+			parent = this.parents[step];
+		}
+		if (parent < 0) {
+			this.currentStep.remove();
+		}
+		else {
+			this.currentStep.set(parent);
+		}
+	}
+
+	/**
+	 * Return the time that recording started, in milliseconds since the epoch.
+	 * @return the start time
+	 */
+	public long getStartTime() {
+		return this.startTime;
+	}
+
+	/**
+	 * Return the number of steps that were dropped because the timeline was full.
+	 * @return the number of dropped steps
+	 */
+	public synchronized int getDroppedSteps() {
+		return this.dropped;
+	}
+
+	/**
+	 * Return the recorded steps in the order that they were started.
+	 * @return the steps
+	 */
+	public synchronized List<Step> getSteps() {
+		List<Step> steps = new ArrayList<Step>(this.count);
+		for (int i = 0; i < this.count; i++) {
+			steps.add(new Step(i, this.names[i], this.parents[i], this.threads[i],
+					this.starts[i] - this.startNanos,
+					this.ends[i] < 0 ? -1 : this.ends[i] - this.starts[i]));
+		}
+		return Collections.unmodifiableList(steps);
+	}
+
+	/**
+	 * Write the recorded steps as a JSON document in the Chrome trace event format that
+	 * can be opened with {@code chrome://tracing}. Steps that have not ended are not
+	 * written.
+	 * @param writer the destination writer
+	 * @throws IOException on write error
+	 */
+	public void writeChromeTrace(Writer writer) throws IOException {
+		writer.write("{\"traceEvents\":[");
+		boolean first = true;
+		for (Step step : getSteps()) {
+			if (step.getDuration() >= 0) {
+				writer.write(first ? "\n" : ",\n");
+				writer.write("{\"name\":\"");
+				writeEscaped(writer, step.getName());
+				writer.write("\",\"ph\":\"X\",\"pid\":1,\"tid\":");
+				writer.write(Long.toString(step.getThreadId()));
+				writer.write(",\"ts\":");
+				writer.write(Long.toString(step.getStart() / 1000));
+				writer.write(",\"dur\":");
+				writer.write(Long.toString(step.getDuration() / 1000));
+				writer.write("}");
+				first = false;
+			}
+		}
+		writer.write("\n],\"displayTimeUnit\":\"ms\"}\n");
+		writer.flush();
+	}
+
+	private void writeEscaped(Writer writer, String value) throws IOException {
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			if (ch == '"' || ch == '\\') {
+				writer.write('\\');
+				writer.write(ch);
+			}
+			else if (ch < ' ') {
+				writer.write(String.format("\\u%04x", (int) ch));
+			}
+			else {
+				writer.write(ch);
+			}
+		}
+	}
+
+	/**
+	 * Return the current timeline. If recording has not been started the returned
+	 * timeline is disabled and ignores all steps.
+	 * @return the current timeline
+	 */
+	public static StartupTimeline get() {
+		return current;
+	}
+
+	/**
+	 * Start recording to a new timeline with the {@link #DEFAULT_CAPACITY default
+	 * capacity}. The new timeline becomes the {@link #get() current} timeline.
+	 * @return the new timeline
+	 */
+	public static StartupTimeline startRecording() {
+		return startRecording(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Start recording to a new timeline. The new timeline becomes the {@link #get()
+	 * current} timeline.
+	 * @param capacity the maximum number of steps to record
+	 * @return the new timeline
+	 */
+	public static StartupTimeline startRecording(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be positive");
+		StartupTimeline timeline = new StartupTimeline(capacity);
+		current = timeline;
+		return timeline;
+	}
+
+	/**
+	 * Stop recording to the given timeline. If it is the {@link #get() current} timeline
+	 * it is replaced by a disabled timeline. Steps already recorded remain available.
+	 * @param timeline the timeline to stop
+	 */
+	public static void stopRecording(StartupTimeline timeline) {
+		if (current == timeline) {
+			current = DISABLED;
+		}
+	}
+
+	/**
+	 * A single recorded step.
+	 */
+	public static final class Step {
+
+		private final int id;
+
+		private final String name;
+
+		private final int parentId;
+
+		private final long threadId;
+
+		private final long start;
+
+		private final long duration;
+
+		Step(int id, String name, int parentId, long threadId, long start,
+				long duration) {
+			this.id = id;
+			this.name = name;
+			this.parentId = parentId;
+			this.threadId = threadId;
+			this.start = start;
+			this.duration = duration;
+		}
+
+		/**
+		 * Return the identifier of the step.
+		 * @return the step identifier
+		 */
+		public int getId() {
+			return this.id;
+		}
+
+		/**
+		 * Return the name of the step.
+		 * @return the step name
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return the identifier of the enclosing step.
+		 * @return the parent step identifier or {@code -1} for a top-level step
+		 */
+		public int getParentId() {
+			return this.parentId;
+		}
+
+		/**
+		 * Return the identifier of the thread that ran the step.
+		 * @return the thread identifier
+		 */
+		public long getThreadId() {
+			return this.threadId;
+		}
+
+		/**
+		 * Return the start of the step, in nanoseconds since recording started.
+		 * @return the start
+		 */
+		public long getStart() {
+			return this.start;
+		}
+
+		/**
+		 * Return the duration of the step in nanoseconds.
+		 * @return the duration or {@code -1} if the step has not ended
+		 */
+		public long getDuration() {
+			return this.duration;
+		}
+
+		@Override
+		public String toString() {
+			return this.name + " (" + this.duration + "ns)";
+		}
+
+	}
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.startup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
+import org.springframework.beans.factory.support.AbstractBeanFactory;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.Ordered;
+
+/**
+ * A pair of bean post processors that record the creation of each bean as a step in a
+ * {@link StartupTimeline}. The first processor starts the step before the bean is
+ * instantiated and the second ends it after all other post processors have initialized
+ * the bean. Steps for beans that fail to be created are ended once the failure is
+ * detected.
+ *
+ * @author agent
+ * @since 1.4.0
+ */
+public final class StartupTimelineBeanPostProcessors {
+
+	private static final String END_BEAN_NAME = StartupTimelineBeanPostProcessors.class
+			.getName() + ".end";
+
+	private StartupTimelineBeanPostProcessors() {
+	}
+
+	/**
+	 * Register the post processors with the given bean factory. Must be called before
+	 * the context is refreshed.
+	 * @param beanFactory the bean factory
+	 * @param timeline the timeline used to record steps
+	 */
+	public static void register(ConfigurableListableBeanFactory beanFactory,
+			StartupTimeline timeline) {
+		if (!timeline.isEnabled() || beanFactory.containsSingleton(END_BEAN_NAME)) {
+			return;
+		}
+		BeanSteps steps = new BeanSteps(beanFactory, timeline);
+		End end = new End(steps);
+		// Added directly so that it runs before any other post processor
+		beanFactory.addBeanPostProcessor(new Start(beanFactory, steps, end));
+		// Registered as a bean so that it's ordered with the internal post processors
+		// that are always applied last
+		beanFactory.registerSingleton(END_BEAN_NAME, end);
+	}
+
+	/**
+	 * Starts a step when a bean is about to be instantiated.
+	 */
+	private static class Start extends InstantiationAwareBeanPostProcessorAdapter {
+
+		private final ConfigurableListableBeanFactory beanFactory;
+
+		private final BeanSteps steps;
+
+		private final End end;
+
+		private volatile boolean endRegistered;
+
+		Start(ConfigurableListableBeanFactory beanFactory, BeanSteps steps, End end) {
+			this.beanFactory = beanFactory;
+			this.steps = steps;
+			this.end = end;
+		}
+
+		@Override
+		public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName)
+				throws BeansException {
+			this.steps.start(beanName);
+			return null;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName)
+				throws BeansException {
+			if (!isEndRegistered()) {
+				// Beans created before post processors are registered (for example
+				// bean factory post processors) need to be ended here
+				this.end.postProcessAfterInitialization(bean, beanName);
+			}
+			return bean;
+		}
+
+		private boolean isEndRegistered() {
+			if (!this.endRegistered && this.beanFactory instanceof AbstractBeanFactory
+					&& ((AbstractBeanFactory) this.beanFactory).getBeanPostProcessors()
+							.contains(this.end)) {
+				this.endRegistered = true;
+			}
+			return this.endRegistered;
+		}
+
+	}
+
+	/**
+	 * Ends a step once the bean has been initialized.
+	 */
+	private static class End implements MergedBeanDefinitionPostProcessor, Ordered {
+
+		private final BeanSteps steps;
+
+		End(BeanSteps steps) {
+			this.steps = steps;
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.LOWEST_PRECEDENCE;
+		}
+
+		@Override
+		public void postProcessMergedBeanDefinition(RootBeanDefinition beanDefinition,
+				Class<?> beanType, String beanName) {
+		}
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName)
+				throws BeansException {
+			return bean;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName)
+				throws BeansException {
+			this.steps.end(beanName);
+			return bean;
+		}
+
+	}
+
+	/**
+	 * Tracks the bean steps started on each thread. There is no callback when the
+	 * creation of a bean fails, so steps for beans that are no longer in creation (and
+	 * any steps nested within them) are ended when the next step starts or when an
+	 * enclosing step ends.
+	 */
+	private static class BeanSteps {
+
+		private final ConfigurableListableBeanFactory beanFactory;
+
+		private final StartupTimeline timeline;
+
+		private final ThreadLocal<List<BeanStep>> started = new ThreadLocal<List<BeanStep>>();
+
+		BeanSteps(ConfigurableListableBeanFactory beanFactory, StartupTimeline timeline) {
+			this.beanFactory = beanFactory;
+			this.timeline = timeline;
+		}
+
+		public void start(String beanName) {
+			List<BeanStep> started = this.started.get();
+			if (started != null) {
+				endAbandoned(started);
+			}
+			int step = this.timeline.start("bean:" + beanName);
+			if (step >= 0) {
+				started = this.started.get();
+				if (started == null) {
+					started = new ArrayList<BeanStep>();
+					this.started.set(started);
+				}
+				// Inner beans are created without being registered as in creation
+				started.add(new BeanStep(beanName, step,
+						this.beanFactory.isCurrentlyInCreation(beanName)));
+			}
+		}
+
+		public void end(String beanName) {
+			List<BeanStep> started = this.started.get();
+			if (started != null) {
+				for (int i = started.size() - 1; i >= 0; i--) {
+					if (started.get(i).getBeanName().equals(beanName)) {
+						endFrom(started, i);
+						return;
+					}
+				}
+			}
+		}
+
+		private void endAbandoned(List<BeanStep> started) {
+			for (int i = 0; i < started.size(); i++) {
+				BeanStep step = started.get(i);
+				if (step.isTracked()
+						&& !this.beanFactory.isCurrentlyInCreation(step.getBeanName())) {
+					endFrom(started, i);
+					return;
+				}
+			}
+		}
+
+		private void endFrom(List<BeanStep> started, int index) {
+			for (int i = started.size() - 1; i >= index; i--) {
+				this.timeline.end(started.remove(i).getStep());
+			}
+			if (started.isEmpty()) {
+				this.started.remove();
+			}
+		}
+
+	}
+
+	/**
+	 * A step for a bean.
+	 */
+	private static class BeanStep {
+
+		private final String beanName;
+
+		private final int step;
+
+		private final boolean tracked;
+
+		BeanStep(String beanName, int step, boolean tracked) {
+			this.beanName = beanName;
+			this.step = step;
+			this.tracked = tracked;
+		}
+
+		public String getBeanName() {
+			return this.beanName;
+		}
+
+		public int getStep() {
+			return this.step;
+		}
+
+		public boolean isTracked() {
+			return this.tracked;
+		}
+
+	}
+
+}
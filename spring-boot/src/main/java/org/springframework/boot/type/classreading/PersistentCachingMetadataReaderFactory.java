@@ -0,0 +1,421 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.boot.type.classreading;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.FieldVisitor;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.classreading.AnnotationMetadataReadingVisitor;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.lang.UsesJava7;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ConcurrentReferenceCachingMetadataReaderFactory} that also stores the class
+ * data needed to create {@link MetadataReader} instances in a file so that it can be
+ * reused by later runs of the application. Only the parts of a class that contribute to
+ * its {@link AnnotationMetadata} are stored (method bodies, fields and debug information
+ * are removed). Entries are keyed by the URL of the {@code .class} resource and
+ * validated using the CRC and size of the jar entry or, for a file, its size and last
+ * modified time. Resources that cannot be validated are always read directly.
+ * <p>
+ * The directory of the file is created if necessary and is restricted to the current
+ * user, as is the file itself. The file is not used if either is owned by another user.
+ * Since these checks require Java 7, the cache is not used on earlier versions.
+ * <p>
+ * Entries read or created by this factory are written when {@link #save()} is called.
+ *
+ * @author agent
+ * @since 1.4.0
+ */
+public class PersistentCachingMetadataReaderFactory
+		extends ConcurrentReferenceCachingMetadataReaderFactory {
+
+	private static final Log logger = LogFactory
+			.getLog(PersistentCachingMetadataReaderFactory.class);
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final int MAGIC = 0x53424D52;
+
+	private static final byte VERSION = 1;
+
+	private static final int STRIP_FLAGS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG
+			| ClassReader.SKIP_FRAMES;
+
+	private static final String DIRECTORY_PERMISSIONS = "rwx------";
+
+	private static final String FILE_PERMISSIONS = "rw-------";
+
+	private final File file;
+
+	private final Object monitor = new Object();
+
+	private volatile Map<String, Entry> entries;
+
+	private volatile boolean modified;
+
+	private volatile Boolean fileUsable;
+
+	/**
+	 * Create a new {@link PersistentCachingMetadataReaderFactory} instance.
+	 * @param classLoader the ClassLoader to use
+	 * @param file the file used to store cache entries
+	 */
+	public PersistentCachingMetadataReaderFactory(ClassLoader classLoader, File file) {
+		super(classLoader);
+		Assert.notNull(file, "File must not be null");
+		this.file = file;
+	}
+
+	@Override
+	protected MetadataReader createMetadataReader(Resource resource) throws IOException {
+		String key = getKey(resource);
+		long[] stamp = (key == null ? null : getStamp(resource));
+		if (stamp == null || !isFileUsable()) {
+			return super.createMetadataReader(resource);
+		}
+		Map<String, Entry> entries = getEntries();
+		Entry entry = entries.get(key);
+		if (entry == null || !entry.hasStamp(stamp)) {
+			byte[] bytes = strip(resource);
+			if (bytes == null) {
+				return super.createMetadataReader(resource);
+			}
+			entry = new Entry(stamp, bytes);
+			entries.put(key, entry);
+			this.modified = true;
+		}
+		entry.used = true;
+		return new StrippedClassMetadataReader(resource, entry.bytes,
+				getResourceLoader().getClassLoader());
+	}
+
+	private String getKey(Resource resource) {
+		try {
+			return resource.getURL().toString();
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	private long[] getStamp(Resource resource) {
+		try {
+			URL url = resource.getURL();
+			if ("file".equals(url.getProtocol())) {
+				File file = resource.getFile();
+				return (file.isFile()
+						? new long[] { file.length(), file.lastModified() } : null);
+			}
+			URLConnection connection = url.openConnection();
+			if (connection instanceof JarURLConnection) {
+				JarEntry jarEntry = ((JarURLConnection) connection).getJarEntry();
+				if (jarEntry != null && jarEntry.getCrc() != -1) {
+					return new long[] { jarEntry.getSize(), jarEntry.getCrc() };
+				}
+			}
+		}
+		catch (IOException ex) {
+			// Ignore and read the resource directly
+		}
+		return null;
+	}
+
+	private byte[] strip(Resource resource) throws IOException {
+		InputStream inputStream = resource.getInputStream();
+		try {
+			ClassReader reader = new ClassReader(inputStream);
+			ClassWriter writer = new ClassWriter(0);
+			reader.accept(new StrippingClassVisitor(writer), STRIP_FLAGS);
+			return writer.toByteArray();
+		}
+		catch (IllegalArgumentException ex) {
+			// Probably an unsupported class file version
+			return null;
+		}
+		finally {
+			inputStream.close();
+		}
+	}
+
+	private Map<String, Entry> getEntries() {
+		Map<String, Entry> entries = this.entries;
+		if (entries == null) {
+			synchronized (this.monitor) {
+				entries = this.entries;
+				if (entries == null) {
+					entries = new ConcurrentHashMap<String, Entry>();
+					if (this.file.isFile()) {
+						try {
+							read(entries);
+						}
+						catch (Exception ex) {
+							logger.debug("Unable to read cached class meta-data from "
+									+ this.file, ex);
+							entries.clear();
+						}
+					}
+					this.entries = entries;
+				}
+			}
+		}
+		return entries;
+	}
+
+	private void read(Map<String, Entry> entries) throws IOException {
+		RandomAccessFile randomAccessFile = new RandomAccessFile(this.file, "r");
+		try {
+			FileChannel channel = randomAccessFile.getChannel();
+			ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			Assert.state(buffer.getInt() == MAGIC && buffer.get() == VERSION,
+					"Unsupported cache file " + this.file);
+			int size = buffer.getInt();
+			for (int i = 0; i < size; i++) {
+				byte[] key = new byte[buffer.getInt()];
+				buffer.get(key);
+				long[] stamp = new long[] { buffer.getLong(), buffer.getLong() };
+				byte[] bytes = new byte[buffer.getInt()];
+				buffer.get(bytes);
+				entries.put(new String(key, UTF_8), new Entry(stamp, bytes));
+			}
+		}
+		finally {
+			randomAccessFile.close();
+		}
+	}
+
+	/**
+	 * Write the entries that have been used since the cache was loaded to the file, if
+	 * any entries have been added or changed. Entries that were not used are removed from
+	 * the file. Once saved, entries are released from memory and will be loaded again
+	 * from the file if needed.
+	 */
+	public void save() {
+		synchronized (this.monitor) {
+			Map<String, Entry> entries = this.entries;
+			if (entries != null && this.modified) {
+				try {
+					write(entries);
+				}
+				catch (Exception ex) {
+					logger.debug("Unable to cache class meta-data to " + this.file, ex);
+				}
+			}
+			this.entries = null;
+			this.modified = false;
+		}
+	}
+
+	private void write(Map<String, Entry> entries) throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(content);
+		output.writeInt(MAGIC);
+		output.writeByte(VERSION);
+		int size = 0;
+		for (Entry entry : entries.values()) {
+			size += (entry.used ? 1 : 0);
+		}
+		output.writeInt(size);
+		for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+			if (entry.getValue().used) {
+				byte[] key = entry.getKey().getBytes(UTF_8);
+				output.writeInt(key.length);
+				output.write(key);
+				output.writeLong(entry.getValue().stamp[0]);
+				output.writeLong(entry.getValue().stamp[1]);
+				output.writeInt(entry.getValue().bytes.length);
+				output.write(entry.getValue().bytes);
+			}
+		}
+		output.flush();
+		File directory = this.file.getAbsoluteFile().getParentFile();
+		File tempFile = File.createTempFile("metadata", ".tmp", directory);
+		restrictToOwner(tempFile, FILE_PERMISSIONS);
+		FileOutputStream outputStream = new FileOutputStream(tempFile);
+		try {
+			content.writeTo(outputStream);
+		}
+		finally {
+			outputStream.close();
+		}
+		if (!tempFile.renameTo(this.file)) {
+			this.file.delete();
+			if (!tempFile.renameTo(this.file)) {
+				tempFile.delete();
+			}
+		}
+	}
+
+	private boolean isFileUsable() {
+		Boolean fileUsable = this.fileUsable;
+		if (fileUsable == null) {
+			synchronized (this.monitor) {
+				fileUsable = this.fileUsable;
+				if (fileUsable == null) {
+					fileUsable = checkFile();
+					this.fileUsable = fileUsable;
+				}
+			}
+		}
+		return fileUsable;
+	}
+
+	@UsesJava7
+	private boolean checkFile() {
+		try {
+			File directory = this.file.getAbsoluteFile().getParentFile();
+			Path path = directory.toPath();
+			Files.createDirectories(path);
+			UserPrincipal currentUser = path.getFileSystem()
+					.getUserPrincipalLookupService()
+					.lookupPrincipalByName(System.getProperty("user.name"));
+			if (!currentUser.equals(Files.getOwner(path)) || (this.file.exists()
+					&& !currentUser.equals(Files.getOwner(this.file.toPath())))) {
+				logger.warn("Not caching class meta-data in " + this.file
+						+ " since it is not owned by the current user");
+				return false;
+			}
+			restrictToOwner(directory, DIRECTORY_PERMISSIONS);
+			return true;
+		}
+		catch (Throwable ex) {
+			logger.debug("Unable to cache class meta-data in " + this.file, ex);
+			return false;
+		}
+	}
+
+	@UsesJava7
+	private void restrictToOwner(File file, String permissions) throws IOException {
+		Path path = file.toPath();
+		if (Files.getFileStore(path)
+				.supportsFileAttributeView(PosixFileAttributeView.class)) {
+			Files.setPosixFilePermissions(path,
+					PosixFilePermissions.fromString(permissions));
+		}
+	}
+
+	/**
+	 * A cache entry.
+	 */
+	private static final class Entry {
+
+		private final long[] stamp;
+
+		private final byte[] bytes;
+
+		private volatile boolean used;
+
+		Entry(long[] stamp, byte[] bytes) {
+			this.stamp = stamp;
+			this.bytes = bytes;
+		}
+
+		boolean hasStamp(long[] stamp) {
+			return this.stamp[0] == stamp[0] && this.stamp[1] == stamp[1];
+		}
+
+	}
+
+	/**
+	 * {@link ClassVisitor} that removes the parts of a class that do not contribute to
+	 * its meta-data. Method bodies and debug information are skipped by the reader.
+	 */
+	private static final class StrippingClassVisitor extends ClassVisitor {
+
+		StrippingClassVisitor(ClassVisitor classVisitor) {
+			super(SpringAsmInfo.ASM_VERSION, classVisitor);
+		}
+
+		@Override
+		public void visitSource(String source, String debug) {
+		}
+
+		@Override
+		public FieldVisitor visitField(int access, String name, String desc,
+				String signature, Object value) {
+			return null;
+		}
+
+	}
+
+	/**
+	 * {@link MetadataReader} for stripped class data.
+	 */
+	private static final class StrippedClassMetadataReader implements MetadataReader {
+
+		private final Resource resource;
+
+		private final AnnotationMetadataReadingVisitor metadata;
+
+		StrippedClassMetadataReader(Resource resource, byte[] bytes,
+				ClassLoader classLoader) {
+			this.resource = resource;
+			this.metadata = new AnnotationMetadataReadingVisitor(classLoader);
+			new ClassReader(bytes).accept(this.metadata, ClassReader.SKIP_DEBUG);
+		}
+
+		@Override
+		public Resource getResource() {
+			return this.resource;
+		}
+
+		@Override
+		public ClassMetadata getClassMetadata() {
+			return this.metadata;
+		}
+
+		@Override
+		public AnnotationMetadata getAnnotationMetadata() {
+			return this.metadata;
+		}
+
+	}
+
+}
@@ -49,6 +49,10 @@ abstract class ServletComponentHandler {
 		return this.typeFilter;
 	}
 
+	Class<? extends Annotation> getAnnotationType() {
+		return this.annotationType;
+	}
+
 	protected String[] extractUrlPatterns(String attribute,
 			Map<String, Object> attributes) {
 		String[] value = (String[]) attributes.get("value");
@@ -26,6 +26,7 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.context.scan.IndexedCandidateComponentProvider;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
@@ -93,10 +94,10 @@ class ServletComponentRegisteringPostProcessor
 	}
 
 	private ClassPathScanningCandidateComponentProvider createComponentProvider() {
-		ClassPathScanningCandidateComponentProvider componentProvider = new ClassPathScanningCandidateComponentProvider(
+		IndexedCandidateComponentProvider componentProvider = new IndexedCandidateComponentProvider(
 				false);
 		for (ServletComponentHandler handler : HANDLERS) {
-			componentProvider.addIncludeFilter(handler.getTypeFilter());
+			componentProvider.addIncludeAnnotationType(handler.getAnnotationType());
 		}
 		return componentProvider;
 	}
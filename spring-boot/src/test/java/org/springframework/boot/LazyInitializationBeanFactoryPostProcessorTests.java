@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.boot;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LazyInitializationBeanFactoryPostProcessor}.
+ *
+ * @author agent
+ */
+public class LazyInitializationBeanFactoryPostProcessorTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	@After
+	public void close() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+	@Test
+	public void beansAreCreatedWhenFirstNeeded() throws Exception {
+		load(ExampleConfig.class);
+		ExampleConfig config = this.context.getBean(ExampleConfig.class);
+		assertThat(config.created.get()).isEqualTo(0);
+		this.context.getBean("example");
+		assertThat(config.created.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void excludedBeansAreCreatedEagerly() throws Exception {
+		load(ExampleConfig.class, ExcludeConfig.class);
+		ExampleConfig config = this.context.getBean(ExampleConfig.class);
+		assertThat(config.created.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void smartInitializingSingletonsAreCreatedEagerly() throws Exception {
+		load(SmartInitializingConfig.class);
+		assertThat(SmartInitializingConfig.initialized).isTrue();
+	}
+
+	@Test
+	public void infrastructureBeansAreNotChanged() throws Exception {
+		load(InfrastructureConfig.class);
+		assertThat(this.context.getBeanFactory().getBeanDefinition("infrastructure")
+				.isLazyInit()).isFalse();
+	}
+
+	private void load(Class<?>... configs) {
+		this.context = new AnnotationConfigApplicationContext();
+		this.context.register(configs);
+		this.context.addBeanFactoryPostProcessor(
+				new LazyInitializationBeanFactoryPostProcessor());
+		this.context.refresh();
+	}
+
+	@Configuration
+	static class ExampleConfig {
+
+		private final AtomicInteger created = new AtomicInteger();
+
+		@Bean
+		public ExampleBean example() {
+			this.created.incrementAndGet();
+			return new ExampleBean();
+		}
+
+	}
+
+	@Configuration
+	static class ExcludeConfig {
+
+		@Bean
+		public static LazyInitializationExcludeFilter exampleExcludeFilter() {
+			return LazyInitializationExcludeFilter.forBeanTypes(ExampleBean.class);
+		}
+
+	}
+
+	@Configuration
+	static class SmartInitializingConfig {
+
+		private static boolean initialized;
+
+		@Bean
+		public SmartInitializingSingleton smartInitializingSingleton() {
+			initialized = false;
+			return new SmartInitializingSingleton() {
+
+				@Override
+				public void afterSingletonsInstantiated() {
+					initialized = true;
+				}
+
+			};
+		}
+
+	}
+
+	@Configuration
+	static class InfrastructureConfig {
+
+		@Bean
+		@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+		public ExampleBean infrastructure() {
+			return new ExampleBean();
+		}
+
+	}
+
+	static class ExampleBean {
+
+	}
+
+}
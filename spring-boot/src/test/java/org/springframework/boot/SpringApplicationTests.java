@@ -16,6 +16,9 @@
 
 package org.springframework.boot;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -34,6 +37,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
@@ -45,6 +49,7 @@ import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEven
 import org.springframework.boot.context.event.ApplicationPreparedEvent;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.startup.StartupTimeline;
 import org.springframework.boot.testutil.InternalOutputCapture;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -74,6 +79,7 @@ import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.test.context.support.TestPropertySourceUtils;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.context.support.StandardServletEnvironment;
 
@@ -111,6 +117,9 @@ public class SpringApplicationTests {
 	@Rule
 	public InternalOutputCapture output = new InternalOutputCapture();
 
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
 	private ConfigurableApplicationContext context;
 
 	private Environment getEnvironment() {
@@ -260,6 +269,74 @@ public class SpringApplicationTests {
 		assertThat(this.context.getId()).startsWith("foo");
 	}
 
+	@Test
+	public void recordStartupTimeline() throws Exception {
+		SpringApplication application = new SpringApplication(ListenerConfig.class);
+		application.setWebEnvironment(false);
+		application.setRecordStartupTimeline(true);
+		this.context = application.run();
+		StartupTimeline timeline = this.context.getBean(StartupTimeline.class);
+		assertThat(StartupTimeline.get()).isNotSameAs(timeline);
+		assertThat(StartupTimeline.get().isEnabled()).isFalse();
+		Map<String, StartupTimeline.Step> steps = new HashMap<String, StartupTimeline.Step>();
+		for (StartupTimeline.Step step : timeline.getSteps()) {
+			assertThat(step.getDuration()).as(step.getName()).isGreaterThanOrEqualTo(0);
+			steps.put(step.getName(), step);
+		}
+		assertThat(steps).containsKeys("application.run", "listeners.started",
+				"listeners.environment-prepared", "config.load", "application.refresh",
+				"bean:testApplicationListener");
+		assertThat(steps.get("config.load").getParentId())
+				.isEqualTo(steps.get("listeners.environment-prepared").getId());
+		assertThat(steps.get("bean:testApplicationListener").getParentId())
+				.isEqualTo(steps.get("application.refresh").getId());
+	}
+
+	@Test
+	public void recordStartupTimelineWritesTraceFile() throws Exception {
+		File traceFile = this.temp.newFile("trace.json");
+		SpringApplication application = new SpringApplication(ExampleConfig.class);
+		application.setWebEnvironment(false);
+		application.setRecordStartupTimeline(true);
+		this.context = application.run(
+				"--spring.startup.trace-file=" + traceFile.getAbsolutePath());
+		String trace = FileCopyUtils
+				.copyToString(new InputStreamReader(new FileInputStream(traceFile)));
+		assertThat(trace).startsWith("{\"traceEvents\":[")
+				.contains("\"name\":\"application.run\"");
+	}
+
+	@Test
+	public void recordStartupTimelineStopsWhenStartedListenerFails() throws Exception {
+		SpringApplication application = new SpringApplication(ExampleConfig.class);
+		application.setWebEnvironment(false);
+		application.setRecordStartupTimeline(true);
+		application.addListeners(new ApplicationListener<ApplicationStartedEvent>() {
+
+			@Override
+			public void onApplicationEvent(ApplicationStartedEvent event) {
+				throw new IllegalStateException("Expected");
+			}
+
+		});
+		try {
+			application.run();
+			fail("Run should have failed");
+		}
+		catch (IllegalStateException ex) {
+			assertThat(ex).hasMessage("Expected");
+		}
+		assertThat(StartupTimeline.get().isEnabled()).isFalse();
+	}
+
+	@Test
+	public void startupTimelineIsNotRecordedByDefault() throws Exception {
+		SpringApplication application = new SpringApplication(ExampleConfig.class);
+		application.setWebEnvironment(false);
+		this.context = application.run();
+		assertThat(this.context.getBeansOfType(StartupTimeline.class)).isEmpty();
+	}
+
 	@Test
 	public void specificApplicationContextClass() throws Exception {
 		SpringApplication application = new SpringApplication(ExampleConfig.class);
@@ -360,6 +437,30 @@ public class SpringApplicationTests {
 				.isInstanceOf(AnnotationConfigEmbeddedWebApplicationContext.class);
 	}
 
+	@Test
+	public void lazyInitialization() throws Exception {
+		LazyConfig.created = false;
+		SpringApplication application = new SpringApplication(LazyConfig.class);
+		application.setWebEnvironment(false);
+		this.context = application.run("--spring.main.lazy-initialization=true");
+		assertThat(LazyConfig.created).isFalse();
+		this.context.getBean("lazyBean");
+		assertThat(LazyConfig.created).isTrue();
+	}
+
+	@Test
+	public void lazyInitializationWithEmbeddedWebApplication() throws Exception {
+		LazyConfig.created = false;
+		SpringApplication application = new SpringApplication(ExampleWebConfig.class,
+				LazyConfig.class);
+		application.setWebEnvironment(true);
+		application.setLazyInitialization(true);
+		this.context = application.run();
+		assertThat(LazyConfig.created).isFalse();
+		assertThat(((AnnotationConfigEmbeddedWebApplicationContext) this.context)
+				.getEmbeddedServletContainer().getPort()).isGreaterThan(0);
+	}
+
 	@Test
 	public void customEnvironment() throws Exception {
 		TestSpringApplication application = new TestSpringApplication(
@@ -947,6 +1048,19 @@ public class SpringApplicationTests {
 
 	}
 
+	@Configuration
+	static class LazyConfig {
+
+		private static boolean created;
+
+		@Bean
+		public String lazyBean() {
+			created = true;
+			return "lazy";
+		}
+
+	}
+
 	@Configuration
 	static class ListenerConfig {
 
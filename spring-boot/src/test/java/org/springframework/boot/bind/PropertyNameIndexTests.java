@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.bind;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.core.env.MapPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PropertyNameIndex}.
+ *
+ * @author agent
+ */
+public class PropertyNameIndexTests {
+
+	@Test
+	public void namesStartingWithPrefix() throws Exception {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("zzz", "z");
+		map.put("foo.bar", "a");
+		map.put("baz", "b");
+		map.put("FOO_BAZ", "c");
+		map.put("foo", "d");
+		MapPropertySource source = new MapPropertySource("test", map);
+		assertThat(PropertyNameIndex.get(source).getNamesStartingWith("Foo"))
+				.containsExactly("foo.bar", "FOO_BAZ", "foo");
+	}
+
+	@Test
+	public void namesStartingWithMultiplePrefixes() throws Exception {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("a.one", "1");
+		map.put("b.one", "1");
+		map.put("c.one", "1");
+		map.put("a.two", "2");
+		MapPropertySource source = new MapPropertySource("test", map);
+		assertThat(PropertyNameIndex.get(source).getNamesStartingWith("c", "a", "a.t"))
+				.containsExactly("a.one", "c.one", "a.two");
+	}
+
+	@Test
+	public void namesStartingWithWhenNoMatch() throws Exception {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("foo", "bar");
+		MapPropertySource source = new MapPropertySource("test", map);
+		assertThat(PropertyNameIndex.get(source).getNamesStartingWith("bar", "zzz"))
+				.isEmpty();
+	}
+
+	@Test
+	public void indexIsReused() throws Exception {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("foo", "bar");
+		MapPropertySource source = new MapPropertySource("test", map);
+		assertThat(PropertyNameIndex.get(source))
+				.isSameAs(PropertyNameIndex.get(source));
+	}
+
+	@Test
+	public void indexIsRebuiltWhenNamesChange() throws Exception {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("foo", "bar");
+		MapPropertySource source = new MapPropertySource("test", map);
+		PropertyNameIndex index = PropertyNameIndex.get(source);
+		map.put("foo.baz", "bar");
+		assertThat(PropertyNameIndex.get(source)).isNotSameAs(index);
+		assertThat(PropertyNameIndex.get(source).getNamesStartingWith("foo"))
+				.containsExactly("foo", "foo.baz");
+	}
+
+}
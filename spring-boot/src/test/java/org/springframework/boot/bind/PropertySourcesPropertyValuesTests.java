@@ -99,6 +99,39 @@ public class PropertySourcesPropertyValuesTests {
 		assertThat(names).containsExactly("one", "two", "three", "four", "five", "name");
 	}
 
+	@Test
+	public void testIncludesFromIndexPreserveOrderAndIgnoreCase() {
+		LinkedHashMap<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("FOO_TWO", 2);
+		map.put("bar.one", 1);
+		map.put("foo.one", 1);
+		map.put("foobar.one", 1);
+		map.put("foo[0]", 0);
+		this.propertySources.addFirst(new MapPropertySource("ordered", map));
+		PropertySourcesPropertyValues propertyValues = new PropertySourcesPropertyValues(
+				this.propertySources, null, new DefaultPropertyNamePatternsMatcher(
+						new char[] { '_', '.', '[' }, true, "foo"));
+		Collection<String> names = new ArrayList<String>();
+		for (PropertyValue value : propertyValues.getPropertyValues()) {
+			names.add(value.getName());
+		}
+		assertThat(names).containsExactly("FOO_TWO", "foo.one", "foo[0]");
+	}
+
+	@Test
+	public void testIncludesFromIndexWhenPropertyAdded() {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("foo.one", 1);
+		this.propertySources.addFirst(new MapPropertySource("changing", map));
+		DefaultPropertyNamePatternsMatcher includes = new DefaultPropertyNamePatternsMatcher(
+				new char[] { '_', '.' }, true, "foo");
+		assertThat(new PropertySourcesPropertyValues(this.propertySources, null, includes)
+				.getPropertyValues()).hasSize(1);
+		map.put("foo.two", 2);
+		assertThat(new PropertySourcesPropertyValues(this.propertySources, null, includes)
+				.getPropertyValues()).hasSize(2);
+	}
+
 	@Test
 	public void testNonEnumeratedValue() {
 		PropertySourcesPropertyValues propertyValues = new PropertySourcesPropertyValues(
@@ -98,6 +98,25 @@ public class RelaxedPropertyResolverTests {
 		assertThat(this.resolver.getProperty("my-object")).isEqualTo("object");
 	}
 
+	@Test
+	public void getPropertyWhenAddedAfterPreviousLookup() throws Exception {
+		assertThat(this.resolver.getProperty("my-added")).isNull();
+		this.source.put("MY_ADDED", "added");
+		assertThat(this.resolver.getProperty("my-added")).isEqualTo("added");
+		this.source.remove("MY_ADDED");
+		assertThat(this.resolver.getProperty("my-added")).isNull();
+	}
+
+	@Test
+	public void getPropertyWithPrefixesThatShareNames() throws Exception {
+		this.source.put("a.bc", "abc");
+		this.source.put("ab.c", "ab-c");
+		assertThat(new RelaxedPropertyResolver(this.environment, "a.").getProperty("bc"))
+				.isEqualTo("abc");
+		assertThat(new RelaxedPropertyResolver(this.environment, "ab.").getProperty("c"))
+				.isEqualTo("ab-c");
+	}
+
 	@Test
 	public void getPropertyWithDefault() throws Exception {
 		assertThat(this.resolver.getProperty("my-string", "a")).isEqualTo("value");
@@ -129,6 +129,44 @@ public class CloudFoundryVcapEnvironmentPostProcessorTests {
 		assertThat(getProperty("vcap.services.mysql.credentials.port")).isEqualTo("3306");
 	}
 
+	@Test
+	public void testApplicationListValues() {
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.context,
+				"VCAP_APPLICATION={\"uris\":[\"foo.cfapps.io\",\"bar.cfapps.io\"],"
+						+ "\"users\":[],\"limits\":[{\"mem\":128,\"disk\":[1,null]}]}");
+		this.initializer.postProcessEnvironment(this.context.getEnvironment(), null);
+		assertThat(getProperty("vcap.application.uris"))
+				.isEqualTo("foo.cfapps.io,bar.cfapps.io");
+		assertThat(getProperty("vcap.application.uris[1]")).isEqualTo("bar.cfapps.io");
+		assertThat(getProperty("vcap.application.users")).isEqualTo("");
+		assertThat(getProperty("vcap.application.limits"))
+				.isEqualTo("{mem=128, disk=[1, null]}");
+		assertThat(getProperty("vcap.application.limits[0].disk")).isEqualTo("1,null");
+		assertThat(getProperty("vcap.application.limits[0].disk[1]")).isEqualTo("");
+	}
+
+	@Test
+	public void testServicePropertiesWithoutName() {
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.context,
+				"VCAP_SERVICES={\"rds-mysql\":[{\"credentials\":{\"port\":3306},"
+						+ "\"label\":\"rds-mysql\"}],\"p-redis\":[{\"name\":\"redis\","
+						+ "\"credentials\":{\"port\":6379}},{\"name\":\"cache\"}]}");
+		this.initializer.postProcessEnvironment(this.context.getEnvironment(), null);
+		assertThat(getProperty("vcap.services.rds-mysql.credentials.port"))
+				.isEqualTo("3306");
+		assertThat(getProperty("vcap.services.redis.credentials.port"))
+				.isEqualTo("6379");
+		assertThat(getProperty("vcap.services.cache.name")).isEqualTo("cache");
+	}
+
+	@Test
+	public void testUnparseableServiceProperties() {
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.context,
+				"VCAP_SERVICES={\"rds-mysql\":{\"name\":\"mysql\"}}");
+		this.initializer.postProcessEnvironment(this.context.getEnvironment(), null);
+		assertThat(getProperty("vcap.services.mysql.name")).isNull();
+	}
+
 	private String getProperty(String key) {
 		return this.context.getEnvironment().getProperty(key);
 	}
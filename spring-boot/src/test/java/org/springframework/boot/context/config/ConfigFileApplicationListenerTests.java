@@ -36,6 +36,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.CachedIntrospectionResults;
@@ -89,6 +90,9 @@ public class ConfigFileApplicationListenerTests {
 	@Rule
 	public InternalOutputCapture out = new InternalOutputCapture();
 
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
 	private ConfigurableApplicationContext context;
 
 	@Before
@@ -719,6 +723,74 @@ public class ConfigFileApplicationListenerTests {
 		assertThat(this.context.getEnvironment()).doesNotHave(matchingProfile("missing"));
 	}
 
+	@Test
+	public void parallelLoadActivatesProfilesInSameOrder() throws Exception {
+		SpringApplication application = new SpringApplication(Config.class);
+		application.setWebEnvironment(false);
+		this.context = application.run("--spring.profiles.active=includeprofile");
+		String[] expectedProfiles = this.context.getEnvironment().getActiveProfiles();
+		List<String> expectedNames = getConfigurationPropertySourceNames(this.context);
+		this.context.close();
+		this.context = application.run("--spring.profiles.active=includeprofile",
+				"--spring.config.parallel-load=true");
+		assertThat(this.context.getEnvironment().getActiveProfiles())
+				.containsExactly(expectedProfiles);
+		assertThat(getConfigurationPropertySourceNames(this.context))
+				.containsExactlyElementsOf(expectedNames);
+	}
+
+	@Test
+	public void parallelLoadYamlSetsProfiles() throws Exception {
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.environment,
+				"spring.config.parallel-load=true");
+		this.initializer.setSearchNames("testsetprofiles");
+		this.initializer.postProcessEnvironment(this.environment, this.application);
+		assertThat(this.environment.getActiveProfiles()).containsExactly("dev");
+		assertThat(this.environment.getProperty("my.property"))
+				.isEqualTo("fromdevprofile");
+	}
+
+	@Test
+	public void cachedYamlProfiles() throws Exception {
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.environment,
+				"spring.config.cache=true");
+		this.initializer.setSearchNames("testprofiles");
+		this.environment.setActiveProfiles("dev");
+		this.initializer.postProcessEnvironment(this.environment, this.application);
+		StandardEnvironment cachedEnvironment = new StandardEnvironment();
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(cachedEnvironment,
+				"spring.config.cache=true");
+		cachedEnvironment.setActiveProfiles("dev");
+		this.initializer.postProcessEnvironment(cachedEnvironment, this.application);
+		assertThat(cachedEnvironment.getProperty("my.property"))
+				.isEqualTo("fromdevprofile");
+		assertThat(cachedEnvironment.getProperty("my.other")).isEqualTo("notempty");
+	}
+
+	@Test
+	public void cacheLocation() throws Exception {
+		File cacheLocation = new File(this.temp.getRoot(), "cache");
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.environment,
+				"spring.config.cache=" + cacheLocation.getAbsolutePath());
+		this.initializer.setSearchNames("testprofiles");
+		this.initializer.postProcessEnvironment(this.environment, this.application);
+		assertThat(this.environment.getProperty("my.property"))
+				.isEqualTo("fromyamlfile");
+		assertThat(cacheLocation.list()).isNotEmpty();
+	}
+
+	private List<String> getConfigurationPropertySourceNames(
+			ConfigurableApplicationContext context) {
+		List<String> names = new ArrayList<String>();
+		for (org.springframework.core.env.PropertySource<?> source : context
+				.getEnvironment().getPropertySources()) {
+			if (source.getName().startsWith("applicationConfig")) {
+				names.add(source.getName());
+			}
+		}
+		return names;
+	}
+
 	@Test
 	public void profileSubDocumentInSameProfileSpecificFile() throws Exception {
 		// gh-340
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.Servlet;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.boot.context.embedded.config.ExampleEmbeddedWebApplicationConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ParallelAnnotationConfigEmbeddedWebApplicationContext}.
+ *
+ * @author agent
+ */
+public class ParallelAnnotationConfigEmbeddedWebApplicationContextTests {
+
+	private static final List<String> created = new ArrayList<String>();
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private ParallelAnnotationConfigEmbeddedWebApplicationContext context;
+
+	@After
+	public void close() {
+		if (this.context != null) {
+			this.context.close();
+		}
+		created.clear();
+	}
+
+	@Test
+	public void createFromConfigClass() throws Exception {
+		this.context = new ParallelAnnotationConfigEmbeddedWebApplicationContext(
+				ExampleEmbeddedWebApplicationConfiguration.class);
+		MockEmbeddedServletContainerFactory containerFactory = this.context
+				.getBean(MockEmbeddedServletContainerFactory.class);
+		Servlet servlet = this.context.getBean(Servlet.class);
+		verify(containerFactory.getServletContext()).addServlet("servlet", servlet);
+	}
+
+	@Test
+	public void beanClassesArePreparedInBackground() throws Exception {
+		RecordingContext context = new RecordingContext(3);
+		this.context = context;
+		context.setParallelism(2);
+		context.register(ExampleEmbeddedWebApplicationConfiguration.class,
+				OrderedConfiguration.class);
+		context.refresh();
+		assertThat(context.isPrepared()).isTrue();
+		assertThat(context.prepared).containsKeys(First.class, Second.class,
+				Third.class);
+		for (String threadName : context.prepared.values()) {
+			assertThat(threadName).startsWith("context-preparation-");
+		}
+	}
+
+	@Test
+	public void singletonsAreCreatedInOrder() throws Exception {
+		this.context = new ParallelAnnotationConfigEmbeddedWebApplicationContext();
+		this.context.setParallelism(4);
+		this.context.register(ExampleEmbeddedWebApplicationConfiguration.class,
+				OrderedConfiguration.class);
+		this.context.refresh();
+		assertThat(created).containsExactly("first", "second", "third");
+	}
+
+	@Test
+	public void unloadableBeanClassFailsRefresh() throws Exception {
+		this.context = new ParallelAnnotationConfigEmbeddedWebApplicationContext();
+		this.context.register(ExampleEmbeddedWebApplicationConfiguration.class);
+		GenericBeanDefinition definition = new GenericBeanDefinition();
+		definition.setBeanClassName("com.example.Missing");
+		this.context.registerBeanDefinition("missing", definition);
+		this.thrown.expectMessage("Cannot find class [com.example.Missing]");
+		this.context.refresh();
+	}
+
+	@Test
+	public void parallelismOfOneDisablesPreparation() throws Exception {
+		RecordingContext context = new RecordingContext(0);
+		this.context = context;
+		context.setParallelism(1);
+		context.register(ExampleEmbeddedWebApplicationConfiguration.class,
+				OrderedConfiguration.class);
+		context.refresh();
+		assertThat(context.prepared).isEmpty();
+	}
+
+	@Configuration
+	static class OrderedConfiguration {
+
+		@Bean
+		public First first() {
+			return new First();
+		}
+
+		@Bean
+		public Second second(First first) {
+			return new Second();
+		}
+
+		@Bean
+		public Third third() {
+			return new Third();
+		}
+
+	}
+
+	static class First {
+
+		First() {
+			created.add("first");
+		}
+
+	}
+
+	static class Second {
+
+		Second() {
+			created.add("second");
+		}
+
+	}
+
+	static class Third {
+
+		Third() {
+			created.add("third");
+		}
+
+	}
+
+	static class RecordingContext
+			extends ParallelAnnotationConfigEmbeddedWebApplicationContext {
+
+		private final ConcurrentMap<Class<?>, String> prepared = new ConcurrentHashMap<Class<?>, String>();
+
+		private final CountDownLatch latch;
+
+		RecordingContext(int expected) {
+			this.latch = new CountDownLatch(expected);
+		}
+
+		@Override
+		protected void prepareBeanClass(Class<?> beanClass) {
+			super.prepareBeanClass(beanClass);
+			Set<Class<?>> recorded = this.prepared.keySet();
+			if (!recorded.contains(beanClass) && (beanClass == First.class
+					|| beanClass == Second.class || beanClass == Third.class)) {
+				this.latch.countDown();
+			}
+			this.prepared.put(beanClass, Thread.currentThread().getName());
+		}
+
+		@Override
+		protected void finishBeanFactoryInitialization(
+				ConfigurableListableBeanFactory beanFactory) {
+			// Wait so that preparation isn't stopped before the classes are prepared
+			try {
+				this.latch.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			super.finishBeanFactoryInitialization(beanFactory);
+		}
+
+		boolean isPrepared() {
+			return this.latch.getCount() == 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.scan;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.scan.example.ExampleComponent;
+import org.springframework.boot.context.scan.example.ExampleOtherComponent;
+import org.springframework.boot.context.scan.example.ExampleScannedComponent;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link IndexedCandidateComponentProvider}.
+ *
+ * @author agent
+ */
+public class IndexedCandidateComponentProviderTests {
+
+	private static final String BASE_PACKAGE = ExampleComponent.class.getPackage()
+			.getName();
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void defaultFiltersUseIndex() throws Exception {
+		IndexedCandidateComponentProvider provider = new IndexedCandidateComponentProvider(
+				true);
+		assertThat(findCandidateComponents(provider)).containsOnly(
+				ExampleComponent.class.getName(),
+				ExampleScannedComponent.class.getName());
+	}
+
+	@Test
+	public void includeAnnotationTypeUsesIndex() throws Exception {
+		IndexedCandidateComponentProvider provider = new IndexedCandidateComponentProvider(
+				false);
+		provider.addIncludeAnnotationType(Component.class);
+		assertThat(findCandidateComponents(provider)).containsOnly(
+				ExampleComponent.class.getName(),
+				ExampleScannedComponent.class.getName());
+	}
+
+	@Test
+	public void includeFilterDoesNotUseIndex() throws Exception {
+		IndexedCandidateComponentProvider provider = new IndexedCandidateComponentProvider(
+				false);
+		provider.addIncludeFilter(new AnnotationTypeFilter(Component.class));
+		assertThat(findCandidateComponents(provider)).containsOnly(
+				ExampleComponent.class.getName(),
+				ExampleOtherComponent.class.getName(),
+				ExampleScannedComponent.class.getName());
+	}
+
+	@Test
+	public void unindexedAnnotationTypeDoesNotUseIndex() throws Exception {
+		IndexedCandidateComponentProvider provider = new IndexedCandidateComponentProvider(
+				false);
+		provider.addIncludeAnnotationType(Component.class);
+		provider.addIncludeAnnotationType(Service.class);
+		assertThat(findCandidateComponents(provider)).hasSize(3);
+	}
+
+	@Test
+	public void resetFiltersUsesIndex() throws Exception {
+		IndexedCandidateComponentProvider provider = new IndexedCandidateComponentProvider(
+				false);
+		provider.addIncludeFilter(new AnnotationTypeFilter(Component.class));
+		provider.resetFilters(true);
+		assertThat(findCandidateComponents(provider)).hasSize(2);
+	}
+
+	@Test
+	public void customResourcePatternDoesNotUseIndex() throws Exception {
+		IndexedCandidateComponentProvider provider = new IndexedCandidateComponentProvider(
+				true);
+		provider.setResourcePattern("**/Example*.class");
+		assertThat(findCandidateComponents(provider)).hasSize(3);
+	}
+
+	@Test
+	public void unlistedClassInIndexedRootIsScanned() throws Exception {
+		IndexedCandidateComponentProvider provider = new IndexedCandidateComponentProvider(
+				true);
+		Properties index = new Properties();
+		index.setProperty(ExampleComponent.class.getName(), Component.class.getName());
+		assertThat(findCandidateComponents(provider, index)).containsOnly(
+				ExampleComponent.class.getName(),
+				ExampleOtherComponent.class.getName(),
+				ExampleScannedComponent.class.getName());
+	}
+
+	private Set<String> findCandidateComponents(
+			IndexedCandidateComponentProvider provider) throws IOException {
+		// The index deliberately lists one of its components without stereotypes
+		Properties index = new Properties();
+		index.setProperty(ExampleComponent.class.getName(), Component.class.getName());
+		index.setProperty(ExampleOtherComponent.class.getName(), "");
+		return findCandidateComponents(provider, index);
+	}
+
+	private Set<String> findCandidateComponents(
+			IndexedCandidateComponentProvider provider, Properties index)
+					throws IOException {
+		File indexedRoot = createRoot(ExampleComponent.class,
+				ExampleOtherComponent.class);
+		File indexFile = new File(indexedRoot,
+				CandidateComponentsIndex.INDEX_LOCATION);
+		indexFile.getParentFile().mkdirs();
+		FileCopyUtils.copy(toBytes(index), indexFile);
+		File scannedRoot = createRoot(ExampleScannedComponent.class);
+		URLClassLoader classLoader = new URLClassLoader(new URL[] {
+				indexedRoot.toURI().toURL(), scannedRoot.toURI().toURL() }, null);
+		provider.setResourceLoader(new DefaultResourceLoader(classLoader));
+		Set<String> names = new LinkedHashSet<String>();
+		for (BeanDefinition candidate : provider.findCandidateComponents(BASE_PACKAGE)) {
+			names.add(candidate.getBeanClassName());
+		}
+		return names;
+	}
+
+	private File createRoot(Class<?>... types) throws IOException {
+		File root = this.temp.newFolder();
+		for (Class<?> type : types) {
+			String path = type.getName().replace('.', '/') + ".class";
+			File file = new File(root, path);
+			file.getParentFile().mkdirs();
+			InputStream inputStream = type.getClassLoader().getResourceAsStream(path);
+			FileCopyUtils.copy(FileCopyUtils.copyToByteArray(inputStream), file);
+		}
+		return root;
+	}
+
+	private byte[] toBytes(Properties properties) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		properties.store(outputStream, null);
+		return outputStream.toByteArray();
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CompactPropertySource}.
+ *
+ * @author agent
+ */
+public class CompactPropertySourceTests {
+
+	@Test
+	public void empty() {
+		CompactPropertySource source = new CompactPropertySource.Builder()
+				.build("test");
+		assertThat(source.getName()).isEqualTo("test");
+		assertThat(source.size()).isEqualTo(0);
+		assertThat(source.getPropertyNames()).isEmpty();
+		assertThat(source.getProperty("foo")).isNull();
+		assertThat(source.containsProperty("")).isFalse();
+	}
+
+	@Test
+	public void getProperty() {
+		CompactPropertySource source = new CompactPropertySource.Builder()
+				.add("foo.bar", "a").add("foo", 1).add("foo.baz", null)
+				.add("foo.bar[0]", true).build("test");
+		assertThat(source.size()).isEqualTo(4);
+		assertThat(source.getProperty("foo.bar")).isEqualTo("a");
+		assertThat(source.getProperty("foo")).isEqualTo(1);
+		assertThat(source.getProperty("foo.bar[0]")).isEqualTo(true);
+		assertThat(source.getProperty("foo.baz")).isNull();
+		assertThat(source.containsProperty("foo.baz")).isTrue();
+		assertThat(source.containsProperty("foo.ba")).isFalse();
+		assertThat(source.containsProperty("foo.bar[")).isFalse();
+		assertThat(source.containsProperty("foo.bar[1]")).isFalse();
+		assertThat(source.containsProperty("fo")).isFalse();
+		assertThat(source.containsProperty("zzz")).isFalse();
+		assertThat(source.containsProperty("")).isFalse();
+	}
+
+	@Test
+	public void getPropertyNamesIsSorted() {
+		CompactPropertySource source = new CompactPropertySource.Builder()
+				.add("b", "1").add("a.c", "2").add("a", "3").add("a.b", "4")
+				.build("test");
+		assertThat(source.getPropertyNames()).containsExactly("a", "a.b", "a.c", "b");
+	}
+
+	@Test
+	public void laterValueReplacesEarlierValue() {
+		CompactPropertySource source = new CompactPropertySource.Builder()
+				.add("foo", "1").add("bar", "2").add("foo", "3").build("test");
+		assertThat(source.getPropertyNames()).containsExactly("bar", "foo");
+		assertThat(source.getProperty("foo")).isEqualTo("3");
+	}
+
+	@Test
+	public void manyProperties() {
+		CompactPropertySource.Builder builder = new CompactPropertySource.Builder();
+		List<String> names = new ArrayList<String>();
+		for (int i = 0; i < 500; i++) {
+			String name = "vcap.services.service" + (i % 7) + ".credentials.key" + i;
+			names.add(name);
+			builder.add(name, i);
+		}
+		CompactPropertySource source = builder.build("test");
+		assertThat(source.size()).isEqualTo(500);
+		assertThat(source.getPropertyNames()).containsOnlyElementsOf(names);
+		for (int i = 0; i < 500; i++) {
+			assertThat(source.getProperty(names.get(i))).isEqualTo(i);
+			assertThat(source.containsProperty(names.get(i) + "x")).isFalse();
+			assertThat(source.containsProperty(names.get(i).substring(1))).isFalse();
+		}
+	}
+
+}
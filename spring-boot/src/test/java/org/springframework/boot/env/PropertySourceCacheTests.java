@@ -0,0 +1,226 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PropertySourceCache}.
+ *
+ * @author agent
+ */
+public class PropertySourceCacheTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private PropertySourceCache cache;
+
+	private CountingPropertySourceLoader loader;
+
+	@Before
+	public void setup() throws IOException {
+		this.cache = new PropertySourceCache(this.temp.newFolder());
+		this.loader = new CountingPropertySourceLoader(new YamlPropertySourceLoader());
+	}
+
+	@Test
+	public void loadIsCached() throws Exception {
+		Resource resource = new ByteArrayResource(("string: spam\nboolean: true\n"
+				+ "int: 1\nlong: 12345678901\ndouble: 1.5\n"
+				+ "big: 123456789012345678901234567890\nlist: [a, b]\n").getBytes());
+		PropertySource<?> loaded = this.cache.load(this.loader, "test", resource, null);
+		PropertySource<?> cached = this.cache.load(this.loader, "test", resource, null);
+		assertThat(this.loader.count).isEqualTo(1);
+		assertThat(cached).isInstanceOf(MapPropertySource.class);
+		assertThat(cached.getName()).isEqualTo("test");
+		assertThat(((EnumerablePropertySource<?>) cached).getPropertyNames())
+				.containsExactly("string", "boolean", "int", "long", "double", "big",
+						"list[0]", "list[1]");
+		assertThat(cached.getSource()).isEqualTo(loaded.getSource());
+		assertThat(cached.getProperty("int")).isEqualTo(1);
+		assertThat(cached.getProperty("long")).isEqualTo(12345678901L);
+		assertThat(cached.getProperty("big"))
+				.isEqualTo(new BigInteger("123456789012345678901234567890"));
+	}
+
+	@Test
+	public void loadWithProfileIsCachedSeparately() throws Exception {
+		Resource resource = new ByteArrayResource(
+				"foo: bar\n---\nspring.profiles: dev\nfoo: baz\n".getBytes());
+		this.cache.load(this.loader, "test", resource, null);
+		PropertySource<?> dev = this.cache.load(this.loader, "test", resource, "dev");
+		assertThat(this.loader.count).isEqualTo(2);
+		assertThat(dev.getProperty("foo")).isEqualTo("baz");
+		dev = this.cache.load(this.loader, "test", resource, "dev");
+		assertThat(this.loader.count).isEqualTo(2);
+		assertThat(dev.getProperty("foo")).isEqualTo("baz");
+	}
+
+	@Test
+	public void changedContentIsLoadedAgain() throws Exception {
+		this.cache.load(this.loader, "test", new ByteArrayResource("foo: bar".getBytes()),
+				null);
+		PropertySource<?> source = this.cache.load(this.loader, "test",
+				new ByteArrayResource("foo: baz".getBytes()), null);
+		assertThat(this.loader.count).isEqualTo(2);
+		assertThat(source.getProperty("foo")).isEqualTo("baz");
+	}
+
+	@Test
+	public void emptyIsCached() throws Exception {
+		Resource resource = new ByteArrayResource("# empty".getBytes());
+		assertThat(this.cache.load(this.loader, "test", resource, null)).isNull();
+		assertThat(this.cache.load(this.loader, "test", resource, null)).isNull();
+		assertThat(this.loader.count).isEqualTo(1);
+	}
+
+	@Test
+	public void unsupportedValueIsNotCached() throws Exception {
+		CountingPropertySourceLoader loader = new CountingPropertySourceLoader(
+				new PropertySourceLoader() {
+
+					@Override
+					public String[] getFileExtensions() {
+						return new String[] { "test" };
+					}
+
+					@Override
+					public PropertySource<?> load(String name, Resource resource,
+							String profile) throws IOException {
+						return new MapPropertySource(name, Collections
+								.<String, Object>singletonMap("foo", new Object()));
+					}
+
+				});
+		Resource resource = new ByteArrayResource("foo".getBytes());
+		this.cache.load(loader, "test", resource, null);
+		this.cache.load(loader, "test", resource, null);
+		assertThat(loader.count).isEqualTo(2);
+	}
+
+	@Test
+	public void corruptCacheIsIgnored() throws Exception {
+		File folder = this.temp.newFolder();
+		PropertySourceCache cache = new PropertySourceCache(folder);
+		Resource resource = new ByteArrayResource("foo: bar".getBytes());
+		cache.load(this.loader, "test", resource, null);
+		for (File file : folder.listFiles()) {
+			FileOutputStream outputStream = new FileOutputStream(file);
+			outputStream.write(new byte[] { 1, 2, 3 });
+			outputStream.close();
+		}
+		PropertySource<?> source = cache.load(this.loader, "test", resource, null);
+		assertThat(this.loader.count).isEqualTo(2);
+		assertThat(source.getProperty("foo")).isEqualTo("bar");
+		source = cache.load(this.loader, "test", resource, null);
+		assertThat(this.loader.count).isEqualTo(2);
+		assertThat(source.getProperty("foo")).isEqualTo("bar");
+	}
+
+	@Test
+	public void propertiesAreNotCached() throws Exception {
+		File folder = this.temp.newFolder();
+		PropertySourceCache cache = new PropertySourceCache(folder);
+		Resource resource = new ByteArrayResource("foo=bar".getBytes());
+		PropertySource<?> source = cache.load(new PropertiesPropertySourceLoader(),
+				"test", resource, null);
+		assertThat(source.getProperty("foo")).isEqualTo("bar");
+		assertThat(folder.listFiles()).isEmpty();
+	}
+
+	@Test
+	public void staleEntryIsDeleted() throws Exception {
+		File folder = this.temp.newFolder();
+		PropertySourceCache cache = new PropertySourceCache(folder);
+		cache.load(this.loader, "test", new ByteArrayResource("foo: bar".getBytes()),
+				null);
+		String[] names = folder.list();
+		assertThat(names).hasSize(1);
+		cache.load(this.loader, "test", new ByteArrayResource("foo: baz".getBytes()),
+				null);
+		assertThat(folder.list()).hasSize(1).doesNotContain(names);
+	}
+
+	@Test
+	public void directoryAndEntriesAreRestrictedToOwner() throws Exception {
+		File folder = new File(this.temp.getRoot(), "cache");
+		Path path = folder.toPath();
+		Assume.assumeTrue(Files.getFileStore(path.getParent())
+				.supportsFileAttributeView(PosixFileAttributeView.class));
+		Files.createDirectory(path);
+		Files.setPosixFilePermissions(path,
+				PosixFilePermissions.fromString("rwxrwxrwx"));
+		PropertySourceCache cache = new PropertySourceCache(folder);
+		cache.load(this.loader, "test", new ByteArrayResource("foo: bar".getBytes()),
+				null);
+		assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(path)))
+				.isEqualTo("rwx------");
+		for (File file : folder.listFiles()) {
+			assertThat(PosixFilePermissions
+					.toString(Files.getPosixFilePermissions(file.toPath())))
+							.isEqualTo("rw-------");
+		}
+	}
+
+	private static class CountingPropertySourceLoader implements PropertySourceLoader {
+
+		private final PropertySourceLoader delegate;
+
+		private int count;
+
+		CountingPropertySourceLoader(PropertySourceLoader delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public String[] getFileExtensions() {
+			return this.delegate.getFileExtensions();
+		}
+
+		@Override
+		public PropertySource<?> load(String name, Resource resource, String profile)
+				throws IOException {
+			this.count++;
+			return this.delegate.load(name, resource, profile);
+		}
+
+	}
+
+}
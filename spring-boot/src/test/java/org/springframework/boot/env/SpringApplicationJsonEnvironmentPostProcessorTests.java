@@ -116,4 +116,23 @@ public class SpringApplicationJsonEnvironmentPostProcessorTests {
 				.isEqualTo("spam");
 	}
 
+	@Test
+	public void listOfList() {
+		assertThat(this.environment.resolvePlaceholders("${foo[1][0]:}")).isEmpty();
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.environment,
+				"SPRING_APPLICATION_JSON={\"foo\":[\"bar\",[\"spam\"]]}");
+		this.processor.postProcessEnvironment(this.environment, null);
+		assertThat(this.environment.resolvePlaceholders("${foo[1][0]:}"))
+				.isEqualTo("spam");
+	}
+
+	@Test
+	public void array() {
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.environment,
+				"SPRING_APPLICATION_JSON=[\"foo\"]");
+		this.processor.postProcessEnvironment(this.environment, null);
+		assertThat(this.environment.getPropertySources()
+				.contains("spring.application.json")).isFalse();
+	}
+
 }
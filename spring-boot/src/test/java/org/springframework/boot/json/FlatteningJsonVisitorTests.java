@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.json;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link FlatteningJsonVisitor}.
+ *
+ * @author agent
+ */
+public class FlatteningJsonVisitorTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final StreamingJsonParser parser = new StreamingJsonParser();
+
+	@Test
+	public void flatten() {
+		Map<String, Object> properties = flatten(
+				"{\"foo\":{\"bar\":\"spam\",\"baz\":[1,[true,null],{\"a\":\"b\"}]},"
+						+ "\"x.y\":{},\"z\":[],\"c\":2.5}",
+				"");
+		assertThat(properties).containsExactly(entry("foo.bar", "spam"),
+				entry("foo.baz[0]", 1L), entry("foo.baz[1][0]", true),
+				entry("foo.baz[1][1]", null), entry("foo.baz[2].a", "b"),
+				entry("c", 2.5d));
+	}
+
+	@Test
+	public void flattenWithPrefix() {
+		Map<String, Object> properties = flatten("{\"foo\":[\"a\"],\"bar\":1}",
+				"spring");
+		assertThat(properties).containsExactly(entry("spring.foo[0]", "a"),
+				entry("spring.bar", 1L));
+	}
+
+	@Test
+	public void arrayIsNotFlattened() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("expected an object");
+		flatten("[\"a\"]", "");
+	}
+
+	@Test
+	public void valueIsNotFlattened() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("expected an object");
+		flatten("\"a\"", "");
+	}
+
+	private Map<String, Object> flatten(String json, String prefix) {
+		final Map<String, Object> properties = new LinkedHashMap<String, Object>();
+		this.parser.parse(json, new FlatteningJsonVisitor(prefix) {
+
+			@Override
+			protected void property(String name, Object value) {
+				properties.put(name, value);
+			}
+
+		});
+		return properties;
+	}
+
+}
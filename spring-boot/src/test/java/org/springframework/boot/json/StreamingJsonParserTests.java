@@ -0,0 +1,178 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.json;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StreamingJsonParser}.
+ *
+ * @author agent
+ */
+public class StreamingJsonParserTests extends AbstractJsonParserTests {
+
+	private final StreamingJsonParser parser = new StreamingJsonParser();
+
+	@Override
+	protected JsonParser getParser() {
+		return new StreamingJsonParser();
+	}
+
+	@Test
+	public void literals() {
+		List<Object> list = this.parser.parseList("[true, false, null]");
+		assertThat(list).containsExactly(true, false, null);
+	}
+
+	@Test
+	public void numbers() {
+		List<Object> list = this.parser.parseList("[0, -12, 1.5, -2e3, 1E-2, "
+				+ "9223372036854775807, 123456789012345678901234567890]");
+		assertThat(list).containsExactly(0L, -12L, 1.5d, -2000d, 0.01d,
+				Long.MAX_VALUE, new BigInteger("123456789012345678901234567890"));
+	}
+
+	@Test
+	public void escapedStrings() {
+		Map<String, Object> map = this.parser.parseMap(
+				"{\"a\\\"b\":\"x\\\\y\\/z\\n\\t\\u00e9\\u20AC\",\"c\":\"plain\"}");
+		assertThat(map.get("a\"b")).isEqualTo("x\\y/z\n\té€");
+		assertThat(map.get("c")).isEqualTo("plain");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void nestedWithWhitespace() {
+		Map<String, Object> map = this.parser.parseMap(" {\n \"foo\" : { \"bar\" : "
+				+ "[ 1 , { \"baz\" : \"a,b:c\" } ] } ,\r\n \"spam\" : [ ] }\n");
+		Map<String, Object> foo = (Map<String, Object>) map.get("foo");
+		List<Object> bar = (List<Object>) foo.get("bar");
+		assertThat(bar.get(0)).isEqualTo(1L);
+		assertThat(((Map<String, Object>) bar.get(1)).get("baz")).isEqualTo("a,b:c");
+		assertThat((List<Object>) map.get("spam")).isEmpty();
+	}
+
+	@Test
+	public void trailingContentThrowsException() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("unexpected content at position 2");
+		this.parser.parseMap("{}}");
+	}
+
+	@Test
+	public void missingSeparatorThrowsException() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("expected ',' or '}' at position 13");
+		this.parser.parseMap("{\"foo\":\"bar\" \"baz\":1}");
+	}
+
+	@Test
+	public void unterminatedStringThrowsException() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("unterminated string");
+		this.parser.parseList("[\"foo]");
+	}
+
+	@Test
+	public void invalidLiteralThrowsException() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("expected 'true'");
+		this.parser.parseList("[tru]");
+	}
+
+	@Test
+	public void visitor() {
+		final List<String> events = new ArrayList<String>();
+		this.parser.parse("{\"a\":[1,{\"b\":null}],\"c\":\"d\"}", new JsonVisitor() {
+
+			@Override
+			public void startObject() {
+				events.add("{");
+			}
+
+			@Override
+			public void endObject() {
+				events.add("}");
+			}
+
+			@Override
+			public void startArray() {
+				events.add("[");
+			}
+
+			@Override
+			public void endArray() {
+				events.add("]");
+			}
+
+			@Override
+			public void name(String name) {
+				events.add(name + ":");
+			}
+
+			@Override
+			public void value(Object value) {
+				events.add(String.valueOf(value));
+			}
+
+		});
+		assertThat(events).containsExactly("{", "a:", "[", "1", "{", "b:", "null", "}",
+				"]", "c:", "d", "}");
+	}
+
+	@Test
+	public void visitorWithScalarDocument() {
+		final List<Object> values = new ArrayList<Object>();
+		this.parser.parse(" \"foo\" ", new JsonVisitor() {
+
+			@Override
+			public void startObject() {
+			}
+
+			@Override
+			public void endObject() {
+			}
+
+			@Override
+			public void startArray() {
+			}
+
+			@Override
+			public void endArray() {
+			}
+
+			@Override
+			public void name(String name) {
+			}
+
+			@Override
+			public void value(Object value) {
+				values.add(value);
+			}
+
+		});
+		assertThat(values).containsExactly("foo");
+	}
+
+}
@@ -55,6 +55,7 @@ public abstract class AbstractLoggingSystemTests {
 	public void clear() {
 		System.clearProperty("LOG_FILE");
 		System.clearProperty("PID");
+		System.clearProperty("LOG_FILE_IMMEDIATE_FLUSH");
 	}
 
 	protected final String[] getSpringConfigLocations(AbstractLoggingSystem system) {
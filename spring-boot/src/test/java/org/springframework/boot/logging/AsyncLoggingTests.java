@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.boot.logging.AsyncLogging.DiscardPolicy;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AsyncLogging}.
+ *
+ * @author agent
+ */
+public class AsyncLoggingTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final MockEnvironment environment = new MockEnvironment();
+
+	@Test
+	public void noPropertyResolver() throws Exception {
+		assertThat(AsyncLogging.get(null)).isNull();
+	}
+
+	@Test
+	public void notEnabled() throws Exception {
+		this.environment.setProperty("logging.async.queue-size", "10");
+		assertThat(AsyncLogging.get(this.environment)).isNull();
+	}
+
+	@Test
+	public void enabledWithDefaults() throws Exception {
+		this.environment.setProperty("logging.async.enabled", "true");
+		AsyncLogging asyncLogging = AsyncLogging.get(this.environment);
+		assertThat(asyncLogging.getQueueSize())
+				.isEqualTo(AsyncLogging.DEFAULT_QUEUE_SIZE);
+		assertThat(asyncLogging.getDiscardPolicy()).isEqualTo(DiscardPolicy.BELOW_WARN);
+	}
+
+	@Test
+	public void enabledWithCustomSettings() throws Exception {
+		this.environment.setProperty("logging.async.enabled", "true");
+		this.environment.setProperty("logging.async.queueSize", "256");
+		this.environment.setProperty("logging.async.discard-policy", "never");
+		AsyncLogging asyncLogging = AsyncLogging.get(this.environment);
+		assertThat(asyncLogging.getQueueSize()).isEqualTo(256);
+		assertThat(asyncLogging.getDiscardPolicy()).isEqualTo(DiscardPolicy.NEVER);
+	}
+
+	@Test
+	public void discardPolicyIsRelaxed() throws Exception {
+		this.environment.setProperty("logging.async.enabled", "true");
+		this.environment.setProperty("logging.async.discard-policy", "below-warn");
+		assertThat(AsyncLogging.get(this.environment).getDiscardPolicy())
+				.isEqualTo(DiscardPolicy.BELOW_WARN);
+	}
+
+	@Test
+	public void unknownDiscardPolicy() throws Exception {
+		this.environment.setProperty("logging.async.enabled", "true");
+		this.environment.setProperty("logging.async.discard-policy", "sometimes");
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Unknown discard policy 'sometimes'");
+		AsyncLogging.get(this.environment);
+	}
+
+	@Test
+	public void invalidQueueSize() throws Exception {
+		this.environment.setProperty("logging.async.enabled", "true");
+		this.environment.setProperty("logging.async.queue-size", "0");
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("QueueSize must be positive");
+		AsyncLogging.get(this.environment);
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.log4j2;
+
+import java.util.Collections;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.junit.Test;
+
+import org.springframework.boot.logging.AsyncLogging.DiscardPolicy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * Tests for {@link AsyncOverflowAppender}.
+ *
+ * @author agent
+ */
+public class AsyncOverflowAppenderTests {
+
+	private final Appender delegate = mock(Appender.class);
+
+	@Test
+	public void belowWarnDiscardsInfo() throws Exception {
+		AsyncOverflowAppender appender = createAppender(DiscardPolicy.BELOW_WARN);
+		appender.append(createEvent(Level.INFO));
+		appender.append(createEvent(Level.DEBUG));
+		assertThat(appender.getDiscarded()).isEqualTo(2);
+		verifyZeroInteractions(this.delegate);
+	}
+
+	@Test
+	public void belowWarnWritesWarn() throws Exception {
+		AsyncOverflowAppender appender = createAppender(DiscardPolicy.BELOW_WARN);
+		LogEvent event = createEvent(Level.WARN);
+		appender.append(event);
+		assertThat(appender.getDiscarded()).isEqualTo(0);
+		verify(this.delegate).append(event);
+		assertThat(event.isEndOfBatch()).isTrue();
+	}
+
+	@Test
+	public void allDiscardsError() throws Exception {
+		AsyncOverflowAppender appender = createAppender(DiscardPolicy.ALL);
+		appender.append(createEvent(Level.ERROR));
+		assertThat(appender.getDiscarded()).isEqualTo(1);
+		verifyZeroInteractions(this.delegate);
+	}
+
+	private AsyncOverflowAppender createAppender(DiscardPolicy discardPolicy) {
+		return new AsyncOverflowAppender("test", discardPolicy,
+				Collections.singleton(this.delegate));
+	}
+
+	private LogEvent createEvent(Level level) {
+		return Log4jLogEvent.newBuilder().setLevel(level).build();
+	}
+
+}
@@ -34,9 +34,12 @@ import org.junit.Rule;
 import org.junit.Test;
 
 import org.springframework.boot.logging.AbstractLoggingSystemTests;
+import org.springframework.boot.logging.AsyncLoggingStatistics;
 import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingInitializationContext;
 import org.springframework.boot.testutil.InternalOutputCapture;
 import org.springframework.boot.testutil.Matched;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 
@@ -91,6 +94,49 @@ public class Log4J2LoggingSystemTests extends AbstractLoggingSystemTests {
 		assertThat(configuration.getConfigurationSource().getFile()).isNotNull();
 	}
 
+	@Test
+	public void asyncWithFile() throws Exception {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("logging.async.enabled", "true");
+		environment.setProperty("logging.async.queue-size", "64");
+		this.loggingSystem.beforeInitialize();
+		this.loggingSystem.initialize(new LoggingInitializationContext(environment),
+				null, getLogFile(null, tmpDir()));
+		this.logger.info("Hello world");
+		AsyncLoggingStatistics statistics = this.loggingSystem.getAsyncStatistics();
+		assertThat(statistics.getCapacity()).isEqualTo(64);
+		assertThat(statistics.getDiscarded()).isEqualTo(0);
+		Configuration configuration = this.loggingSystem.getConfiguration();
+		assertThat(configuration.getRootLogger().getAppenders()).containsOnlyKeys("Async");
+		// Reinitializing stops the async appender once queued events are written
+		this.loggingSystem.initialize(null, null, null);
+		String output = this.output.toString().trim();
+		assertThat(output).contains("Hello world");
+		String fileContents = FileCopyUtils
+				.copyToString(new FileReader(new File(tmpDir() + "/spring.log")));
+		assertThat(fileContents).contains("Hello world");
+	}
+
+	@Test
+	public void cleanUpClearsImmediateFlushProperty() throws Exception {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("logging.async.enabled", "true");
+		this.loggingSystem.beforeInitialize();
+		this.loggingSystem.initialize(new LoggingInitializationContext(environment),
+				null, getLogFile(null, tmpDir()));
+		assertThat(System.getProperty("LOG_FILE_IMMEDIATE_FLUSH")).isEqualTo("false");
+		this.loggingSystem.cleanUp();
+		assertThat(System.getProperty("LOG_FILE_IMMEDIATE_FLUSH")).isNull();
+		this.loggingSystem.initialize(null, null, null);
+	}
+
+	@Test
+	public void noAsyncStatisticsWhenAsyncIsNotEnabled() throws Exception {
+		this.loggingSystem.beforeInitialize();
+		this.loggingSystem.initialize(null, null, null);
+		assertThat(this.loggingSystem.getAsyncStatistics()).isNull();
+	}
+
 	@Test
 	public void testNonDefaultConfigLocation() throws Exception {
 		this.loggingSystem.beforeInitialize();
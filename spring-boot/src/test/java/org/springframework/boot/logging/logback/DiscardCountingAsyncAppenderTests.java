@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.boot.logging.AsyncLogging;
+import org.springframework.boot.logging.AsyncLogging.DiscardPolicy;
+import org.springframework.boot.logging.AsyncLoggingStatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DiscardCountingAsyncAppender}.
+ *
+ * @author agent
+ */
+public class DiscardCountingAsyncAppenderTests {
+
+	private final LoggerContext context = new LoggerContext();
+
+	private final BlockingAppender blockingAppender = new BlockingAppender();
+
+	private DiscardCountingAsyncAppender appender;
+
+	@After
+	public void cleanUp() {
+		this.blockingAppender.release.countDown();
+		if (this.appender != null) {
+			this.appender.stop();
+		}
+	}
+
+	@Test
+	public void belowWarnDiscardsInfoWhenFull() throws Exception {
+		fill(DiscardPolicy.BELOW_WARN);
+		this.appender.doAppend(createEvent(Level.INFO));
+		this.appender.doAppend(createEvent(Level.DEBUG));
+		AsyncLoggingStatistics statistics = this.appender.getStatistics();
+		assertThat(statistics.getCapacity()).isEqualTo(1);
+		assertThat(statistics.getDepth()).isEqualTo(1);
+		assertThat(statistics.getDiscarded()).isEqualTo(2);
+	}
+
+	@Test
+	public void allDiscardsWarnWhenFull() throws Exception {
+		fill(DiscardPolicy.ALL);
+		this.appender.doAppend(createEvent(Level.WARN));
+		this.appender.doAppend(createEvent(Level.ERROR));
+		assertThat(this.appender.getStatistics().getDiscarded()).isEqualTo(2);
+	}
+
+	@Test
+	public void nothingDiscardedWhenNotFull() throws Exception {
+		this.appender = createAppender(DiscardPolicy.ALL, 4);
+		this.appender.doAppend(createEvent(Level.INFO));
+		this.appender.doAppend(createEvent(Level.INFO));
+		assertThat(this.appender.getStatistics().getDiscarded()).isEqualTo(0);
+	}
+
+	private void fill(DiscardPolicy discardPolicy) throws InterruptedException {
+		this.appender = createAppender(discardPolicy, 1);
+		this.appender.doAppend(createEvent(Level.INFO));
+		assertThat(this.blockingAppender.appending.await(30, TimeUnit.SECONDS))
+				.isTrue();
+		this.appender.doAppend(createEvent(Level.INFO));
+	}
+
+	private DiscardCountingAsyncAppender createAppender(DiscardPolicy discardPolicy,
+			int queueSize) {
+		DiscardCountingAsyncAppender appender = new DiscardCountingAsyncAppender(
+				new AsyncLogging(queueSize, discardPolicy));
+		appender.setContext(this.context);
+		this.blockingAppender.setContext(this.context);
+		this.blockingAppender.start();
+		appender.addAppender(this.blockingAppender);
+		appender.start();
+		return appender;
+	}
+
+	private ILoggingEvent createEvent(Level level) {
+		return new LoggingEvent(getClass().getName(), this.context.getLogger("test"),
+				level, "test", null, null);
+	}
+
+	private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+		private final CountDownLatch appending = new CountDownLatch(1);
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		@Override
+		protected void append(ILoggingEvent event) {
+			this.appending.countDown();
+			try {
+				this.release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+}
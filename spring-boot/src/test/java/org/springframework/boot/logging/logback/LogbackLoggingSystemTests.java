@@ -36,6 +36,7 @@ import org.slf4j.bridge.SLF4JBridgeHandler;
 import org.slf4j.impl.StaticLoggerBinder;
 
 import org.springframework.boot.logging.AbstractLoggingSystemTests;
+import org.springframework.boot.logging.AsyncLoggingStatistics;
 import org.springframework.boot.logging.LogFile;
 import org.springframework.boot.logging.LogLevel;
 import org.springframework.boot.logging.LoggingInitializationContext;
@@ -110,6 +111,34 @@ public class LogbackLoggingSystemTests extends AbstractLoggingSystemTests {
 		assertThat(getLineWithText(file, "Hello world")).contains("INFO");
 	}
 
+	@Test
+	public void asyncWithFile() throws Exception {
+		this.environment.setProperty("logging.async.enabled", "true");
+		this.environment.setProperty("logging.async.queue-size", "64");
+		this.loggingSystem.beforeInitialize();
+		this.loggingSystem.initialize(this.initializationContext, null,
+				getLogFile(null, tmpDir()));
+		this.logger.info("Hello world");
+		AsyncLoggingStatistics statistics = this.loggingSystem.getAsyncStatistics();
+		// One queue for the console and one for the file
+		assertThat(statistics.getCapacity()).isEqualTo(128);
+		assertThat(statistics.getDiscarded()).isEqualTo(0);
+		// Reinitializing stops the async appender once queued events are written
+		this.loggingSystem.initialize(
+				new LoggingInitializationContext(new MockEnvironment()), null, null);
+		String output = this.output.toString().trim();
+		assertThat(getLineWithText(output, "Hello world")).contains("INFO");
+		assertThat(getLineWithText(new File(tmpDir() + "/spring.log"), "Hello world"))
+				.contains("INFO");
+	}
+
+	@Test
+	public void noAsyncStatisticsWhenAsyncIsNotEnabled() throws Exception {
+		this.loggingSystem.beforeInitialize();
+		this.loggingSystem.initialize(this.initializationContext, null, null);
+		assertThat(this.loggingSystem.getAsyncStatistics()).isNull();
+	}
+
 	@Test
 	public void testBasicConfigLocation() throws Exception {
 		this.loggingSystem.beforeInitialize();
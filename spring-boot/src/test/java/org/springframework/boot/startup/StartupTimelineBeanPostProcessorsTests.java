@@ -0,0 +1,154 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.startup;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.boot.startup.StartupTimeline.Step;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupTimelineBeanPostProcessors}.
+ *
+ * @author agent
+ */
+public class StartupTimelineBeanPostProcessorsTests {
+
+	private StartupTimeline timeline;
+
+	private GenericApplicationContext context;
+
+	@After
+	public void cleanUp() {
+		if (this.context != null) {
+			this.context.close();
+		}
+		if (this.timeline != null) {
+			StartupTimeline.stopRecording(this.timeline);
+		}
+	}
+
+	@Test
+	public void beanCreationIsRecorded() throws Exception {
+		load();
+		this.context.getBean("outer");
+		Map<String, Step> steps = getSteps();
+		assertThat(steps.get("bean:outer").getDuration()).isGreaterThanOrEqualTo(0);
+		assertThat(steps.get("bean:outer").getParentId()).isEqualTo(-1);
+		assertThat(steps.get("bean:inner").getParentId())
+				.isEqualTo(steps.get("bean:outer").getId());
+	}
+
+	@Test
+	public void failedBeanCreationIsEnded() throws Exception {
+		load();
+		try {
+			this.context.getBean("failing");
+		}
+		catch (BeanCreationException ex) {
+			// Expected
+		}
+		this.context.getBean("outer");
+		Map<String, Step> steps = getSteps();
+		assertThat(steps.get("bean:failing").getDuration()).isGreaterThanOrEqualTo(0);
+		assertThat(steps.get("bean:outer").getParentId()).isEqualTo(-1);
+		assertThat(steps.get("bean:inner").getParentId())
+				.isEqualTo(steps.get("bean:outer").getId());
+	}
+
+	@Test
+	public void failedNestedBeanCreationIsEnded() throws Exception {
+		load();
+		this.context.getBean("suppressing");
+		Map<String, Step> steps = getSteps();
+		assertThat(steps.get("bean:failing").getDuration()).isGreaterThanOrEqualTo(0);
+		assertThat(steps.get("bean:failing").getParentId())
+				.isEqualTo(steps.get("bean:suppressing").getId());
+		assertThat(steps.get("bean:suppressing").getDuration())
+				.isGreaterThanOrEqualTo(0);
+		assertThat(steps.get("bean:suppressing").getParentId()).isEqualTo(-1);
+	}
+
+	private void load() {
+		this.timeline = StartupTimeline.startRecording();
+		this.context = new GenericApplicationContext();
+		this.context.registerBeanDefinition("outer",
+				BeanDefinitionBuilder.genericBeanDefinition(Outer.class)
+						.setScope("prototype").addConstructorArgReference("inner")
+						.getBeanDefinition());
+		this.context.registerBeanDefinition("inner",
+				BeanDefinitionBuilder.genericBeanDefinition(Object.class)
+						.setScope("prototype").getBeanDefinition());
+		this.context.registerBeanDefinition("failing",
+				BeanDefinitionBuilder.genericBeanDefinition(Failing.class)
+						.setScope("prototype").getBeanDefinition());
+		this.context.registerBeanDefinition("suppressing",
+				BeanDefinitionBuilder.genericBeanDefinition(Suppressing.class)
+						.setScope("prototype").getBeanDefinition());
+		StartupTimelineBeanPostProcessors.register(this.context.getBeanFactory(),
+				this.timeline);
+		this.context.refresh();
+	}
+
+	private Map<String, Step> getSteps() {
+		Map<String, Step> steps = new HashMap<String, Step>();
+		for (Step step : this.timeline.getSteps()) {
+			steps.put(step.getName(), step);
+		}
+		return steps;
+	}
+
+	static class Outer {
+
+		Outer(Object inner) {
+		}
+
+	}
+
+	static class Failing {
+
+		Failing() {
+			throw new IllegalStateException("Failed");
+		}
+
+	}
+
+	static class Suppressing implements ApplicationContextAware {
+
+		@Override
+		public void setApplicationContext(ApplicationContext applicationContext) {
+			try {
+				applicationContext.getBean("failing");
+			}
+			catch (BeanCreationException ex) {
+				// Suppressed
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.startup;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.boot.json.JsonParserFactory;
+import org.springframework.boot.startup.StartupTimeline.Step;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupTimeline}.
+ *
+ * @author agent
+ */
+public class StartupTimelineTests {
+
+	private StartupTimeline timeline;
+
+	@After
+	public void stopRecording() {
+		if (this.timeline != null) {
+			StartupTimeline.stopRecording(this.timeline);
+		}
+	}
+
+	@Test
+	public void disabledByDefault() throws Exception {
+		StartupTimeline timeline = StartupTimeline.get();
+		assertThat(timeline.isEnabled()).isFalse();
+		int step = timeline.start("test");
+		assertThat(step).isEqualTo(-1);
+		timeline.end(step);
+		assertThat(timeline.getSteps()).isEmpty();
+	}
+
+	@Test
+	public void startRecordingReplacesCurrent() throws Exception {
+		this.timeline = StartupTimeline.startRecording();
+		assertThat(StartupTimeline.get()).isSameAs(this.timeline);
+		assertThat(this.timeline.isEnabled()).isTrue();
+		StartupTimeline.stopRecording(this.timeline);
+		assertThat(StartupTimeline.get().isEnabled()).isFalse();
+	}
+
+	@Test
+	public void stepsAreNested() throws Exception {
+		this.timeline = StartupTimeline.startRecording();
+		int outer = this.timeline.start("outer");
+		int first = this.timeline.start("first");
+		this.timeline.end(first);
+		int second = this.timeline.start("second");
+		this.timeline.end(second);
+		this.timeline.end(outer);
+		int next = this.timeline.start("next");
+		List<Step> steps = this.timeline.getSteps();
+		assertThat(steps).extracting("name").containsExactly("outer", "first",
+				"second", "next");
+		assertThat(steps).extracting("parentId").containsExactly(-1, outer, outer, -1);
+		assertThat(steps.get(0).getDuration()).isGreaterThanOrEqualTo(0);
+		assertThat(steps.get(3).getDuration()).isEqualTo(-1);
+		assertThat(steps.get(3).getId()).isEqualTo(next);
+	}
+
+	@Test
+	public void stepsOnOtherThreadsAreNotNested() throws Exception {
+		this.timeline = StartupTimeline.startRecording();
+		int outer = this.timeline.start("outer");
+		Thread thread = new Thread() {
+
+			@Override
+			public void run() {
+				StartupTimeline.get().end(StartupTimeline.get().start("thread"));
+			}
+
+		};
+		thread.start();
+		thread.join();
+		this.timeline.end(outer);
+		Step step = this.timeline.getSteps().get(1);
+		assertThat(step.getName()).isEqualTo("thread");
+		assertThat(step.getParentId()).isEqualTo(-1);
+		assertThat(step.getThreadId()).isEqualTo(thread.getId());
+	}
+
+	@Test
+	public void stepsThatDoNotFitAreDropped() throws Exception {
+		this.timeline = StartupTimeline.startRecording(2);
+		for (int i = 0; i < 5; i++) {
+			this.timeline.end(this.timeline.start("step" + i));
+		}
+		assertThat(this.timeline.getSteps()).extracting("name")
+				.containsExactly("step0", "step1");
+		assertThat(this.timeline.getDroppedSteps()).isEqualTo(3);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void writeChromeTrace() throws Exception {
+		this.timeline = StartupTimeline.startRecording();
+		int outer = this.timeline.start("outer \"quoted\"");
+		this.timeline.end(this.timeline.start("inner"));
+		this.timeline.end(outer);
+		this.timeline.start("unfinished");
+		StringWriter writer = new StringWriter();
+		this.timeline.writeChromeTrace(writer);
+		Map<String, Object> trace = JsonParserFactory.getJsonParser()
+				.parseMap(writer.toString());
+		List<Map<String, Object>> events = (List<Map<String, Object>>) trace
+				.get("traceEvents");
+		assertThat(events).hasSize(2);
+		assertThat(events.get(0)).containsEntry("name", "outer \"quoted\"")
+				.containsEntry("ph", "X").containsKeys("ts", "dur", "tid");
+		assertThat(events.get(1)).containsEntry("name", "inner");
+	}
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.boot.type.classreading;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PersistentCachingMetadataReaderFactory}.
+ *
+ * @author agent
+ */
+public class PersistentCachingMetadataReaderFactoryTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private File file;
+
+	@Before
+	public void setup() throws IOException {
+		this.file = new File(this.temp.newFolder(), "metadata.bin");
+	}
+
+	@Test
+	public void metadataMatchesDirectlyReadMetadata() throws Exception {
+		CountingResource resource = getResource(ExampleClass.class);
+		MetadataReader expected = new SimpleMetadataReaderFactory()
+				.getMetadataReader(resource);
+		MetadataReader created = createFactory().getMetadataReader(resource);
+		assertSameMetadata(created, expected);
+		PersistentCachingMetadataReaderFactory factory = createFactory();
+		factory.getMetadataReader(resource);
+		factory.save();
+		MetadataReader cached = createFactory().getMetadataReader(resource);
+		assertSameMetadata(cached, expected);
+	}
+
+	@Test
+	public void savedEntriesAreReadFromCache() throws Exception {
+		CountingResource resource = getResource(ExampleClass.class);
+		PersistentCachingMetadataReaderFactory factory = createFactory();
+		factory.getMetadataReader(resource);
+		factory.save();
+		assertThat(resource.count).isEqualTo(1);
+		assertThat(this.file).exists();
+		MetadataReader reader = createFactory().getMetadataReader(resource);
+		assertThat(resource.count).isEqualTo(1);
+		assertThat(reader.getResource()).isSameAs(resource);
+		assertThat(reader.getClassMetadata().getClassName())
+				.isEqualTo(ExampleClass.class.getName());
+	}
+
+	@Test
+	public void directoryAndFileAreRestrictedToOwner() throws Exception {
+		Path directory = this.file.getParentFile().toPath();
+		Assume.assumeTrue(Files.getFileStore(directory)
+				.supportsFileAttributeView(PosixFileAttributeView.class));
+		Files.setPosixFilePermissions(directory,
+				PosixFilePermissions.fromString("rwxrwxrwx"));
+		PersistentCachingMetadataReaderFactory factory = createFactory();
+		factory.getMetadataReader(getResource(ExampleClass.class));
+		factory.save();
+		assertThat(PosixFilePermissions
+				.toString(Files.getPosixFilePermissions(directory)))
+						.isEqualTo("rwx------");
+		assertThat(PosixFilePermissions
+				.toString(Files.getPosixFilePermissions(this.file.toPath())))
+						.isEqualTo("rw-------");
+	}
+
+	@Test
+	public void changedResourceIsReadAgain() throws Exception {
+		File classFile = this.temp.newFile("Example.class");
+		FileCopyUtils.copy(getResource(ExampleClass.class).getFile(), classFile);
+		classFile.setLastModified(10000);
+		CountingResource resource = new CountingResource(classFile);
+		PersistentCachingMetadataReaderFactory factory = createFactory();
+		factory.getMetadataReader(resource);
+		factory.save();
+		classFile.setLastModified(20000);
+		createFactory().getMetadataReader(resource);
+		assertThat(resource.count).isEqualTo(2);
+	}
+
+	@Test
+	public void corruptCacheFileIsIgnored() throws Exception {
+		FileOutputStream outputStream = new FileOutputStream(this.file);
+		try {
+			outputStream.write(new byte[] { 1, 2, 3 });
+		}
+		finally {
+			outputStream.close();
+		}
+		CountingResource resource = getResource(ExampleClass.class);
+		PersistentCachingMetadataReaderFactory factory = createFactory();
+		assertThat(factory.getMetadataReader(resource).getClassMetadata().getClassName())
+				.isEqualTo(ExampleClass.class.getName());
+		factory.save();
+		createFactory().getMetadataReader(resource);
+		assertThat(resource.count).isEqualTo(1);
+	}
+
+	@Test
+	public void resourceWithoutUrlIsNotCached() throws Exception {
+		Resource resource = new ByteArrayResource(
+				FileCopyUtils.copyToByteArray(getResource(ExampleClass.class).getFile()));
+		PersistentCachingMetadataReaderFactory factory = createFactory();
+		assertThat(factory.getMetadataReader(resource).getClassMetadata().getClassName())
+				.isEqualTo(ExampleClass.class.getName());
+		factory.save();
+		assertThat(this.file).doesNotExist();
+	}
+
+	private PersistentCachingMetadataReaderFactory createFactory() {
+		return new PersistentCachingMetadataReaderFactory(getClass().getClassLoader(),
+				this.file);
+	}
+
+	private CountingResource getResource(Class<?> type) throws IOException {
+		return new CountingResource(
+				new ClassPathResource(ClassUtils.getQualifiedName(type).replace('.', '/')
+						+ ".class").getFile());
+	}
+
+	private void assertSameMetadata(MetadataReader actual, MetadataReader expected) {
+		AnnotationMetadata actualMetadata = actual.getAnnotationMetadata();
+		AnnotationMetadata expectedMetadata = expected.getAnnotationMetadata();
+		assertThat(actualMetadata.getClassName())
+				.isEqualTo(expectedMetadata.getClassName());
+		assertThat(actualMetadata.getSuperClassName())
+				.isEqualTo(expectedMetadata.getSuperClassName());
+		assertThat(actualMetadata.getInterfaceNames())
+				.isEqualTo(expectedMetadata.getInterfaceNames());
+		assertThat(actualMetadata.getMemberClassNames())
+				.isEqualTo(expectedMetadata.getMemberClassNames());
+		assertThat(actualMetadata.getEnclosingClassName())
+				.isEqualTo(expectedMetadata.getEnclosingClassName());
+		assertThat(actualMetadata.isAbstract()).isEqualTo(expectedMetadata.isAbstract());
+		assertThat(actualMetadata.isIndependent())
+				.isEqualTo(expectedMetadata.isIndependent());
+		assertThat(actualMetadata.getAnnotationTypes())
+				.isEqualTo(expectedMetadata.getAnnotationTypes());
+		String annotation = ExampleAnnotation.class.getName();
+		Map<String, Object> attributes = actualMetadata
+				.getAnnotationAttributes(annotation);
+		assertThat(attributes).isEqualTo(expectedMetadata.getAnnotationAttributes(annotation));
+		assertThat(attributes.get("type")).isEqualTo(InputStream.class);
+		assertThat(getMethodNames(actualMetadata.getAnnotatedMethods(annotation)))
+				.containsExactly("annotated");
+	}
+
+	private List<String> getMethodNames(Iterable<MethodMetadata> methods) {
+		List<String> names = new ArrayList<String>();
+		for (MethodMetadata method : methods) {
+			names.add(method.getMethodName());
+		}
+		return names;
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface ExampleAnnotation {
+
+		String value() default "";
+
+		Class<?> type() default Object.class;
+
+	}
+
+	@ExampleAnnotation(value = "class", type = InputStream.class)
+	static class ExampleClass implements Runnable {
+
+		private final String field = "field";
+
+		@Override
+		public void run() {
+			System.out.println(this.field);
+		}
+
+		@ExampleAnnotation("method")
+		public String annotated() {
+			return this.field;
+		}
+
+		static class Nested {
+
+		}
+
+	}
+
+	private static class CountingResource extends FileSystemResource {
+
+		private int count;
+
+		CountingResource(File file) {
+			super(file);
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			this.count++;
+			return super.getInputStream();
+		}
+
+	}
+
+}